@@ -0,0 +1,42 @@
+import java.util.Properties;
+
+/**
+ * Shared setup of the benchmark workloads. Benchmarks are run from the project root so the game's res/
+ * folder can be found, and never open a window or load an asset.
+ *
+ * @author Kevin Tran
+ */
+public class BenchSupport {
+    /**
+     * Seed used by every workload, so all runs measure the same game
+     */
+    public static final long SEED = 20241;
+
+    /**
+     * Private constructor as this class only holds static methods
+     */
+    private BenchSupport() {
+    }
+
+    /**
+     * Loads the game configuration with some properties overridden
+     *
+     * @param overrides Properties that replace the values in res/app.properties
+     * @return GameConfig of the benchmarked game
+     */
+    public static GameConfig config(Properties overrides) {
+        AssetCache.setHeadless(true);
+        Properties gameProp = IOUtils.readPropertiesFile("res/app.properties");
+        gameProp.putAll(overrides);
+        return GameConfig.parse(gameProp, IOUtils.readPropertiesFile("res/message_en.properties"));
+    }
+
+    /**
+     * Loads the game configuration as is
+     *
+     * @return GameConfig of the benchmarked game
+     */
+    public static GameConfig config() {
+        return config(new Properties());
+    }
+}
@@ -0,0 +1,57 @@
+import bench.Workload;
+
+import java.util.ArrayList;
+
+/**
+ * Runs CollisionEvent.checkCollisions over a fixed set of entities. Cars, passengers, coins and stars are
+ * scattered over a road that grows with the entity count, so the number of entities near each other stays
+ * close to that of a real game.
+ *
+ * @author Kevin Tran
+ */
+public class CollisionWorkload implements Workload {
+    /**
+     * Entities that are checked every operation
+     */
+    private final ArrayList<Entity> ENTITIES;
+
+    /**
+     * Constructor for the collision workload
+     *
+     * @param entities   Number of entities to check
+     * @param broadPhase "grid" to use the spatial hash, "bruteForce" to test every pair
+     */
+    public CollisionWorkload(String entities, String broadPhase) {
+        GameConfig config = BenchSupport.config();
+        GameRandom random = new GameRandom(BenchSupport.SEED);
+        RandomStream positions = new RandomStream(BenchSupport.SEED);
+        int count = Integer.parseInt(entities);
+        int width = config.display().width();
+        // a game window holds about 16 entities, so keep that density as the count grows
+        int height = config.display().height() * Math.max(1, count / 16);
+
+        this.ENTITIES = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int x = positions.nextInt(width);
+            int y = positions.nextInt(height);
+            switch (i % 4) {
+                case 0 -> ENTITIES.add(new PassiveCar(config, x, y, random));
+                case 1 -> ENTITIES.add(new Passenger(config, x, y, 1, x, 100, 0));
+                case 2 -> ENTITIES.add(new Coin(config, x, y));
+                default -> ENTITIES.add(new Star(config, x, y));
+            }
+        }
+        CollisionEvent.setBruteForce("bruteForce".equals(broadPhase));
+    }
+
+    /**
+     * Checks every entity for collisions once
+     *
+     * @return Number of entities checked
+     */
+    @Override
+    public long run() {
+        CollisionEvent.checkCollisions(ENTITIES);
+        return ENTITIES.size();
+    }
+}
@@ -0,0 +1,60 @@
+import bench.Workload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Reads a generated level or score file with IOUtils.readCommaSeparatedFile. The file is written once to a
+ * temporary location before measuring.
+ *
+ * @author Kevin Tran
+ */
+public class CsvReadWorkload implements Workload {
+    /**
+     * Path of the generated file
+     */
+    private final String PATH;
+
+    /**
+     * Constructor for the CSV read workload
+     *
+     * @param kind "level" for rows in the gameObjects.csv format, "scores" for rows in the scores.csv format
+     * @param rows Number of rows to generate
+     */
+    public CsvReadWorkload(String kind, String rows) {
+        RandomStream random = new RandomStream(BenchSupport.SEED);
+        int count = Integer.parseInt(rows);
+        try {
+            File file = File.createTempFile(kind, ".csv");
+            file.deleteOnExit();
+            try (PrintWriter out = new PrintWriter(file)) {
+                for (int i = 0; i < count; i++) {
+                    int x = random.nextInt(1024), y = -random.nextInt(1000000);
+                    if ("scores".equals(kind)) {
+                        out.println("P" + i + "," + random.nextInt(100000) / 100.0);
+                    } else if (i % 3 == 0) {
+                        out.println("PASSENGER," + x + "," + y + "," + random.nextInt(1, 4) + "," + x + ","
+                                + random.nextInt(1000) + "," + random.nextInt(2));
+                    } else {
+                        out.println((i % 3 == 1 ? "COIN," : "INVINCIBLE_POWER,") + x + "," + y);
+                    }
+                }
+            }
+            this.PATH = file.getPath();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Reads the whole file
+     *
+     * @return Number of rows read
+     */
+    @Override
+    public long run() {
+        return IOUtils.readCommaSeparatedFile(PATH).size();
+    }
+}
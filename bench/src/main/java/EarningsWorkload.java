@@ -0,0 +1,46 @@
+import bench.Workload;
+
+/**
+ * Records the completed trips of a taxi in a trip ledger and reads back its total earnings
+ *
+ * @author Kevin Tran
+ */
+public class EarningsWorkload implements Workload {
+    /**
+     * Ledger of the taxi's completed trips, which each run copies from
+     */
+    private final TripLedger TRIPS;
+
+    /**
+     * Constructor for the earnings workload
+     *
+     * @param trips Number of completed trips
+     */
+    public EarningsWorkload(String trips) {
+        GameConfig config = BenchSupport.config();
+        RandomStream random = new RandomStream(BenchSupport.SEED);
+        int count = Integer.parseInt(trips);
+        this.TRIPS = new TripLedger();
+        Taxi taxi = new Taxi(config, 500, 600, TRIPS);
+        for (int i = 0; i < count; i++) {
+            Passenger passenger = new Passenger(config, 500, 600, random.nextInt(1, 4), 500, random.nextInt(1000), 0);
+            Trip trip = new Trip(config, passenger, taxi);
+            taxi.setTrip(trip);
+            trip.end();
+        }
+    }
+
+    /**
+     * Records every trip in a new ledger and reads its total earnings
+     *
+     * @return Total earnings, truncated
+     */
+    @Override
+    public long run() {
+        TripLedger ledger = new TripLedger();
+        for (int i = 0; i < TRIPS.getTripCount(); i++) {
+            ledger.record(TRIPS.getPriority(i), TRIPS.getFee(i), TRIPS.getPenalty(i), 0);
+        }
+        return (long) ledger.getTotal();
+    }
+}
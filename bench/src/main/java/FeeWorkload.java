@@ -0,0 +1,41 @@
+import bench.Workload;
+
+/**
+ * Computes the expected fee of a set of travel plans with every priority and a range of distances
+ *
+ * @author Kevin Tran
+ */
+public class FeeWorkload implements Workload {
+    /**
+     * Travel plans whose fees are computed
+     */
+    private final TravelPlan[] PLANS;
+
+    /**
+     * Constructor for the fee workload
+     *
+     * @param plans Number of travel plans
+     */
+    public FeeWorkload(String plans) {
+        GameConfig config = BenchSupport.config();
+        RandomStream random = new RandomStream(BenchSupport.SEED);
+        this.PLANS = new TravelPlan[Integer.parseInt(plans)];
+        for (int i = 0; i < PLANS.length; i++) {
+            PLANS[i] = new TravelPlan(config.rates(), random.nextInt(1024), random.nextInt(2000), random.nextInt(1, 4));
+        }
+    }
+
+    /**
+     * Computes the expected fee of every plan
+     *
+     * @return Sum of the fees, truncated
+     */
+    @Override
+    public long run() {
+        float total = 0;
+        for (TravelPlan plan : PLANS) {
+            total += plan.getExpectedFee();
+        }
+        return (long) total;
+    }
+}
@@ -0,0 +1,62 @@
+import bench.Workload;
+
+import java.util.ArrayList;
+import java.util.Properties;
+
+/**
+ * Runs single frames of the real level headlessly, with rendering left out. Healths and the frame limit are
+ * raised so the level keeps running for the whole measurement; if it ends anyway, a new game is started.
+ *
+ * @author Kevin Tran
+ */
+public class FrameWorkload implements Workload {
+    /**
+     * Game configuration of the level
+     */
+    private final GameConfig CONFIG;
+    /**
+     * Input with no keys pressed
+     */
+    private final ScriptedInput INPUT;
+    /**
+     * Game being run
+     */
+    private GameScreen screen;
+
+    /**
+     * Constructor for the frame workload
+     */
+    public FrameWorkload() {
+        Properties overrides = new Properties();
+        overrides.setProperty("gamePlay.maxFrames", String.valueOf(Integer.MAX_VALUE));
+        overrides.setProperty("gameObjects.taxi.health", "1000000");
+        overrides.setProperty("gameObjects.driver.health", "1000000");
+        overrides.setProperty("gameObjects.passenger.health", "1000000");
+        this.CONFIG = BenchSupport.config(overrides);
+        this.INPUT = new ScriptedInput(new ArrayList<>());
+        this.screen = newGame();
+    }
+
+    /**
+     * Starts a new game with the benchmark seed
+     *
+     * @return GameScreen of the new game
+     */
+    private GameScreen newGame() {
+        return new GameScreen(CONFIG, "bench", new GameRandom(BenchSupport.SEED));
+    }
+
+    /**
+     * Advances the game by one frame
+     *
+     * @return Number of cars in the game
+     */
+    @Override
+    public long run() {
+        INPUT.advance();
+        if (screen.update(INPUT)) {
+            screen = newGame();
+        }
+        return screen.getCarCount();
+    }
+}
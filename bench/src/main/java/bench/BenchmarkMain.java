@@ -0,0 +1,51 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the benchmarks with the GC profiler and writes the results as JSON to bench/results, so results from
+ * before and after a change can be compared. Takes the usual JMH command line options, for example a
+ * benchmark name pattern, and only fills in the profiler and result file when they are not given.
+ *
+ * @author Kevin Tran
+ */
+public class BenchmarkMain {
+    /**
+     * Private constructor as this class only holds static methods
+     */
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Main function of the benchmark runner
+     *
+     * @param args JMH command line options
+     * @throws RunnerException            if a benchmark fails to run
+     * @throws CommandLineOptionException if the options cannot be parsed
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cmd);
+        if (cmd.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!cmd.getResult().hasValue()) {
+            File dir = new File("bench/results");
+            dir.mkdirs();
+            String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            options.resultFormat(ResultFormatType.JSON).result(new File(dir, stamp + ".json").getPath());
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,55 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one pass of CollisionEvent.checkCollisions over a growing number of entities
+ *
+ * @author Kevin Tran
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+    /**
+     * Number of entities checked
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public String entities;
+    /**
+     * Broad phase used to find candidate pairs
+     */
+    @Param({"grid", "bruteForce"})
+    public String broadPhase;
+    /**
+     * Workload being measured
+     */
+    private Workload workload;
+
+    /**
+     * Builds the entities before measuring
+     */
+    @Setup
+    public void setup() {
+        workload = Workload.create("CollisionWorkload", entities, broadPhase);
+    }
+
+    /**
+     * Checks every entity for collisions once
+     *
+     * @return Number of entities checked
+     */
+    @Benchmark
+    public long checkCollisions() {
+        return workload.run();
+    }
+}
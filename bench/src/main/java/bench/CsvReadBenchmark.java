@@ -0,0 +1,55 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures IOUtils.readCommaSeparatedFile on large level and score files
+ *
+ * @author Kevin Tran
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvReadBenchmark {
+    /**
+     * Format of the file read
+     */
+    @Param({"level", "scores"})
+    public String kind;
+    /**
+     * Number of rows in the file
+     */
+    @Param({"10000", "100000"})
+    public String rows;
+    /**
+     * Workload being measured
+     */
+    private Workload workload;
+
+    /**
+     * Writes the file before measuring
+     */
+    @Setup
+    public void setup() {
+        workload = Workload.create("CsvReadWorkload", kind, rows);
+    }
+
+    /**
+     * Reads the whole file
+     *
+     * @return Number of rows read
+     */
+    @Benchmark
+    public long readFile() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,65 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures TravelPlan.getExpectedFee, and TripLedger.record and TripLedger.getTotal
+ *
+ * @author Kevin Tran
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EarningsBenchmark {
+    /**
+     * Number of travel plans priced and trips summed
+     */
+    @Param({"40", "1000"})
+    public String trips;
+    /**
+     * Workload pricing travel plans
+     */
+    private Workload fees;
+    /**
+     * Workload recording the trips of a taxi in a ledger and reading its total earnings
+     */
+    private Workload earnings;
+
+    /**
+     * Builds the travel plans and completed trips before measuring
+     */
+    @Setup
+    public void setup() {
+        fees = Workload.create("FeeWorkload", trips);
+        earnings = Workload.create("EarningsWorkload", trips);
+    }
+
+    /**
+     * Computes the expected fee of every travel plan
+     *
+     * @return Sum of the fees, truncated
+     */
+    @Benchmark
+    public long expectedFee() {
+        return fees.run();
+    }
+
+    /**
+     * Records every completed trip in a ledger and reads its total earnings
+     *
+     * @return Total earnings, truncated
+     */
+    @Benchmark
+    public long totalEarnings() {
+        return earnings.run();
+    }
+}
@@ -0,0 +1,44 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full GameScreen frame of the real level, with rendering left out
+ *
+ * @author Kevin Tran
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FrameBenchmark {
+    /**
+     * Workload being measured
+     */
+    private Workload workload;
+
+    /**
+     * Starts the game before measuring
+     */
+    @Setup
+    public void setup() {
+        workload = Workload.create("FrameWorkload");
+    }
+
+    /**
+     * Advances the game by one frame
+     *
+     * @return Number of cars in the game
+     */
+    @Benchmark
+    public long frame() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,34 @@
+package bench;
+
+/**
+ * One operation of a benchmark. The game's classes live in the default package, which a packaged benchmark
+ * cannot reference, so each workload is a default package class that sets itself up in its constructor and is
+ * driven through this interface.
+ *
+ * @author Kevin Tran
+ */
+public interface Workload {
+    /**
+     * Runs one operation of the workload
+     *
+     * @return Value derived from the result, consumed so the operation is not optimised away
+     */
+    long run();
+
+    /**
+     * Creates a workload by the name of its class
+     *
+     * @param className Simple name of the default package workload class
+     * @param args      String arguments passed to its constructor
+     * @return Workload ready to run
+     */
+    static Workload create(String className, String... args) {
+        try {
+            Class<?>[] types = new Class<?>[args.length];
+            java.util.Arrays.fill(types, String.class);
+            return (Workload) Class.forName(className).getConstructor(types).newInstance((Object[]) args);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Could not create workload " + className, ex);
+        }
+    }
+}
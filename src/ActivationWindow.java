@@ -0,0 +1,276 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * This class keeps level entities (passengers, coins and stars) dormant while they are outside a window around
+ * everything that can reach them: the screen, the taxi, the driver and every car. Dormant entities are held
+ * in two heaps ordered by Y-coordinate, one for each side of the window, so only the entities at the edge of
+ * the window are looked at each frame and waking an entity costs O(log n) no matter how big the level is.
+ * Idle entities that fall out of the window are put back to sleep in batched compaction passes.
+ *
+ * @author Kevin Tran
+ */
+public class ActivationWindow {
+    /**
+     * Distance in pixels beyond the tracked span that entities are kept awake for
+     */
+    private final int MARGIN;
+    /**
+     * Number of frames between sleep passes
+     */
+    private final int INTERVAL;
+    /**
+     * Callback that adds a woken entity back to the game
+     */
+    private final Consumer<Entity> ON_WAKE;
+    /**
+     * Dormant entities above the window, the lowest one first
+     */
+    private final PriorityQueue<Entity> ABOVE;
+    /**
+     * Dormant entities below the window, the highest one first
+     */
+    private final PriorityQueue<Entity> BELOW;
+    /**
+     * Smallest and largest Y-coordinates of the window, in world coordinates
+     */
+    private int minY, maxY;
+    /**
+     * Total number of entities woken so far
+     */
+    private int wokenCount;
+    /**
+     * Total number of dormant entities dropped so far
+     */
+    private int droppedCount;
+
+    /**
+     * Constructor for the activation window of a game
+     *
+     * @param margin   Distance in pixels beyond the tracked span that entities are kept awake for
+     * @param interval Number of frames between sleep passes
+     * @param onWake   Callback that adds a woken entity back to the game
+     */
+    public ActivationWindow(int margin, int interval, Consumer<Entity> onWake) {
+        this.MARGIN = margin;
+        this.INTERVAL = Math.max(1, interval);
+        this.ON_WAKE = onWake;
+        this.ABOVE = new PriorityQueue<>(Comparator.comparingInt(Entity::getY).reversed());
+        this.BELOW = new PriorityQueue<>(Comparator.comparingInt(Entity::getY));
+        this.minY = Integer.MAX_VALUE;
+        this.maxY = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Adds a level entity to the game as dormant. It is woken by the next call to moveTo if it is in the window.
+     *
+     * @param entity Entity to add
+     */
+    public void add(Entity entity) {
+        sleep(entity);
+    }
+
+    /**
+     * Moves the window to cover a span of Y-coordinates plus the margin on each side, and wakes every dormant
+     * entity the window now reaches
+     *
+     * @param top    Smallest Y-coordinate to cover, in world coordinates
+     * @param bottom Largest Y-coordinate to cover, in world coordinates
+     */
+    public void moveTo(int top, int bottom) {
+        this.minY = top - MARGIN;
+        this.maxY = bottom + MARGIN;
+        while (!ABOVE.isEmpty() && ABOVE.peek().getY() >= minY) {
+            place(ABOVE.poll());
+        }
+        while (!BELOW.isEmpty() && BELOW.peek().getY() <= maxY) {
+            place(BELOW.poll());
+        }
+    }
+
+    /**
+     * Drops dormant entities that are further below the window than a distance, so a long level does not keep
+     * every entity it has scrolled past. Dropped entities are gone for good.
+     *
+     * @param distance Distance in pixels below the window to keep dormant entities for
+     * @return Number of entities dropped
+     */
+    public int dropBelow(int distance) {
+        int dropped = 0;
+        while (!BELOW.isEmpty() && BELOW.peek().getY() > maxY + distance) {
+            BELOW.poll();
+            dropped++;
+        }
+        droppedCount += dropped;
+        return dropped;
+    }
+
+    /**
+     * Wakes an entity taken off a heap if it is in the window, otherwise moves it to the heap on its side
+     *
+     * @param entity Entity taken off a heap
+     */
+    private void place(Entity entity) {
+        if (isInside(entity)) {
+            wokenCount++;
+            ON_WAKE.accept(entity);
+        } else {
+            sleep(entity);
+        }
+    }
+
+    /**
+     * Puts an entity in the heap for its side of the window
+     *
+     * @param entity Entity to put to sleep
+     */
+    private void sleep(Entity entity) {
+        if (entity.getY() < minY) {
+            ABOVE.add(entity);
+        } else {
+            BELOW.add(entity);
+        }
+    }
+
+    /**
+     * Checks if an entity is inside the window
+     *
+     * @param entity Entity to check
+     * @return true if the entity is inside the window, false otherwise
+     */
+    private boolean isInside(Entity entity) {
+        return entity.getY() >= minY && entity.getY() <= maxY;
+    }
+
+    /**
+     * Checks if an entity can be put to sleep: it is idle and outside the window
+     *
+     * @param entity Entity to check
+     * @return true if the entity can be put to sleep, false otherwise
+     */
+    private boolean canSleep(Entity entity) {
+        return entity instanceof Sleepable sleepable && sleepable.isIdle() && !isInside(entity);
+    }
+
+    /**
+     * Checks if a sleep pass is due this frame
+     *
+     * @param frame Current frame of the game
+     * @return true if a sleep pass is due, false otherwise
+     */
+    public boolean isSleepDue(int frame) {
+        return frame % INTERVAL == 0;
+    }
+
+    /**
+     * Removes every entity that can be put to sleep from a list in place, keeping the order of the remaining
+     * entities. An entity held in several lists is only put in a heap by the pass that is told to store it.
+     *
+     * @param list  ArrayList to compact
+     * @param store true to put removed entities in a heap, false to only remove them from the list
+     * @param <T>   Type of entity held in the list
+     * @return Number of entities removed
+     */
+    public <T extends Entity> int compact(ArrayList<T> list, boolean store) {
+        int size = list.size();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            T entity = list.get(i);
+            if (canSleep(entity)) {
+                if (store) {
+                    sleep(entity);
+                }
+                continue;
+            }
+            if (kept != i) {
+                list.set(kept, entity);
+            }
+            kept++;
+        }
+        // trim from the end so no elements are shifted
+        for (int i = size - 1; i >= kept; i--) {
+            list.remove(i);
+        }
+        return size - kept;
+    }
+
+    /**
+     * Inserts an entity into a list kept in order of entity id. Entities are created in the order the level
+     * file lists them, so woken entities go back to the place they had when the level was loaded.
+     *
+     * @param list   ArrayList ordered by entity id
+     * @param entity Entity to insert
+     * @param <T>    Type of entity held in the list
+     */
+    public static <T extends Entity> void insert(ArrayList<T> list, T entity) {
+        int lo = 0, hi = list.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (list.get(mid).getId() < entity.getId()) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        list.add(lo, entity);
+    }
+
+    /**
+     * Gets the number of entities currently dormant
+     *
+     * @return int value of dormant entity count
+     */
+    public int getDormantCount() {
+        return ABOVE.size() + BELOW.size();
+    }
+
+    /**
+     * Gets the total number of entities woken so far
+     *
+     * @return int value of woken entity count
+     */
+    public int getWokenCount() {
+        return wokenCount;
+    }
+
+    /**
+     * Gets the total number of dormant entities dropped so far
+     *
+     * @return int value of dropped entity count
+     */
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Writes the window and the dormant entities it holds. Each queue is written in the order of its heap, so
+     * adding them back in that order rebuilds the same heap and ties are woken in the same order.
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        snapshot.putInt(minY);
+        snapshot.putInt(maxY);
+        snapshot.putInt(wokenCount);
+        snapshot.putInt(droppedCount);
+        snapshot.putAll(ABOVE);
+        snapshot.putAll(BELOW);
+    }
+
+    /**
+     * Puts the window back in the state written by saveState. The dormant entities must already be back in
+     * their positions.
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        this.minY = snapshot.getInt();
+        this.maxY = snapshot.getInt();
+        this.wokenCount = snapshot.getInt();
+        this.droppedCount = snapshot.getInt();
+        snapshot.getAll(ABOVE);
+        snapshot.getAll(BELOW);
+    }
+}
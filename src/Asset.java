@@ -0,0 +1,49 @@
+import java.util.function.Supplier;
+
+/**
+ * Shared handle to an Image or Font, held by the AssetCache for the whole process.
+ * The underlying asset is only loaded the first time it is used, unless it was preloaded.
+ *
+ * @param <T> Type of asset, such as bagel.Image or bagel.Font
+ * @author Kevin Tran
+ */
+public class Asset<T> {
+    /**
+     * Loader that constructs the asset
+     */
+    private final Supplier<T> LOADER;
+    /**
+     * Loaded asset, or null if not yet loaded
+     */
+    private T value;
+
+    /**
+     * Constructor for an unloaded asset handle
+     *
+     * @param loader Loader that constructs the asset
+     */
+    Asset(Supplier<T> loader) {
+        this.LOADER = loader;
+    }
+
+    /**
+     * Gets the asset, loading it on first use
+     *
+     * @return Loaded asset
+     */
+    public T get() {
+        if (value == null) {
+            value = LOADER.get();
+        }
+        return value;
+    }
+
+    /**
+     * Checks if the asset has been loaded
+     *
+     * @return true if the asset is loaded, false otherwise
+     */
+    public boolean isLoaded() {
+        return value != null;
+    }
+}
@@ -0,0 +1,209 @@
+import bagel.Font;
+import bagel.Image;
+
+import java.util.HashMap;
+
+/**
+ * Cache of Images keyed by path and Fonts keyed by path and size. Every entity asking for the same sprite
+ * or font shares a single handle, so texture and font counts stay constant no matter how many entities
+ * are alive. Handles load lazily on first use, and a level's asset set can be preloaded up front.
+ * <p>
+ * Handles live for the whole process, as bagel cannot dispose of a loaded Image or Font.
+ *
+ * @author Kevin Tran
+ */
+public final class AssetCache {
+    /**
+     * Image handles keyed by file path
+     */
+    private static final HashMap<String, Asset<Image>> IMAGES = new HashMap<>();
+    /**
+     * Font handles keyed by file path and font size
+     */
+    private static final HashMap<String, Asset<Font>> FONTS = new HashMap<>();
+    /**
+     * Number of handle requests that found the asset already cached
+     */
+    private static long hits = 0;
+    /**
+     * Number of handle requests that had to create a new handle
+     */
+    private static long misses = 0;
+    /**
+     * Number of Images constructed
+     */
+    private static int imageLoads = 0;
+    /**
+     * Number of Fonts constructed
+     */
+    private static int fontLoads = 0;
+    /**
+     * Boolean value indicating if the game runs without a window, in which case nothing may be loaded
+     */
+    private static boolean headless = false;
+
+    static {
+        Metrics.gauge("assets.hits", () -> hits);
+        Metrics.gauge("assets.misses", () -> misses);
+        Metrics.gauge("assets.hitRatePercent", () -> hits + misses == 0 ? 0 : 100.0 * hits / (hits + misses));
+        Metrics.gauge("assets.imageLoads", () -> imageLoads);
+        Metrics.gauge("assets.fontLoads", () -> fontLoads);
+    }
+
+    /**
+     * Private constructor as this class only holds static methods
+     */
+    private AssetCache() {
+    }
+
+    /**
+     * Gets a shared handle to an Image
+     *
+     * @param path File path to png file
+     * @return Handle to the Image, loaded on first use
+     */
+    public static Asset<Image> image(String path) {
+        Asset<Image> asset = IMAGES.get(path);
+        if (asset == null) {
+            misses++;
+            asset = new Asset<>(() -> loadImage(path));
+            IMAGES.put(path, asset);
+        } else {
+            hits++;
+        }
+        return asset;
+    }
+
+    /**
+     * Gets a shared handle to a Font
+     *
+     * @param path File path to font file
+     * @param size Font size
+     * @return Handle to the Font, loaded on first use
+     */
+    public static Asset<Font> font(String path, int size) {
+        String key = path + "#" + size;
+        Asset<Font> asset = FONTS.get(key);
+        if (asset == null) {
+            misses++;
+            asset = new Asset<>(() -> loadFont(path, size));
+            FONTS.put(key, asset);
+        } else {
+            hits++;
+        }
+        return asset;
+    }
+
+    /**
+     * Loads a set of Images up front, so they are not loaded mid-game
+     *
+     * @param paths File paths of png files
+     */
+    public static void preload(String... paths) {
+        if (headless) {
+            return;
+        }
+        for (String path : paths) {
+            image(path).get();
+        }
+    }
+
+    /**
+     * Constructs an Image and counts the load
+     *
+     * @param path File path to png file
+     * @return Loaded Image
+     */
+    private static Image loadImage(String path) {
+        checkNotHeadless(path);
+        imageLoads++;
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        Image image = new Image(path);
+        if (event.shouldCommit()) {
+            event.kind = "image";
+            event.path = path;
+            event.commit();
+        }
+        return image;
+    }
+
+    /**
+     * Constructs a Font and counts the load
+     *
+     * @param path File path to font file
+     * @param size Font size
+     * @return Loaded Font
+     */
+    private static Font loadFont(String path, int size) {
+        checkNotHeadless(path);
+        fontLoads++;
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        Font font = new Font(path, size);
+        if (event.shouldCommit()) {
+            event.kind = "font";
+            event.path = path;
+            event.size = size;
+            event.commit();
+        }
+        return font;
+    }
+
+    /**
+     * Fails if an asset is loaded while running headless, which means something drew outside of render
+     *
+     * @param path File path of asset being loaded
+     */
+    private static void checkNotHeadless(String path) {
+        if (headless) {
+            throw new IllegalStateException("Cannot load " + path + " without a window");
+        }
+    }
+
+    /**
+     * Sets whether the game runs without a window. Handles are still handed out while headless,
+     * but preloading is skipped and loading an asset throws.
+     *
+     * @param isHeadless true to run without a window, false otherwise
+     */
+    public static void setHeadless(boolean isHeadless) {
+        headless = isHeadless;
+    }
+
+    /**
+     * Gets number of handle requests served from the cache
+     *
+     * @return long value of cache hits
+     */
+    public static long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets number of handle requests that created a new handle
+     *
+     * @return long value of cache misses
+     */
+    public static long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets number of Images constructed so far
+     *
+     * @return int value of Image loads
+     */
+    public static int getImageLoads() {
+        return imageLoads;
+    }
+
+    /**
+     * Gets number of Fonts constructed so far
+     *
+     * @return int value of Font loads
+     */
+    public static int getFontLoads() {
+        return fontLoads;
+    }
+}
@@ -0,0 +1,34 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning the construction of an Image or Font
+ *
+ * @author Kevin Tran
+ */
+@Name("shadowtaxi.AssetLoad")
+@Label("Asset Load")
+@Category("Shadow Taxi")
+@Description("Construction of a bagel Image or Font")
+@Enabled(false)
+public class AssetLoadEvent extends jdk.jfr.Event {
+    /**
+     * Kind of asset: image or font
+     */
+    @Label("Kind")
+    public String kind;
+    /**
+     * File path of asset
+     */
+    @Label("Path")
+    public String path;
+    /**
+     * Font size, or 0 for images
+     */
+    @Label("Size")
+    public int size;
+}
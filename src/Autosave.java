@@ -0,0 +1,344 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * This class autosaves the game in progress every few frames, so a crash or a closed window does not lose the
+ * session. A game plays out the same from its seed and input, so a save is a replay of the game so far, which
+ * resuming plays back to reach the frame it was saved on and checks against its checksums.
+ * <p>
+ * The game thread only copies the input and checksum of each tick into one of two buffers made up front. Every
+ * interval the full buffer is handed to a background thread and the game thread carries on in the other, so
+ * autosaving allocates no arrays on the game thread. The background thread adds the buffer to the game's input,
+ * hands the buffer back, then writes the whole replay to a temporary file, flushes it to disk, and renames it
+ * over the older of two slot files. A crash part way
+ * through a save leaves the other slot whole, and the CRC-32 the gzip stream ends with lets a torn or
+ * corrupted slot be told apart from a good one.
+ *
+ * @author Kevin Tran
+ */
+public class Autosave {
+    /**
+     * Single background thread shared by every autosave for writing save files
+     */
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "autosave-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Number of slot files saves alternate between
+     */
+    private static final int SLOTS = 2;
+    /**
+     * Number of longs stored for the input of each tick
+     */
+    private static final int LONGS_PER_TICK = 3;
+    /**
+     * Number of buffers the game thread alternates between
+     */
+    private static final int BUFFERS = 2;
+    /**
+     * File path the slot numbers are appended to
+     */
+    private final String FILE;
+    /**
+     * Number of ticks between saves
+     */
+    private final int INTERVAL;
+    /**
+     * Seed of the game
+     */
+    private final long SEED;
+    /**
+     * Hash of the game configuration, from Replay.configHash
+     */
+    private final long CONFIG_HASH;
+    /**
+     * Name of the player
+     */
+    private final String PLAYER_NAME;
+    /**
+     * Held, pressed and released key bits of each tick of each buffer, filled by the game thread
+     */
+    private final long[][] PENDING_INPUT;
+    /**
+     * Checksum of each tick of each buffer, filled by the game thread
+     */
+    private final int[][] PENDING_CHECKSUMS;
+    /**
+     * Number of buffers not being filled that the writer thread has handed back
+     */
+    private final Semaphore FREE_BUFFERS;
+    /**
+     * Buffer the ticks since the last save are copied into
+     */
+    private int pending;
+    /**
+     * Number of ticks since the last save
+     */
+    private int pendingCount;
+    /**
+     * Held, pressed and released key bits of every tick saved, only used by the writer thread
+     */
+    private long[] input;
+    /**
+     * Checksum of every tick saved, only used by the writer thread
+     */
+    private int[] checksums;
+    /**
+     * Number of ticks saved, only used by the writer thread
+     */
+    private int count;
+    /**
+     * Slot the next save is written to, only used by the writer thread
+     */
+    private int slot;
+    /**
+     * Latest save handed to the writer thread, or null if none has been
+     */
+    private Future<?> lastSave;
+
+    /**
+     * Constructor that starts autosaving a game. The saves of any earlier game are deleted first, so only this
+     * game can be resumed, unless this game is resumed from one of them.
+     *
+     * @param file       File path the slot numbers are appended to
+     * @param interval   Number of ticks between saves
+     * @param seed       Seed of the game
+     * @param configHash Hash of the game configuration, from Replay.configHash
+     * @param playerName Name of the player
+     * @param resumed    File path of the slot the game was resumed from, from findLatest, or null for a new game
+     */
+    public Autosave(String file, int interval, long seed, long configHash, String playerName, String resumed) {
+        this.FILE = file;
+        this.INTERVAL = interval;
+        this.SEED = seed;
+        this.CONFIG_HASH = configHash;
+        this.PLAYER_NAME = playerName;
+        this.PENDING_INPUT = new long[BUFFERS][LONGS_PER_TICK * interval];
+        this.PENDING_CHECKSUMS = new int[BUFFERS][interval];
+        this.FREE_BUFFERS = new Semaphore(BUFFERS - 1);
+        this.input = new long[LONGS_PER_TICK * interval];
+        this.checksums = new int[interval];
+        if (resumed == null) {
+            WRITER.submit(() -> delete(file));
+        } else {
+            WRITER.submit(() -> load(resumed));
+        }
+    }
+
+    /**
+     * Reads the ticks of the slot a game was resumed from, so later saves hold the whole game. The next save
+     * goes to the other slot, so the resumed slot is kept until a longer save has been written. Runs on the
+     * writer thread.
+     *
+     * @param resumed File path of the slot the game was resumed from
+     */
+    private void load(String resumed) {
+        for (int i = 0; i < SLOTS; i++) {
+            if (slotFile(FILE, i).equals(resumed)) {
+                slot = (i + 1) % SLOTS;
+            }
+        }
+        InputSnapshot tick = new InputSnapshot();
+        try {
+            ReplayReader reader = new ReplayReader(resumed);
+            try {
+                while (reader.next(tick)) {
+                    if (count == checksums.length) {
+                        input = Arrays.copyOf(input, LONGS_PER_TICK * 2 * count);
+                        checksums = Arrays.copyOf(checksums, 2 * count);
+                    }
+                    int at = LONGS_PER_TICK * count;
+                    input[at] = tick.getDown();
+                    input[at + 1] = tick.getPressed();
+                    input[at + 2] = tick.getReleased();
+                    checksums[count++] = reader.getChecksum();
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Copies the input and checksum of a tick, and hands the ticks since the last save to the writer thread
+     * when a save is due. This is the only work autosaving does on the game thread.
+     *
+     * @param tick     Input the tick was run with
+     * @param checksum Checksum of the game state after the tick
+     */
+    public void record(InputSnapshot tick, int checksum) {
+        long[] pendingInput = PENDING_INPUT[pending];
+        int at = LONGS_PER_TICK * pendingCount;
+        pendingInput[at] = tick.getDown();
+        pendingInput[at + 1] = tick.getPressed();
+        pendingInput[at + 2] = tick.getReleased();
+        PENDING_CHECKSUMS[pending][pendingCount++] = checksum;
+        if (pendingCount == INTERVAL) {
+            commit();
+        }
+    }
+
+    /**
+     * Hands the buffer of ticks since the last save to the writer thread, and carries on in the other buffer.
+     * The other buffer is handed back as soon as the writer thread has copied it, so the game thread only
+     * waits for it if the writer thread is a whole interval behind.
+     */
+    private void commit() {
+        int buffer = pending, ticksCount = pendingCount;
+        lastSave = WRITER.submit(() -> save(buffer, ticksCount));
+        FREE_BUFFERS.acquireUninterruptibly();
+        pending = (pending + 1) % BUFFERS;
+        pendingCount = 0;
+    }
+
+    /**
+     * Adds the ticks of a buffer to the game's input, hands the buffer back to the game thread, and writes every
+     * tick so far to the next slot. Runs on the writer thread.
+     *
+     * @param buffer     Buffer the ticks were copied into
+     * @param ticksCount Number of ticks in the buffer
+     */
+    private void save(int buffer, int ticksCount) {
+        try {
+            if (count + ticksCount > checksums.length) {
+                int capacity = Math.max(2 * checksums.length, count + ticksCount);
+                input = Arrays.copyOf(input, LONGS_PER_TICK * capacity);
+                checksums = Arrays.copyOf(checksums, capacity);
+            }
+            System.arraycopy(PENDING_INPUT[buffer], 0, input, LONGS_PER_TICK * count, LONGS_PER_TICK * ticksCount);
+            System.arraycopy(PENDING_CHECKSUMS[buffer], 0, checksums, count, ticksCount);
+            count += ticksCount;
+        } finally {
+            FREE_BUFFERS.release();
+        }
+
+        Path temp = Path.of(FILE + ".tmp");
+        try {
+            ReplayWriter writer = new ReplayWriter(temp.toString(), SEED, CONFIG_HASH, PLAYER_NAME);
+            InputSnapshot tick = new InputSnapshot();
+            for (int i = 0; i < count; i++) {
+                int at = LONGS_PER_TICK * i;
+                tick.set(input[at], input[at + 1], input[at + 2]);
+                writer.write(tick, checksums[i]);
+            }
+            writer.close();
+            // the data must reach the disk before the rename does, or a crash could leave a renamed empty file
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, Path.of(slotFile(FILE, slot)), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            slot = (slot + 1) % SLOTS;
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Saves the ticks since the last save and waits for every save to be written, for when the game is closed
+     * part way through
+     */
+    public void close() {
+        if (pendingCount > 0) {
+            commit();
+        }
+        if (lastSave == null) {
+            return;
+        }
+        try {
+            lastSave.get();
+        } catch (InterruptedException | ExecutionException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Stops autosaving a game that has ended, and deletes its saves as there is nothing left to resume
+     */
+    public void finish() {
+        pendingCount = 0;
+        WRITER.submit(() -> delete(FILE));
+    }
+
+    /**
+     * Gets the file path of a slot
+     *
+     * @param file File path the slot numbers are appended to
+     * @param slot Slot number
+     * @return String file path of the slot
+     */
+    private static String slotFile(String file, int slot) {
+        return file + "." + slot;
+    }
+
+    /**
+     * Deletes every slot of a save
+     *
+     * @param file File path the slot numbers are appended to
+     */
+    private static void delete(String file) {
+        try {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Files.deleteIfExists(Path.of(slotFile(file, slot)));
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Finds the latest whole save of a game played with a configuration. A slot is only used if its gzip stream
+     * inflates to the end with a matching CRC-32, so a torn or corrupted slot is passed over.
+     *
+     * @param file       File path the slot numbers are appended to
+     * @param configHash Hash of the current game configuration, from Replay.configHash
+     * @return String file path of the slot with the most ticks, or null if there is no save to resume
+     */
+    public static String findLatest(String file, long configHash) {
+        String latest = null;
+        int latestFrames = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            Path slotFile = Path.of(slotFile(file, slot));
+            if (!Files.isRegularFile(slotFile)) {
+                continue;
+            }
+            try {
+                try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(slotFile))) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+                ReplayReader reader = new ReplayReader(slotFile.toString());
+                InputSnapshot tick = new InputSnapshot();
+                try {
+                    while (reader.next(tick)) {
+                        // count the ticks
+                    }
+                } finally {
+                    reader.close();
+                }
+                if (reader.getConfigHash() == configHash && reader.getFrames() > latestFrames) {
+                    latest = slotFile.toString();
+                    latestFrames = reader.getFrames();
+                }
+            } catch (IOException ex) {
+                System.err.println("Skipping unreadable autosave " + slotFile + ": " + ex.getMessage());
+            }
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,58 @@
+import bagel.Input;
+import bagel.Keys;
+
+/**
+ * GameInput that reads the keyboard of the bagel window
+ *
+ * @author Kevin Tran
+ */
+public class BagelInput implements GameInput {
+    /**
+     * bagel Input of the current frame
+     */
+    private Input input;
+
+    /**
+     * Points this adapter at the bagel Input of the current frame
+     *
+     * @param input The current mouse/keyboard input.
+     * @return This adapter
+     */
+    public BagelInput setInput(Input input) {
+        this.input = input;
+        return this;
+    }
+
+    /**
+     * Checks if a key is held down this frame
+     *
+     * @param key Key to check
+     * @return true if the key is held down, false otherwise
+     */
+    @Override
+    public boolean isDown(Keys key) {
+        return input.isDown(key);
+    }
+
+    /**
+     * Checks if a key went down this frame
+     *
+     * @param key Key to check
+     * @return true if the key was pressed this frame, false otherwise
+     */
+    @Override
+    public boolean wasPressed(Keys key) {
+        return input.wasPressed(key);
+    }
+
+    /**
+     * Checks if a key went up this frame
+     *
+     * @param key Key to check
+     * @return true if the key was released this frame, false otherwise
+     */
+    @Override
+    public boolean wasReleased(Keys key) {
+        return input.wasReleased(key);
+    }
+}
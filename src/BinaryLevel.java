@@ -0,0 +1,305 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * This class reads a level compiled by LevelCompiler straight from a memory-mapped file. Opening a level only
+ * reads its header, and loading a chunk reads its fixed-width records in place, so no String is made for a
+ * row and the chunks of any span of Y-coordinates are found by a binary search of the chunk index.
+ * <p>
+ * File layout, with every number a big-endian int unless noted:
+ * <pre>
+ * MAGIC VERSION chunkSize passengerCount
+ * stringCount, then for each string: short length and US-ASCII bytes
+ * playerCount, then a record for each taxi and driver in file order
+ * weatherCount, then for each span: state string, start frame and end frame
+ * chunkCount, then for each chunk in key order: key and index of its first record
+ * objectCount, then a record for each other object, sorted by Y-coordinate then file order
+ * </pre>
+ * A record is RECORD_SIZE bytes: its row number in the CSV, its type string and the values of a Level.Row.
+ *
+ * @author Kevin Tran
+ */
+public class BinaryLevel implements Level {
+    /**
+     * First bytes of a compiled level, "STLV"
+     */
+    public static final int MAGIC = 0x53544C56;
+    /**
+     * Version of the layout written by LevelCompiler
+     */
+    public static final int VERSION = 1;
+    /**
+     * Size in bytes of an object record
+     */
+    public static final int RECORD_SIZE = 4 * (2 + Row.VALUES);
+    /**
+     * Size in bytes of a chunk index entry
+     */
+    public static final int CHUNK_ENTRY_SIZE = 4 * 2;
+    /**
+     * String table of the level, holding its object types and weather states
+     */
+    private final String[] STRINGS;
+    /**
+     * Taxi and driver rows of the level
+     */
+    private final ArrayList<Row> PLAYERS;
+    /**
+     * Weather of the level
+     */
+    private final ArrayList<Weather> WEATHER;
+    /**
+     * Height in pixels of each chunk, fixed when the level was compiled
+     */
+    private final int CHUNK_SIZE;
+    /**
+     * Number of passenger rows in the level
+     */
+    private final int PASSENGER_COUNT;
+    /**
+     * Number of chunks in the level
+     */
+    private final int CHUNK_COUNT;
+    /**
+     * Number of object records in the level
+     */
+    private final int OBJECT_COUNT;
+    /**
+     * Byte offset of the chunk index
+     */
+    private final int CHUNK_INDEX;
+    /**
+     * Byte offset of the first object record
+     */
+    private final int OBJECTS;
+    /**
+     * Chunks loaded so far, by their place in the chunk index
+     */
+    private final BitSet LOADED;
+    /**
+     * Number of chunks loaded so far
+     */
+    private int loadedCount;
+    /**
+     * Mapped contents of the file, or null once the level is closed
+     */
+    private ByteBuffer data;
+
+    /**
+     * Constructor that maps a compiled level and reads its header
+     *
+     * @param file File path to compiled level
+     * @throws IOException if the file cannot be read or is not a compiled level of this version
+     */
+    public BinaryLevel(String file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(Path.of(file), StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer header = mapped.duplicate();
+        try {
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a compiled level");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + " is version " + version + ", expected " + VERSION);
+            }
+            this.CHUNK_SIZE = header.getInt();
+            if (CHUNK_SIZE <= 0) {
+                throw new IOException(file + " has a chunk size of " + CHUNK_SIZE);
+            }
+            this.PASSENGER_COUNT = header.getInt();
+
+            this.STRINGS = new String[header.getInt()];
+            for (int i = 0; i < STRINGS.length; i++) {
+                byte[] bytes = new byte[header.getShort()];
+                header.get(bytes);
+                STRINGS[i] = new String(bytes, StandardCharsets.US_ASCII);
+            }
+
+            int playerCount = header.getInt();
+            this.PLAYERS = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                PLAYERS.add(readRow(header, header.position()));
+                header.position(header.position() + RECORD_SIZE);
+            }
+
+            int weatherCount = header.getInt();
+            this.WEATHER = new ArrayList<>(weatherCount);
+            for (int i = 0; i < weatherCount; i++) {
+                WEATHER.add(new Weather(STRINGS[header.getInt()], header.getInt(), header.getInt()));
+            }
+
+            this.CHUNK_COUNT = header.getInt();
+            this.CHUNK_INDEX = header.position();
+            header.position(CHUNK_INDEX + CHUNK_COUNT * CHUNK_ENTRY_SIZE);
+            this.OBJECT_COUNT = header.getInt();
+            this.OBJECTS = header.position();
+            if (OBJECTS + (long) OBJECT_COUNT * RECORD_SIZE != mapped.limit()) {
+                throw new IOException(file + " is truncated");
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException ex) {
+            throw new IOException(file + " is truncated", ex);
+        }
+        this.LOADED = new BitSet(CHUNK_COUNT);
+        this.data = mapped;
+    }
+
+    /**
+     * Reads a record into a Row
+     *
+     * @param buffer   Buffer holding the record
+     * @param position Byte offset of the record
+     * @return Row holding the values of the record
+     */
+    private Row readRow(ByteBuffer buffer, int position) {
+        return new Row(STRINGS[buffer.getInt(position + 4)], buffer.getInt(position + 8),
+                buffer.getInt(position + 12), buffer.getInt(position + 16), buffer.getInt(position + 20),
+                buffer.getInt(position + 24), buffer.getInt(position + 28));
+    }
+
+    /**
+     * Gets the key of a chunk in the chunk index
+     *
+     * @param chunk Place of the chunk in the index
+     * @return int value of chunk key
+     */
+    private int chunkKey(int chunk) {
+        return data.getInt(CHUNK_INDEX + chunk * CHUNK_ENTRY_SIZE);
+    }
+
+    /**
+     * Gets the index of the first record of a chunk
+     *
+     * @param chunk Place of the chunk in the index, or CHUNK_COUNT for the end of the last chunk
+     * @return int value of record index
+     */
+    private int chunkStart(int chunk) {
+        return chunk == CHUNK_COUNT ? OBJECT_COUNT : data.getInt(CHUNK_INDEX + chunk * CHUNK_ENTRY_SIZE + 4);
+    }
+
+    /**
+     * Finds the first chunk in the index with a key no smaller than a given key
+     *
+     * @param key Chunk key to search for
+     * @return int value of the chunk's place in the index, or CHUNK_COUNT if every key is smaller
+     */
+    private int findChunk(long key) {
+        int low = 0, high = CHUNK_COUNT;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (chunkKey(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the taxi and driver rows of the level
+     *
+     * @return ArrayList of Row, in file order
+     */
+    @Override
+    public ArrayList<Row> getPlayers() {
+        return PLAYERS;
+    }
+
+    /**
+     * Gets the number of passenger rows in the level, including those not loaded yet
+     *
+     * @return int value of passenger count
+     */
+    @Override
+    public int getPassengerCount() {
+        return PASSENGER_COUNT;
+    }
+
+    /**
+     * Gets the weather of the level
+     *
+     * @return ArrayList of Weather, in file order
+     */
+    @Override
+    public ArrayList<Weather> getWeather() {
+        return WEATHER;
+    }
+
+    /**
+     * Gets the height in pixels of each chunk
+     *
+     * @return int value of chunk size
+     */
+    @Override
+    public int getChunkSize() {
+        return CHUNK_SIZE;
+    }
+
+    /**
+     * Loads every chunk not loaded yet that overlaps a span of Y-coordinates, nearest the bottom of the screen
+     * first. Records are sorted by Y-coordinate in the file, so each chunk is put back in file order to match
+     * the order CsvLevel hands rows out in.
+     *
+     * @param minY Smallest Y-coordinate of the span, in world coordinates
+     * @param maxY Largest Y-coordinate of the span, in world coordinates
+     * @return ArrayList of the rows loaded, empty if no chunk was due
+     */
+    @Override
+    public ArrayList<Row> load(int minY, int maxY) {
+        ArrayList<Row> rows = new ArrayList<>();
+        if (data == null) {
+            return rows;
+        }
+        int first = findChunk(Math.floorDiv(minY, CHUNK_SIZE));
+        int last = findChunk(Math.floorDiv(maxY, CHUNK_SIZE) + 1L) - 1;
+        for (int chunk = LOADED.previousClearBit(last); chunk >= first; chunk = LOADED.previousClearBit(chunk - 1)) {
+            int start = chunkStart(chunk), end = chunkStart(chunk + 1);
+            // row number in the high half and record index in the low half, so sorting puts them in file order
+            long[] order = new long[end - start];
+            for (int i = start; i < end; i++) {
+                order[i - start] = (long) data.getInt(OBJECTS + i * RECORD_SIZE) << 32 | i;
+            }
+            Arrays.sort(order);
+            for (long entry : order) {
+                rows.add(readRow(data, OBJECTS + (int) entry * RECORD_SIZE));
+            }
+            LOADED.set(chunk);
+            loadedCount++;
+        }
+        if (loadedCount == CHUNK_COUNT) {
+            close();
+        }
+        return rows;
+    }
+
+    /**
+     * Gets the number of chunks not loaded yet
+     *
+     * @return int value of pending chunk count
+     */
+    @Override
+    public int getPendingCount() {
+        return data == null ? 0 : CHUNK_COUNT - loadedCount;
+    }
+
+    /**
+     * Closes the level. The mapping is released once nothing refers to it.
+     */
+    @Override
+    public void close() {
+        data = null;
+    }
+}
@@ -1,15 +1,27 @@
-import java.util.Properties;
+import bagel.Image;
 
 /**
  * Abstract class that describes common attributes shared by Car entities
  *
  * @author Kevin Tran
  */
-public abstract class Car extends Entity implements Damageable, Flammable, Crashable {
+public abstract class Car extends Entity implements Damageable, Flammable, Crashable, Retirable, Poolable {
     /**
      * Health of the car entity
      */
     private int health;
+    /**
+     * Health of the car when spawned
+     */
+    private final int MAX_HEALTH;
+    /**
+     * Minimum and maximum vertical speed of car
+     */
+    private final int MIN_SPEED_Y, MAX_SPEED_Y;
+    /**
+     * Stream that speeds are drawn from when the car spawns
+     */
+    private final RandomStream SPEEDS;
     /**
      * Amount of damage car can deal to other Damageable entities
      */
@@ -18,6 +30,14 @@ public abstract class Car extends Entity implements Damageable, Flammable, Crash
      * Vertical speed of car object
      */
     private int SPEED_Y;
+    /**
+     * Shared handles to the fire and smoke images to be rendered
+     */
+    private final Asset<Image> FIRE_IMG, SMOKE_IMG;
+    /**
+     * Number of frames fire and smoke are rendered for
+     */
+    private final int FIRE_LT, SMOKE_LT;
     /**
      * Current frame count for rendering smoke
      */
@@ -46,21 +66,27 @@ public abstract class Car extends Entity implements Damageable, Flammable, Crash
     /**
      * Car constructor to instantiate cars
      *
-     * @param gameProp Properties file holding game properties
-     * @param x        Initial X-coordinate
-     * @param y        Initial Y-coordinate
-     * @param imgPath  File path for image to be rendered
-     * @param health   Health of car
-     * @param minY     Minimum vertical speed possible
-     * @param maxY     Maximum vertical speed possible
-     * @param rad      Radius of Entity
-     */
-    public Car(Properties gameProp, int x, int y, String imgPath, int health, int dmg, int minY, int maxY, float rad) {
-        super(x, y, imgPath, rad);
-
-        this.health = health;
-        this.DMG = dmg;
-        this.SPEED_Y = MiscUtils.getRandomInt(minY, maxY + 1);
+     * @param config  Game configuration
+     * @param stats   Settings of this kind of car
+     * @param x       Initial X-coordinate
+     * @param y       Initial Y-coordinate
+     * @param imgPath File path for image to be rendered
+     * @param random  Random number service of the game
+     */
+    public Car(GameConfig config, GameConfig.CarStats stats, int x, int y, String imgPath, GameRandom random) {
+        super(config, x, y, imgPath, stats.radius());
+
+        this.health = stats.health();
+        this.MAX_HEALTH = stats.health();
+        this.DMG = stats.damage();
+        this.MIN_SPEED_Y = stats.minSpeedY();
+        this.MAX_SPEED_Y = stats.maxSpeedY();
+        this.SPEEDS = random.carSpeeds();
+        this.SPEED_Y = MiscUtils.getRandomInt(SPEEDS, MIN_SPEED_Y, MAX_SPEED_Y + 1);
+        this.FIRE_IMG = AssetCache.image(config.fire().image());
+        this.SMOKE_IMG = AssetCache.image(config.smoke().image());
+        this.FIRE_LT = config.fire().ttl();
+        this.SMOKE_LT = config.smoke().ttl();
         this.currSmokeFrame = 0;
         this.currFireFrame = 0;
         this.isSmoking = false;
@@ -70,16 +96,35 @@ public abstract class Car extends Entity implements Damageable, Flammable, Crash
     }
 
     /**
-     * Render logic for cars. Displays smoke when hit, and also fire when dead
+     * Returns car to the state of a freshly spawned car with a new random speed
+     *
+     * @param x New X-coordinate
+     * @param y New Y-coordinate
      */
     @Override
-    public void render() {
+    public void reset(int x, int y) {
+        renewId();
+        setX(x);
+        setY(y);
+        storePosition();
+        this.health = MAX_HEALTH;
+        this.SPEED_Y = MiscUtils.getRandomInt(SPEEDS, MIN_SPEED_Y, MAX_SPEED_Y + 1);
+        this.currSmokeFrame = 0;
+        this.currFireFrame = 0;
+        this.isSmoking = false;
+        this.isBurning = false;
+        this.isDead = false;
+        this.wasHit = false;
+    }
+
+    /**
+     * Advances the smoke and fire timers, ending each effect once it has been shown for its lifetime
+     */
+    protected void updateEffects() {
         if (isSmoking) {
             if (currSmokeFrame < SMOKE_LT) {
-                emitSmoke();
                 currSmokeFrame++;
-            }
-            if (currSmokeFrame >= SMOKE_LT) {
+            } else {
                 currSmokeFrame = 0;
                 this.isSmoking = false;
             }
@@ -87,19 +132,40 @@ public abstract class Car extends Entity implements Damageable, Flammable, Crash
 
         if (isBurning) {
             if (currFireFrame < FIRE_LT) {
-                burn();
                 currFireFrame++;
-            }
-            if (currFireFrame >= FIRE_LT) {
+            } else {
                 currFireFrame = 0;
                 this.isBurning = false;
             }
         }
+    }
+
+    /**
+     * Render logic for cars. Displays smoke when hit, and also fire when dead
+     */
+    @Override
+    public void render() {
+        if (isSmoking) {
+            emitSmoke();
+        }
+        if (isBurning) {
+            burn();
+        }
         if (!isDead) {
-            getSprite().draw(getX(), getY());
+            getSprite().draw(getRenderX(), getRenderY());
         }
     }
 
+    /**
+     * Gets current health of car
+     *
+     * @return Integer value of current car health
+     */
+    @Override
+    public int getHealth() {
+        return health;
+    }
+
     /**
      * Decrements car health by specified damage amount
      *
@@ -121,7 +187,7 @@ public abstract class Car extends Entity implements Damageable, Flammable, Crash
     @Override
     public void burn() {
         if (health > 0) {
-            fire.draw(getX(), getY());
+            FIRE_IMG.get().draw(getRenderX(), getRenderY());
         }
     }
 
@@ -131,16 +197,16 @@ public abstract class Car extends Entity implements Damageable, Flammable, Crash
     @Override
     public void emitSmoke() {
         if (health > 0) {
-            smoke.draw(getX(), getY());
+            SMOKE_IMG.get().draw(getRenderX(), getRenderY());
         }
     }
 
     /**
-     * Moves entity along Y axis based on input
+     * Moves car along Y axis at its own speed
      */
     @Override
     public void moveRelative() {
-        setY(getY() + SCROLL_SPEED * getMoveY() - SPEED_Y);
+        setY(getY() - SPEED_Y);
     }
 
     /**
@@ -184,4 +250,61 @@ public abstract class Car extends Entity implements Damageable, Flammable, Crash
         return wasHit;
     }
 
+    /**
+     * Checks if car can be removed, which is once it is dead and its VFX have finished, or it is off-screen
+     *
+     * @param minY Smallest Y-coordinate an entity can have and still be kept
+     * @param maxY Largest Y-coordinate an entity can have and still be kept
+     * @return true if car can be removed, false otherwise
+     */
+    @Override
+    public boolean isRetired(int minY, int maxY) {
+        return (isDead && !isSmoking && !isBurning) || getY() < minY || getY() > maxY;
+    }
+
+    /**
+     * Gets collision layer of Car objects
+     *
+     * @return Layer id of Car objects
+     */
+    @Override
+    public int getLayer() {
+        return CollisionLayer.CAR;
+    }
+
+    /**
+     * Writes the state of Car that changes during a game
+     *
+     * @param snapshot Snapshot to write to
+     */
+    @Override
+    public void saveState(GameSnapshot snapshot) {
+        super.saveState(snapshot);
+        snapshot.putInt(health);
+        snapshot.putInt(SPEED_Y);
+        snapshot.putInt(currSmokeFrame);
+        snapshot.putInt(currFireFrame);
+        snapshot.putBoolean(isSmoking);
+        snapshot.putBoolean(isBurning);
+        snapshot.putBoolean(isDead);
+        snapshot.putBoolean(wasHit);
+    }
+
+    /**
+     * Puts Car back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    @Override
+    public void restoreState(GameSnapshot snapshot) {
+        super.restoreState(snapshot);
+        this.health = snapshot.getInt();
+        this.SPEED_Y = snapshot.getInt();
+        this.currSmokeFrame = snapshot.getInt();
+        this.currFireFrame = snapshot.getInt();
+        this.isSmoking = snapshot.getBoolean();
+        this.isBurning = snapshot.getBoolean();
+        this.isDead = snapshot.getBoolean();
+        this.wasHit = snapshot.getBoolean();
+    }
 }
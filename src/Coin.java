@@ -1,5 +1,3 @@
-import java.util.Properties;
-
 /**
  * Class representing coins in the game. Coins can be collected by either the player or the taxi.
  * It will set one level higher priority for the passengers that are waiting to get-in or already in the taxi.
@@ -10,14 +8,12 @@ public class Coin extends Collectable {
     /**
      * Constructor for Coin objects
      *
-     * @param gameProp Properties file that holds all game properties
-     * @param x        Initial X-coordinate of Coin object
-     * @param y        Initial Y-coordinate of Coin object
+     * @param config Game configuration
+     * @param x      Initial X-coordinate of Coin object
+     * @param y      Initial Y-coordinate of Coin object
      */
-    public Coin(Properties gameProp, int x, int y) {
-        super(x, y, gameProp.getProperty("gameObjects.coin.image"),
-                Float.parseFloat(gameProp.getProperty("gameObjects.coin.radius")),
-                Integer.parseInt(gameProp.getProperty("gameObjects.coin.maxFrames")));
+    public Coin(GameConfig config, int x, int y) {
+        super(config, x, y, config.coin().image(), config.coin().radius(), config.coin().maxFrames());
     }
 
     /**
@@ -57,4 +53,14 @@ public class Coin extends Collectable {
         float currDistance = (float) Math.sqrt(Math.pow(getX() - e.getX(), 2) + Math.pow(getY() - e.getY(), 2));
         return currDistance <= collisionDistance;
     }
+
+    /**
+     * Gets collision layer of Coin objects
+     *
+     * @return Layer id of Coin objects
+     */
+    @Override
+    public int getLayer() {
+        return CollisionLayer.COIN;
+    }
 }
@@ -1,11 +1,9 @@
-import bagel.Input;
-
 /**
  * This abstract class contains common logic, attributes and methods of collectable items in Shadow Taxi
  *
  * @author Kevin Tran
  */
-public abstract class Collectable extends Entity {
+public abstract class Collectable extends Entity implements Sleepable {
     /**
      * Maximum frames that a collectable object can empower an Entity for
      */
@@ -22,43 +20,39 @@ public abstract class Collectable extends Entity {
     /**
      * Entity constructor to instantiate game entities
      *
+     * @param config     Game configuration
      * @param x          Initial X-coordinate
      * @param y          Initial Y-coordinate
      * @param spritePath File path to png file
      * @param rad        Radius of entity
      */
-    public Collectable(int x, int y, String spritePath, Float rad, int maxFrames) {
-        super(x, y, spritePath, rad);
+    public Collectable(GameConfig config, int x, int y, String spritePath, float rad, int maxFrames) {
+        super(config, x, y, spritePath, rad);
         this.MAX_FRAMES = maxFrames;
         this.isCollided = false;
         this.framesActive = 0;
     }
 
     /**
-     * Draws image of collectable object
+     * Draws image of collectable object until it is collected
      */
     @Override
     public void render() {
-        getSprite().draw(getX(), getY());
+        if (!isCollided) {
+            getSprite().draw(getRenderX(), getRenderY());
+        }
     }
 
     /**
-     * Move the object in y direction according to the keyboard input, and render the collectable image,
-     * before collision happens with collectable objects.
-     * Once the collision happens, the active time will be increased.
+     * Increases the active time once the collectable has been collected. Before that it stays put in the
+     * world while the camera scrolls past.
      *
      * @param input The current mouse/keyboard input.
      */
     @Override
-    public void update(Input input) {
+    public void update(GameInput input) {
         if (isCollided) {
             framesActive++;
-        } else {
-            if (input != null) {
-                adjustToInputMovement(input);
-            }
-            render();
-            moveRelative();
         }
     }
 
@@ -97,4 +91,39 @@ public abstract class Collectable extends Entity {
     public boolean getIsActive() {
         return isCollided && framesActive <= MAX_FRAMES && framesActive > 0;
     }
+
+    /**
+     * Checks if collectable can be put to sleep. Once collected it keeps counting its active frames,
+     * so it stays awake.
+     *
+     * @return true if collectable has not been collected, false otherwise
+     */
+    @Override
+    public boolean isIdle() {
+        return !isCollided;
+    }
+
+    /**
+     * Writes the state of Collectable that changes during a game
+     *
+     * @param snapshot Snapshot to write to
+     */
+    @Override
+    public void saveState(GameSnapshot snapshot) {
+        super.saveState(snapshot);
+        snapshot.putBoolean(isCollided);
+        snapshot.putInt(framesActive);
+    }
+
+    /**
+     * Puts Collectable back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    @Override
+    public void restoreState(GameSnapshot snapshot) {
+        super.restoreState(snapshot);
+        this.isCollided = snapshot.getBoolean();
+        this.framesActive = snapshot.getInt();
+    }
 }
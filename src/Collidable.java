@@ -16,4 +16,11 @@ public interface Collidable {
      * @return true if `this` is collided with `e`, false otherwise
      */
     boolean isCollided(Entity e);
+
+    /**
+     * Abstract method that gets the collision layer of `this` entity
+     *
+     * @return Layer id from CollisionLayer
+     */
+    int getLayer();
 }
@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * This class contains the generic collision logic for entity interactions in the game
@@ -6,6 +7,86 @@ import java.util.ArrayList;
  * @author Kevin Tran
  */
 public class CollisionEvent {
+    /**
+     * Side length of a broad phase grid cell, at least twice the largest common entity radius
+     */
+    private static final int CELL_SIZE = 128;
+    /**
+     * Spatial hash reused between frames for the broad phase
+     */
+    private static final SpatialHash GRID = new SpatialHash(CELL_SIZE);
+    /**
+     * Boolean value indicating if the brute-force broad phase is used instead of the spatial hash
+     */
+    private static boolean bruteForce = false;
+    /**
+     * Bitmask per collision layer of the layers it interacts with
+     */
+    private static final int[] LAYER_MASKS = new int[CollisionLayer.COUNT];
+    /**
+     * Dispatch table mapping a (layerA, layerB) pair to its handler for contacts that just began
+     */
+    private static final CollisionHandler[][] ENTER_HANDLERS =
+            new CollisionHandler[CollisionLayer.COUNT][CollisionLayer.COUNT];
+    /**
+     * Dispatch table mapping a (layerA, layerB) pair to its handler for ongoing contacts
+     */
+    private static final CollisionHandler[][] STAY_HANDLERS =
+            new CollisionHandler[CollisionLayer.COUNT][CollisionLayer.COUNT];
+    /**
+     * Dispatch table mapping a (layerA, layerB) pair to its handler for contacts that just ended
+     */
+    private static final CollisionHandler[][] EXIT_HANDLERS =
+            new CollisionHandler[CollisionLayer.COUNT][CollisionLayer.COUNT];
+    /**
+     * Minimum frames between stay callbacks for each pair of layers, 0 if the pair has none
+     */
+    private static final int[][] STAY_INTERVALS = new int[CollisionLayer.COUNT][CollisionLayer.COUNT];
+    /**
+     * Contacts that were overlapping as of the last collision check
+     */
+    private static final ContactCache CONTACTS = new ContactCache();
+    /**
+     * Number of pairs on interacting layers tested, and found touching, in the current frame
+     */
+    private static int pairsTested, pairsHit;
+    /**
+     * Distribution of pairs tested per frame, exposed over JMX
+     */
+    private static final Histogram PAIRS_TESTED = Metrics.histogram("collision.pairsTested");
+    /**
+     * Distribution of pairs touching per frame, exposed over JMX
+     */
+    private static final Histogram PAIRS_HIT = Metrics.histogram("collision.pairsHit");
+    /**
+     * Handler passed to the contact sweep that dispatches ended contacts to the exit table
+     */
+    private static final CollisionHandler EXIT_DISPATCH =
+            (e1, e2) -> dispatch(EXIT_HANDLERS, e1, e2, e1.getLayer(), e2.getLayer());
+
+    static {
+        // the Driver can walk into its get-in radius while already touching the taxi, so check every frame
+        register(CollisionLayer.DRIVER, CollisionLayer.TAXI,
+                (e1, e2) -> handleDriverEnterTaxi((Driver) e1, (Taxi) e2), 1);
+        register(CollisionLayer.TAXI, CollisionLayer.CAR,
+                (e1, e2) -> handleTaxiCrash((Taxi) e1, (Car) e2), Collidable.TIMEOUT_FRAMES);
+        register(CollisionLayer.DRIVER, CollisionLayer.CAR,
+                (e1, e2) -> handleDriverCrash((Driver) e1, (Car) e2), Collidable.TIMEOUT_FRAMES);
+        register(CollisionLayer.CAR, CollisionLayer.CAR,
+                (e1, e2) -> handleCarCrash((Car) e1, (Car) e2), Collidable.TIMEOUT_FRAMES);
+
+        CollisionHandler fireballHit = (e1, e2) -> handleFireballHit((Fireball) e1, (Damageable) e2);
+        register(CollisionLayer.FIREBALL, CollisionLayer.TAXI, fireballHit, 0);
+        register(CollisionLayer.FIREBALL, CollisionLayer.DRIVER, fireballHit, 0);
+        register(CollisionLayer.FIREBALL, CollisionLayer.PASSENGER, fireballHit, 0);
+        register(CollisionLayer.FIREBALL, CollisionLayer.CAR, fireballHit, 0);
+
+        CollisionHandler pickup = (e1, e2) -> handleCollectablePickup((Empowerable) e1, (Collectable) e2);
+        register(CollisionLayer.TAXI, CollisionLayer.COIN, pickup, 0);
+        register(CollisionLayer.TAXI, CollisionLayer.STAR, pickup, 0);
+        register(CollisionLayer.DRIVER, CollisionLayer.COIN, pickup, 0);
+        register(CollisionLayer.DRIVER, CollisionLayer.STAR, pickup, 0);
+    }
 
     /**
      * Calculates Euclidean distance between 2 entities
@@ -33,73 +114,240 @@ public class CollisionEvent {
     }
 
     /**
-     * Checks if entities are collided based on Euclidean distance or equal coordinates
+     * Checks if entities are collided based on Euclidean distance or equal coordinates.
+     * Compares squared distances to avoid the cost of Math.hypot in the narrow phase.
      *
      * @param e1 First entity
      * @param e2 Second Entity
      * @return true if Euclidean distance is less than sum of radii, or coordinate are equal
      */
     private static boolean isCollided(Entity e1, Entity e2) {
-        return calcEuclid(e1, e2) < e1.getRad() + e2.getRad() || coordinatesEqual(e1, e2);
+        double xDist = e1.getX() - e2.getX();
+        double yDist = e1.getY() - e2.getY();
+        double radii = e1.getRad() + e2.getRad();
+        return xDist * xDist + yDist * yDist < radii * radii || coordinatesEqual(e1, e2);
     }
 
     /**
-     * Iterates over all game entities and checks for collision events
+     * Finds all colliding pairs of game entities and handles their collision events.
+     * Candidate pairs come from the spatial hash (or every pair in brute-force mode),
+     * and each unordered pair is narrow-phase tested once. Enter handlers fire on the first frame of a
+     * contact, stay handlers at their table's rate while it lasts, and exit handlers once it ends.
      *
      * @param entities Game entities ArrayList
      */
     public static void checkCollisions(ArrayList<Entity> entities) {
-        for (int i = 0; i < entities.size(); i++) {
-            Entity e1 = entities.get(i);
-            for (int j = 0; j < entities.size(); j++) {
-                Entity e2 = entities.get(j);
-                // First check if Driver is in Taxi
-                if (e1 instanceof Driver driver && e2 instanceof Taxi taxi) {
-                    if (calcEuclid(driver, taxi) < driver.getDetectRad()) {
-                        handleDriverEnterTaxi(driver, taxi);
+        pairsTested = 0;
+        pairsHit = 0;
+        CONTACTS.beginFrame();
+        if (bruteForce) {
+            for (int i = 0; i < entities.size(); i++) {
+                for (int j = i + 1; j < entities.size(); j++) {
+                    handlePair(entities.get(i), entities.get(j));
+                }
+            }
+        } else {
+            GRID.rebuild(entities);
+            int pairCount = GRID.findPairs();
+            for (int k = 0; k < pairCount; k++) {
+                handlePair(entities.get(GRID.getPairA(k)), entities.get(GRID.getPairB(k)));
+            }
+        }
+        CONTACTS.sweep(EXIT_DISPATCH);
+        PAIRS_TESTED.record(pairsTested);
+        PAIRS_HIT.record(pairsHit);
+    }
+
+    /**
+     * Finds the index pairs of all colliding entities, without handling their collisions.
+     * Used by CollisionVerifier to compare the spatial hash against the brute-force oracle.
+     *
+     * @param entities   Game entities ArrayList
+     * @param bruteForce true to test every pair, false to use the spatial hash
+     * @return Sorted array of pairs, each packed as (lower index << 32 | higher index)
+     */
+    public static long[] findCollidingPairs(ArrayList<Entity> entities, boolean bruteForce) {
+        long[] found = new long[16];
+        int count = 0;
+        if (bruteForce) {
+            for (int i = 0; i < entities.size(); i++) {
+                for (int j = i + 1; j < entities.size(); j++) {
+                    if (isCollided(entities.get(i), entities.get(j))) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count << 1);
+                        }
+                        found[count++] = ((long) i << 32) | j;
                     }
                 }
-                if (e1 != e2 && isCollided(e1, e2)) {
-                    handleCollision(e1, e2);
+            }
+        } else {
+            GRID.rebuild(entities);
+            int pairCount = GRID.findPairs();
+            for (int k = 0; k < pairCount; k++) {
+                int i = GRID.getPairA(k), j = GRID.getPairB(k);
+                if (isCollided(entities.get(i), entities.get(j))) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count << 1);
+                    }
+                    found[count++] = ((long) i << 32) | j;
                 }
             }
         }
+        found = Arrays.copyOf(found, count);
+        Arrays.sort(found);
+        return found;
+    }
+
+    /**
+     * Writes the contacts between entities, which decide when enter and stay handlers next run
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public static void saveContacts(GameSnapshot snapshot) {
+        CONTACTS.saveState(snapshot);
+    }
+
+    /**
+     * Puts the contacts between entities back as written by saveContacts
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public static void restoreContacts(GameSnapshot snapshot) {
+        CONTACTS.restoreState(snapshot);
+    }
+
+    /**
+     * Sets the broad phase used by checkCollisions
+     *
+     * @param bruteForce true to test every pair of entities, false to use the spatial hash
+     */
+    public static void setBruteForce(boolean bruteForce) {
+        CollisionEvent.bruteForce = bruteForce;
+    }
+
+    /**
+     * Adds a handler to the enter and stay dispatch tables and marks the two layers as interacting
+     *
+     * @param layer1       Layer of the first entity passed to the handler
+     * @param layer2       Layer of the second entity passed to the handler
+     * @param handler      Handler to call when entities on these layers begin to collide
+     * @param stayInterval Frames between repeat calls while the contact lasts, or 0 to only call on enter
+     */
+    private static void register(int layer1, int layer2, CollisionHandler handler, int stayInterval) {
+        ENTER_HANDLERS[layer1][layer2] = handler;
+        if (stayInterval > 0) {
+            STAY_HANDLERS[layer1][layer2] = handler;
+            STAY_INTERVALS[layer1][layer2] = stayInterval;
+            STAY_INTERVALS[layer2][layer1] = stayInterval;
+        }
+        LAYER_MASKS[layer1] |= 1 << layer2;
+        LAYER_MASKS[layer2] |= 1 << layer1;
     }
 
     /**
-     * This method contains the different collision cases that may occur between 2 collided entities
+     * Adds a handler to the exit dispatch table for two layers that already interact
+     *
+     * @param layer1  Layer of the first entity passed to the handler
+     * @param layer2  Layer of the second entity passed to the handler
+     * @param handler Handler to call when entities on these layers stop colliding
+     */
+    public static void registerExit(int layer1, int layer2, CollisionHandler handler) {
+        EXIT_HANDLERS[layer1][layer2] = handler;
+    }
+
+    /**
+     * Checks the collision matrix to see if entities on two layers can ever interact
+     *
+     * @param layer1 Layer of first entity
+     * @param layer2 Layer of second entity
+     * @return true if any handler is registered between the layers, false otherwise
+     */
+    public static boolean canInteract(int layer1, int layer2) {
+        return (LAYER_MASKS[layer1] & (1 << layer2)) != 0;
+    }
+
+    /**
+     * Updates the contact of one unordered pair and dispatches its enter or stay handlers.
+     * Pairs on layers that never interact are rejected before any distance math, and an ongoing contact
+     * whose entities have not moved since last frame skips the narrow phase.
      *
      * @param e1 First entity
      * @param e2 Second entity
      */
-    private static void handleCollision(Entity e1, Entity e2) {
-        if (e1 instanceof Taxi taxi) {
-            if (e2 instanceof Car car) {
-                handleTaxiCrash(taxi, car);
-            }
+    private static void handlePair(Entity e1, Entity e2) {
+        int layer1 = e1.getLayer(), layer2 = e2.getLayer();
+        if (!canInteract(layer1, layer2)) {
+            return;
         }
 
-        if (e1 instanceof Fireball fireball) {
-            if (e2 instanceof Damageable damageable) {
-                handleFireballHit(fireball, damageable);
+        pairsTested++;
+        long key = ContactCache.pairKey(e1, e2);
+        int contact = CONTACTS.find(key);
+        if (contact == ContactCache.NONE) {
+            if (isCollided(e1, e2)) {
+                pairsHit++;
+                CONTACTS.add(key, e1, e2);
+                dispatch(ENTER_HANDLERS, e1, e2, layer1, layer2);
+            }
+        } else if (CONTACTS.isUnmoved(contact, e1, e2) || isCollided(e1, e2)) {
+            pairsHit++;
+            CONTACTS.touch(contact);
+            if (CONTACTS.consumeStay(contact, STAY_INTERVALS[layer1][layer2])) {
+                dispatch(STAY_HANDLERS, e1, e2, layer1, layer2);
             }
         }
+    }
 
-        if (e1 instanceof Car c1 && e2 instanceof Car c2) {
-            handleCarCrash(c1, c2);
+    /**
+     * Calls the handlers a table holds for a pair in both directions.
+     * Pairs on the same layer are dispatched once, as their handlers act on both entities.
+     * Emits a CollisionPairEvent when flight recording of it is enabled.
+     *
+     * @param handlers Dispatch table to use
+     * @param e1       First entity
+     * @param e2       Second entity
+     * @param layer1   Layer of first entity
+     * @param layer2   Layer of second entity
+     */
+    private static void dispatch(CollisionHandler[][] handlers, Entity e1, Entity e2, int layer1, int layer2) {
+        CollisionHandler forward = handlers[layer1][layer2];
+        CollisionHandler reverse = layer1 != layer2 ? handlers[layer2][layer1] : null;
+        if (forward == null && reverse == null) {
+            return;
         }
 
-        if (e1 instanceof Empowerable empowerable && e2 instanceof Collectable collectable) {
-            handleCollectablePickup(empowerable, collectable);
+        CollisionPairEvent event = new CollisionPairEvent();
+        int healthBefore = 0;
+        if (event.isEnabled()) {
+            event.begin();
+            healthBefore = healthOf(e1) + healthOf(e2);
         }
-
-        if (e1 instanceof Driver driver) {
-            if (e2 instanceof Car car) {
-                handleDriverCrash(driver, car);
-            }
+        if (forward != null) {
+            forward.handle(e1, e2);
+        }
+        if (reverse != null) {
+            reverse.handle(e2, e1);
+        }
+        if (event.isEnabled()) {
+            event.end();
+            event.firstLayer = CollisionLayer.name(layer1);
+            event.secondLayer = CollisionLayer.name(layer2);
+            event.handler = handlers == ENTER_HANDLERS ? "enter" : handlers == STAY_HANDLERS ? "stay" : "exit";
+            event.damage = healthBefore - healthOf(e1) - healthOf(e2);
+            event.commit();
         }
     }
 
+    /**
+     * Gets health of an entity that can take damage
+     *
+     * @param e Entity
+     * @return Health of entity, 0 if it cannot take damage
+     */
+    private static int healthOf(Entity e) {
+        return e instanceof Damageable d ? d.getHealth() : 0;
+    }
+
     /**
      * Handles car-car collisions
      *
@@ -112,14 +360,17 @@ public class CollisionEvent {
     }
 
     /**
-     * Handles driver-taxi interaction
+     * Handles driver-taxi interaction. The Driver gets in once it is within its get-in radius of the taxi,
+     * which is smaller than their combined collision radii, so the pair has always passed the narrow phase.
      *
      * @param d Driver
      * @param t Current taxi
      */
     private static void handleDriverEnterTaxi(Driver d, Taxi t) {
-        d.setOutOfTaxi(false);
-        t.setHasDriver(true);
+        if (calcEuclid(d, t) < d.getDetectRad()) {
+            d.setOutOfTaxi(false);
+            t.setHasDriver(true);
+        }
     }
 
     /**
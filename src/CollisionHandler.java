@@ -0,0 +1,15 @@
+/**
+ * Interface for a handler in the collision dispatch table of CollisionEvent
+ *
+ * @author Kevin Tran
+ */
+@FunctionalInterface
+public interface CollisionHandler {
+    /**
+     * Handles a collision between two entities on the layers the handler is registered for
+     *
+     * @param e1 Entity on the first layer of the table entry
+     * @param e2 Entity on the second layer of the table entry
+     */
+    void handle(Entity e1, Entity e2);
+}
@@ -0,0 +1,64 @@
+/**
+ * This class holds the collision layer ids of every Entity type.
+ * Layer ids index into the collision matrix and handler table of CollisionEvent.
+ *
+ * @author Kevin Tran
+ */
+public final class CollisionLayer {
+    /**
+     * Layer of the Taxi
+     */
+    public static final int TAXI = 0;
+    /**
+     * Layer of the Driver
+     */
+    public static final int DRIVER = 1;
+    /**
+     * Layer of Passengers
+     */
+    public static final int PASSENGER = 2;
+    /**
+     * Layer of passive and enemy cars
+     */
+    public static final int CAR = 3;
+    /**
+     * Layer of fireballs shot by enemy cars
+     */
+    public static final int FIREBALL = 4;
+    /**
+     * Layer of coin power-ups
+     */
+    public static final int COIN = 5;
+    /**
+     * Layer of invincibility power-ups
+     */
+    public static final int STAR = 6;
+    /**
+     * Layer of trip end flags
+     */
+    public static final int FLAG = 7;
+    /**
+     * Total number of collision layers
+     */
+    public static final int COUNT = 8;
+    /**
+     * Names of layers, indexed by layer id
+     */
+    private static final String[] NAMES = {"taxi", "driver", "passenger", "car", "fireball", "coin", "star", "flag"};
+
+    /**
+     * Private constructor as this class only holds constants
+     */
+    private CollisionLayer() {
+    }
+
+    /**
+     * Gets name of a layer
+     *
+     * @param layer Layer id
+     * @return String name of layer
+     */
+    public static String name(int layer) {
+        return NAMES[layer];
+    }
+}
@@ -0,0 +1,41 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a collision handler being run on a pair of entities. Named apart from the
+ * CollisionEvent class that emits it.
+ *
+ * @author Kevin Tran
+ */
+@Name("shadowtaxi.Collision")
+@Label("Collision")
+@Category("Shadow Taxi")
+@Description("Collision handlers run on a pair of entities, with the health they lost")
+@Enabled(false)
+@StackTrace(false)
+public class CollisionPairEvent extends jdk.jfr.Event {
+    /**
+     * Collision layer of first entity
+     */
+    @Label("First Layer")
+    public String firstLayer;
+    /**
+     * Collision layer of second entity
+     */
+    @Label("Second Layer")
+    public String secondLayer;
+    /**
+     * Handler table that was dispatched: enter, stay or exit
+     */
+    @Label("Handler")
+    public String handler;
+    /**
+     * Total health lost by both entities
+     */
+    @Label("Damage")
+    public int damage;
+}
@@ -0,0 +1,171 @@
+import java.util.ArrayList;
+
+/**
+ * Checks the spatial hash broad phase against the brute-force oracle. Seeded random worlds of cars, passengers,
+ * coins and stars are built, the colliding pairs of each are found both ways with
+ * CollisionEvent.findCollidingPairs, and any pair found by only one of them is reported.
+ * <p>
+ * Usage: CollisionVerifier [--config app.properties] [--messages message_en.properties] [--seed N]
+ * [--worlds N] [--min entities] [--max entities]
+ * <p>
+ * World sizes are spread evenly on a log scale from --min (default 10) to --max (default 100000). Each world
+ * scatters its entities over a road whose length gives a random density, reaching above the top of the window,
+ * and stacks some entities on the exact position of another. The brute-force oracle tests every pair, so the
+ * largest worlds take a while to check.
+ *
+ * @author Kevin Tran
+ */
+public class CollisionVerifier {
+    /**
+     * Fewest and most entities in one window height of a world
+     */
+    private static final int MIN_DENSITY = 4, MAX_DENSITY = 64;
+    /**
+     * One in this many entities is placed exactly on the entity before it
+     */
+    private static final int STACK_EVERY = 16;
+
+    /**
+     * Private constructor as this class only holds static methods
+     */
+    private CollisionVerifier() {
+    }
+
+    /**
+     * Builds a random world of entities
+     *
+     * @param config    Game configuration
+     * @param positions Stream the positions and density of the world are drawn from
+     * @param random    Random number service of the passive cars
+     * @param count     Number of entities
+     * @return ArrayList of the entities of the world
+     */
+    private static ArrayList<Entity> buildWorld(GameConfig config, RandomStream positions, GameRandom random,
+                                                int count) {
+        int width = config.display().width();
+        int density = positions.nextInt(MIN_DENSITY, MAX_DENSITY + 1);
+        int height = config.display().height() * Math.max(1, count / density);
+        ArrayList<Entity> entities = new ArrayList<>(count);
+        int x = 0, y = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || positions.nextInt(STACK_EVERY) != 0) {
+                x = positions.nextInt(width);
+                y = positions.nextInt(-config.display().height(), height);
+            }
+            switch (i % 4) {
+                case 0 -> entities.add(new PassiveCar(config, x, y, random));
+                case 1 -> entities.add(new Passenger(config, x, y, 1, x, 100, 0));
+                case 2 -> entities.add(new Coin(config, x, y));
+                default -> entities.add(new Star(config, x, y));
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Compares the colliding pairs found by the spatial hash and by the brute-force oracle
+     *
+     * @param entities Entities of the world
+     * @return String describing the first pair found by only one broad phase, or null if they agree
+     */
+    public static String verify(ArrayList<Entity> entities) {
+        long[] grid = CollisionEvent.findCollidingPairs(entities, false);
+        long[] bruteForce = CollisionEvent.findCollidingPairs(entities, true);
+        int g = 0, b = 0;
+        while (g < grid.length || b < bruteForce.length) {
+            if (b == bruteForce.length || (g < grid.length && grid[g] < bruteForce[b])) {
+                return "pair " + describe(grid[g]) + " found only by the spatial hash";
+            }
+            if (g == grid.length || bruteForce[b] < grid[g]) {
+                return "pair " + describe(bruteForce[b]) + " found only by brute force";
+            }
+            g++;
+            b++;
+        }
+        return null;
+    }
+
+    /**
+     * Describes a pair packed by CollisionEvent.findCollidingPairs
+     *
+     * @param pair Pair packed as (lower index << 32 | higher index)
+     * @return String of the two entity indices
+     */
+    private static String describe(long pair) {
+        return "(" + (pair >>> 32) + ", " + (int) pair + ")";
+    }
+
+    /**
+     * Gets the value given after an option, exiting if the option is the last argument
+     *
+     * @param args   Command line options
+     * @param option Index of the option in args
+     * @return String value of the option
+     */
+    private static String optionValue(String[] args, int option) {
+        if (option + 1 == args.length) {
+            System.err.println("Missing value for " + args[option]);
+            System.exit(-1);
+        }
+        return args[option + 1];
+    }
+
+    /**
+     * Main function of the collision verifier
+     *
+     * @param args Command line options, see class documentation
+     */
+    public static void main(String[] args) {
+        String configFile = "res/app.properties", messageFile = "res/message_en.properties";
+        long seed = 1;
+        int worlds = 5, min = 10, max = 100_000;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--config" -> configFile = optionValue(args, i++);
+                    case "--messages" -> messageFile = optionValue(args, i++);
+                    case "--seed" -> seed = Long.parseLong(optionValue(args, i++));
+                    case "--worlds" -> worlds = Integer.parseInt(optionValue(args, i++));
+                    case "--min" -> min = Integer.parseInt(optionValue(args, i++));
+                    case "--max" -> max = Integer.parseInt(optionValue(args, i++));
+                    default -> {
+                        System.err.println("Unknown option " + args[i]);
+                        System.exit(-1);
+                    }
+                }
+            }
+        } catch (NumberFormatException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(-1);
+        }
+        if (worlds < 1 || min < 1 || max < min) {
+            System.err.println("Need at least one world and 1 <= --min <= --max");
+            System.exit(-1);
+        }
+
+        GameConfig config;
+        try {
+            config = GameConfig.load(configFile, messageFile);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(-1);
+            return;
+        }
+        AssetCache.setHeadless(true);
+        RandomStream positions = new RandomStream(seed);
+        GameRandom random = new GameRandom(seed);
+        for (int world = 0; world < worlds; world++) {
+            double step = worlds == 1 ? 0 : (double) world / (worlds - 1);
+            int count = (int) Math.round(min * Math.pow((double) max / min, step));
+            ArrayList<Entity> entities = buildWorld(config, positions, random, count);
+            String difference = verify(entities);
+            if (difference != null) {
+                System.err.println("Broad phases differ on world " + world + " of seed " + seed + " with " + count
+                        + " entities: " + difference);
+                System.exit(1);
+            }
+            System.out.println("World " + world + ": both broad phases agree on " + count + " entities");
+        }
+        System.out.println("Verified the spatial hash against brute force on " + worlds + " worlds of seed " + seed);
+    }
+}
@@ -0,0 +1,337 @@
+import java.util.Arrays;
+
+/**
+ * Cache of the entity pairs that are currently in contact, keyed by the pair's entity ids.
+ * Each frame the collision pass looks up every overlapping pair to find out whether the contact is new
+ * or ongoing, and the sweep at the end of the frame reports contacts that were not seen again as ended.
+ * Contacts are stored in dense parallel arrays with an open-addressing index that is rebuilt by each sweep,
+ * so the cache does not allocate once its arrays have grown.
+ *
+ * @author Kevin Tran
+ */
+public class ContactCache {
+    /**
+     * Marker for an empty index slot or a missing contact
+     */
+    public static final int NONE = -1;
+    /**
+     * Pair key of each contact
+     */
+    private long[] keys;
+    /**
+     * Entity with the lower id in each contact
+     */
+    private Entity[] first;
+    /**
+     * Entity with the higher id in each contact
+     */
+    private Entity[] second;
+    /**
+     * Frame each contact was last seen in
+     */
+    private int[] lastSeen;
+    /**
+     * Frame the stay callback of each contact last fired in (or the frame the contact began)
+     */
+    private int[] lastStay;
+    /**
+     * Positions of both entities when each contact was last confirmed, as (x1, y1, x2, y2)
+     */
+    private int[] positions;
+    /**
+     * Number of live contacts
+     */
+    private int size;
+    /**
+     * Open-addressing index from pair key hash to contact index
+     */
+    private int[] index;
+    /**
+     * Current frame of the cache
+     */
+    private int frame;
+
+    /**
+     * Constructor for an empty contact cache
+     */
+    public ContactCache() {
+        this.keys = new long[32];
+        this.first = new Entity[32];
+        this.second = new Entity[32];
+        this.lastSeen = new int[32];
+        this.lastStay = new int[32];
+        this.positions = new int[4 * 32];
+        this.index = new int[64];
+        Arrays.fill(index, NONE);
+    }
+
+    /**
+     * Builds the key of an entity pair, independent of the order the entities are given in
+     *
+     * @param e1 First entity
+     * @param e2 Second entity
+     * @return Pair key with the lower id in the upper 32 bits
+     */
+    public static long pairKey(Entity e1, Entity e2) {
+        int lo = Math.min(e1.getId(), e2.getId()), hi = Math.max(e1.getId(), e2.getId());
+        return ((long) lo << 32) | (hi & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Starts a new frame of contact tracking
+     *
+     * @return The new frame number
+     */
+    public int beginFrame() {
+        return ++frame;
+    }
+
+    /**
+     * Gets the current frame of the cache
+     *
+     * @return int value of current frame
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Finds a contact by its pair key
+     *
+     * @param key Pair key from pairKey
+     * @return Index of the contact, or NONE if the pair is not in contact
+     */
+    public int find(long key) {
+        int mask = index.length - 1;
+        for (int slot = hash(key) & mask; index[slot] != NONE; slot = (slot + 1) & mask) {
+            if (keys[index[slot]] == key) {
+                return index[slot];
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Checks if neither entity of a contact has moved since the contact was last confirmed,
+     * in which case the pair is still overlapping and the narrow phase can be skipped
+     *
+     * @param contact Index of contact
+     * @param e1      First entity of pair
+     * @param e2      Second entity of pair
+     * @return true if both entities are where they were last frame, false otherwise
+     */
+    public boolean isUnmoved(int contact, Entity e1, Entity e2) {
+        Entity lo = first[contact] == e1 ? e1 : e2;
+        Entity hi = lo == e1 ? e2 : e1;
+        int p = 4 * contact;
+        return positions[p] == lo.getX() && positions[p + 1] == lo.getY()
+                && positions[p + 2] == hi.getX() && positions[p + 3] == hi.getY();
+    }
+
+    /**
+     * Adds a new contact for a pair that began overlapping this frame
+     *
+     * @param key Pair key from pairKey
+     * @param e1  First entity of pair
+     * @param e2  Second entity of pair
+     * @return Index of the new contact
+     */
+    public int add(long key, Entity e1, Entity e2) {
+        if (size == keys.length) {
+            grow();
+        }
+        if (2 * (size + 1) > index.length) {
+            index = new int[index.length << 1];
+            reindex();
+        }
+        int contact = size++;
+        keys[contact] = key;
+        first[contact] = e1.getId() < e2.getId() ? e1 : e2;
+        second[contact] = first[contact] == e1 ? e2 : e1;
+        lastStay[contact] = frame;
+        insert(contact);
+        touch(contact);
+        return contact;
+    }
+
+    /**
+     * Marks a contact as seen in the current frame and records where both entities are
+     *
+     * @param contact Index of contact
+     */
+    public void touch(int contact) {
+        lastSeen[contact] = frame;
+        int p = 4 * contact;
+        positions[p] = first[contact].getX();
+        positions[p + 1] = first[contact].getY();
+        positions[p + 2] = second[contact].getX();
+        positions[p + 3] = second[contact].getY();
+    }
+
+    /**
+     * Checks if a stay callback is due for a contact, and if so marks it as fired
+     *
+     * @param contact  Index of contact
+     * @param interval Minimum frames between stay callbacks, or 0 for no stay callbacks
+     * @return true if the stay callback should fire this frame, false otherwise
+     */
+    public boolean consumeStay(int contact, int interval) {
+        if (interval <= 0 || frame - lastStay[contact] < interval) {
+            return false;
+        }
+        lastStay[contact] = frame;
+        return true;
+    }
+
+    /**
+     * Removes every contact that was not seen this frame, reporting each to the exit handler as ended
+     *
+     * @param exitHandler Handler to notify of ended contacts, may be null
+     * @return Number of contacts that ended
+     */
+    public int sweep(CollisionHandler exitHandler) {
+        int kept = 0;
+        for (int contact = 0; contact < size; contact++) {
+            if (lastSeen[contact] != frame) {
+                if (exitHandler != null) {
+                    exitHandler.handle(first[contact], second[contact]);
+                }
+                continue;
+            }
+            if (kept != contact) {
+                keys[kept] = keys[contact];
+                first[kept] = first[contact];
+                second[kept] = second[contact];
+                lastSeen[kept] = lastSeen[contact];
+                lastStay[kept] = lastStay[contact];
+                System.arraycopy(positions, 4 * contact, positions, 4 * kept, 4);
+            }
+            kept++;
+        }
+        int ended = size - kept;
+        // drop references to ended contacts so their entities can be collected
+        Arrays.fill(first, kept, size, null);
+        Arrays.fill(second, kept, size, null);
+        size = kept;
+        if (ended > 0) {
+            reindex();
+        }
+        return ended;
+    }
+
+    /**
+     * Removes all contacts without reporting them
+     */
+    public void clear() {
+        Arrays.fill(first, 0, size, null);
+        Arrays.fill(second, 0, size, null);
+        size = 0;
+        Arrays.fill(index, NONE);
+    }
+
+    /**
+     * Gets the number of live contacts
+     *
+     * @return int value of live contact count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Mixes a pair key into an index slot
+     *
+     * @param key Pair key
+     * @return Hash of key
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Adds a contact to the index
+     *
+     * @param contact Index of contact
+     */
+    private void insert(int contact) {
+        int mask = index.length - 1;
+        int slot = hash(keys[contact]) & mask;
+        while (index[slot] != NONE) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = contact;
+    }
+
+    /**
+     * Rebuilds the index from the dense contact arrays
+     */
+    private void reindex() {
+        Arrays.fill(index, NONE);
+        for (int contact = 0; contact < size; contact++) {
+            insert(contact);
+        }
+    }
+
+    /**
+     * Writes every contact, with its timers and the positions it was last seen at
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        snapshot.putInt(frame);
+        snapshot.putInt(size);
+        for (int contact = 0; contact < size; contact++) {
+            snapshot.putLong(keys[contact]);
+            snapshot.putEntity(first[contact]);
+            snapshot.putEntity(second[contact]);
+            snapshot.putInt(lastSeen[contact]);
+            snapshot.putInt(lastStay[contact]);
+            for (int p = 4 * contact; p < 4 * contact + 4; p++) {
+                snapshot.putInt(positions[p]);
+            }
+        }
+    }
+
+    /**
+     * Replaces every contact with those written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        clear();
+        this.frame = snapshot.getInt();
+        int count = snapshot.getInt();
+        while (count > keys.length) {
+            grow();
+        }
+        while (2 * count > index.length) {
+            index = new int[index.length << 1];
+        }
+        for (int contact = 0; contact < count; contact++) {
+            keys[contact] = snapshot.getLong();
+            first[contact] = snapshot.getEntity();
+            second[contact] = snapshot.getEntity();
+            lastSeen[contact] = snapshot.getInt();
+            lastStay[contact] = snapshot.getInt();
+            for (int p = 4 * contact; p < 4 * contact + 4; p++) {
+                positions[p] = snapshot.getInt();
+            }
+        }
+        this.size = count;
+        reindex();
+    }
+
+    /**
+     * Doubles the capacity of the dense contact arrays
+     */
+    private void grow() {
+        int capacity = keys.length << 1;
+        keys = Arrays.copyOf(keys, capacity);
+        first = Arrays.copyOf(first, capacity);
+        second = Arrays.copyOf(second, capacity);
+        lastSeen = Arrays.copyOf(lastSeen, capacity);
+        lastStay = Arrays.copyOf(lastStay, capacity);
+        positions = Arrays.copyOf(positions, 4 * capacity);
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Metric that counts events. Only the game thread adds to it, so adding needs no atomic operation.
+ *
+ * @author Kevin Tran
+ */
+public class Counter implements CounterMBean {
+    /**
+     * Total counted so far
+     */
+    private volatile long count;
+
+    /**
+     * Adds one to the counter
+     */
+    public void increment() {
+        count++;
+    }
+
+    /**
+     * Adds a number to the counter
+     *
+     * @param n Number to add
+     */
+    public void add(long n) {
+        count += n;
+    }
+
+    /**
+     * Gets total counted so far
+     *
+     * @return long value of count
+     */
+    @Override
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * Management interface of a Counter, as seen by JMX tools
+ *
+ * @author Kevin Tran
+ */
+public interface CounterMBean {
+    /**
+     * Gets total counted so far
+     *
+     * @return long value of count
+     */
+    long getCount();
+}
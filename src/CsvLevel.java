@@ -0,0 +1,416 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class streams the rows of a game objects CSV file as the game scrolls towards them. It is the fallback
+ * for levels that have not been compiled by LevelCompiler. Opening a level
+ * only scans its bytes once to index where each row starts, grouped by chunks of Y-coordinates, so no String
+ * or Entity is made for a row until the activation window nears its chunk. The next chunk above the window is
+ * read and split on a background thread, so it is usually ready by the time it is needed.
+ * <p>
+ * Taxi and driver rows are read straight away, as the game cannot start without them. Rows of any other type
+ * that the game does not know are skipped.
+ *
+ * @author Kevin Tran
+ */
+public class CsvLevel implements Level {
+    /**
+     * Single background thread shared by every level for prefetching chunks
+     */
+    private static final ExecutorService PREFETCH = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "level-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Size of the buffer used to scan the file
+     */
+    private static final int SCAN_BUFFER = 1 << 16;
+    /**
+     * Object types that are streamed in chunks
+     */
+    private static final byte[][] CHUNKED_TYPES = {bytes("PASSENGER"), bytes("COIN"), bytes("INVINCIBLE_POWER")};
+    /**
+     * Object types that are read when the level is opened
+     */
+    private static final byte[][] PLAYER_TYPES = {bytes("TAXI"), bytes("DRIVER")};
+    /**
+     * Index of the object type and Y-coordinate in a row
+     */
+    private static final int TYPE_FIELD = 0, Y_FIELD = 2;
+    /**
+     * Longest object type name that is matched
+     */
+    private static final int MAX_TYPE_LENGTH = 32;
+    /**
+     * Open file of the level
+     */
+    private final FileChannel FILE;
+    /**
+     * Height in pixels of each chunk
+     */
+    private final int CHUNK_SIZE;
+    /**
+     * Chunks not yet loaded, keyed by chunk number. Chunk n holds the rows with a Y-coordinate from
+     * n * CHUNK_SIZE up to but not including (n + 1) * CHUNK_SIZE.
+     */
+    private final TreeMap<Integer, Chunk> PENDING;
+    /**
+     * Taxi and driver rows of the level
+     */
+    private final ArrayList<Row> PLAYERS;
+    /**
+     * Weather of the level
+     */
+    private final ArrayList<Weather> WEATHER;
+    /**
+     * Number of passenger rows in the level
+     */
+    private int passengerCount;
+    /**
+     * Number of the chunk being prefetched, or null if none is
+     */
+    private Integer prefetchKey;
+    /**
+     * Rows of the chunk being prefetched
+     */
+    private Future<ArrayList<Row>> prefetch;
+    /**
+     * Number of chunks loaded so far
+     */
+    private int loadedCount;
+
+    /**
+     * Constructor that opens and indexes a level and reads its weather
+     *
+     * @param file        File path to game objects CSV
+     * @param weatherFile File path to weather CSV
+     * @param chunkSize   Height in pixels of each chunk
+     */
+    public CsvLevel(String file, String weatherFile, int chunkSize) {
+        this.CHUNK_SIZE = Math.max(1, chunkSize);
+        this.PENDING = new TreeMap<>();
+        this.PLAYERS = new ArrayList<>();
+        this.WEATHER = new ArrayList<>();
+        for (String[] row : IOUtils.readCommaSeparatedFile(weatherFile)) {
+            WEATHER.add(Weather.parse(row));
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(Path.of(file), StandardOpenOption.READ);
+            Chunk players = index(channel);
+            PLAYERS.addAll(readRows(channel, players));
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+        this.FILE = channel;
+        if (PENDING.isEmpty()) {
+            close();
+        }
+    }
+
+    /**
+     * Encodes an object type name for matching against the bytes of the file
+     *
+     * @param type Object type name
+     * @return byte array of the name
+     */
+    private static byte[] bytes(String type) {
+        return type.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Scans the file once, adding the position of every streamed row to the chunk of its Y-coordinate
+     *
+     * @param channel Open file of the level
+     * @return Chunk holding the positions of the taxi and driver rows
+     * @throws IOException if the file cannot be read
+     */
+    private Chunk index(FileChannel channel) throws IOException {
+        Chunk players = new Chunk();
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER);
+        byte[] type = new byte[MAX_TYPE_LENGTH];
+        long position = 0, lineStart = 0;
+        int line = 1, field = 0, typeLength = 0, y = 0, yDigits = 0;
+        boolean negative = false, validY = true, carriageReturn = false;
+
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer);
+            buffer.flip();
+            boolean end = read < 0;
+            // an extra pass with a newline ends a last line that has none of its own
+            int limit = end ? 1 : buffer.limit();
+            for (int i = 0; i < limit; i++, position++) {
+                byte b = end ? (byte) '\n' : buffer.get(i);
+                if (b == '\n') {
+                    int length = (int) (position - lineStart) - (carriageReturn ? 1 : 0);
+                    if (length > 0) {
+                        if (isType(type, typeLength, PLAYER_TYPES)) {
+                            players.add(lineStart, length);
+                        } else if (isType(type, typeLength, CHUNKED_TYPES)) {
+                            if (!validY || yDigits == 0) {
+                                throw new NumberFormatException("Malformed Y-coordinate on line " + line);
+                            }
+                            if (type[0] == 'P') {
+                                passengerCount++;
+                            }
+                            int key = Math.floorDiv(negative ? -y : y, CHUNK_SIZE);
+                            PENDING.computeIfAbsent(key, k -> new Chunk()).add(lineStart, length);
+                        }
+                    }
+                    lineStart = position + 1;
+                    line++;
+                    field = 0;
+                    typeLength = 0;
+                    y = 0;
+                    yDigits = 0;
+                    negative = false;
+                    validY = true;
+                    carriageReturn = false;
+                    continue;
+                }
+
+                carriageReturn = b == '\r';
+                if (b == ',') {
+                    field++;
+                } else if (field == TYPE_FIELD) {
+                    if (typeLength < MAX_TYPE_LENGTH) {
+                        type[typeLength] = b;
+                    }
+                    typeLength++;
+                } else if (field == Y_FIELD && !carriageReturn) {
+                    if (b == '-' && yDigits == 0 && !negative) {
+                        negative = true;
+                    } else if (b >= '0' && b <= '9') {
+                        y = y * 10 + (b - '0');
+                        yDigits++;
+                    } else {
+                        validY = false;
+                    }
+                }
+            }
+            if (end) {
+                return players;
+            }
+        }
+    }
+
+    /**
+     * Checks if the type field of a row is one of a set of object types
+     *
+     * @param type   Bytes of the type field
+     * @param length Length of the type field
+     * @param types  Object types to match
+     * @return true if the type field matches one of the types, false otherwise
+     */
+    private static boolean isType(byte[] type, int length, byte[][] types) {
+        for (byte[] candidate : types) {
+            if (candidate.length == length && Arrays.equals(type, 0, length, candidate, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads and splits the rows of a chunk, in the order they appear in the file. Safe to call from any
+     * thread, as it only uses positional reads.
+     *
+     * @param channel Open file of the level
+     * @param chunk   Chunk to read
+     * @return ArrayList of Row, one for each row
+     * @throws IOException if the file cannot be read
+     */
+    private static ArrayList<Row> readRows(FileChannel channel, Chunk chunk) throws IOException {
+        ArrayList<Row> rows = new ArrayList<>(chunk.size);
+        ByteBuffer buffer = ByteBuffer.allocate(0);
+        for (int i = 0; i < chunk.size; i++) {
+            int length = chunk.lengths[i];
+            if (buffer.capacity() < length) {
+                buffer = ByteBuffer.allocate(Integer.highestOneBit(length) << 1);
+            }
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, chunk.offsets[i] + buffer.position()) < 0) {
+                    throw new IOException("Level file changed while it was being read");
+                }
+            }
+            rows.add(Row.parse(new String(buffer.array(), 0, length, StandardCharsets.UTF_8).split(",")));
+        }
+        return rows;
+    }
+
+    /**
+     * Gets the taxi and driver rows of the level
+     *
+     * @return ArrayList of Row, in file order
+     */
+    @Override
+    public ArrayList<Row> getPlayers() {
+        return PLAYERS;
+    }
+
+    /**
+     * Gets the number of passenger rows in the level, including those not loaded yet
+     *
+     * @return int value of passenger count
+     */
+    @Override
+    public int getPassengerCount() {
+        return passengerCount;
+    }
+
+    /**
+     * Gets the weather of the level
+     *
+     * @return ArrayList of Weather, in file order
+     */
+    @Override
+    public ArrayList<Weather> getWeather() {
+        return WEATHER;
+    }
+
+    /**
+     * Loads every pending chunk that overlaps a span of Y-coordinates, nearest the bottom of the screen first,
+     * then starts prefetching the next pending chunk above the span
+     *
+     * @param minY Smallest Y-coordinate of the span, in world coordinates
+     * @param maxY Largest Y-coordinate of the span, in world coordinates
+     * @return ArrayList of the rows loaded, empty if no chunk was due
+     */
+    @Override
+    public ArrayList<Row> load(int minY, int maxY) {
+        ArrayList<Row> rows = new ArrayList<>();
+        if (PENDING.isEmpty()) {
+            return rows;
+        }
+        NavigableMap<Integer, Chunk> due = PENDING.subMap(Math.floorDiv(minY, CHUNK_SIZE), true,
+                Math.floorDiv(maxY, CHUNK_SIZE), true).descendingMap();
+        try {
+            while (!due.isEmpty()) {
+                Map.Entry<Integer, Chunk> entry = due.pollFirstEntry();
+                if (entry.getKey().equals(prefetchKey)) {
+                    rows.addAll(prefetch.get());
+                    prefetchKey = null;
+                    prefetch = null;
+                } else {
+                    rows.addAll(readRows(FILE, entry.getValue()));
+                }
+                loadedCount++;
+            }
+        } catch (IOException | ExecutionException | InterruptedException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+
+        Integer next = PENDING.lowerKey(Math.floorDiv(minY, CHUNK_SIZE));
+        if (next != null && prefetchKey == null) {
+            Chunk chunk = PENDING.get(next);
+            prefetchKey = next;
+            prefetch = PREFETCH.submit(() -> readRows(FILE, chunk));
+        }
+        if (PENDING.isEmpty()) {
+            close();
+        }
+        return rows;
+    }
+
+    /**
+     * Gets the height in pixels of each chunk
+     *
+     * @return int value of chunk size
+     */
+    @Override
+    public int getChunkSize() {
+        return CHUNK_SIZE;
+    }
+
+    /**
+     * Gets the number of chunks not loaded yet
+     *
+     * @return int value of pending chunk count
+     */
+    @Override
+    public int getPendingCount() {
+        return PENDING.size();
+    }
+
+    /**
+     * Gets the number of chunks loaded so far
+     *
+     * @return int value of loaded chunk count
+     */
+    public int getLoadedCount() {
+        return loadedCount;
+    }
+
+    /**
+     * Closes the level file. Chunks not loaded yet are dropped.
+     */
+    @Override
+    public void close() {
+        if (prefetch != null) {
+            // never interrupt the prefetch thread, as interrupting a read closes the channel under it
+            prefetch.cancel(false);
+            prefetch = null;
+            prefetchKey = null;
+        }
+        PENDING.clear();
+        try {
+            if (FILE != null) {
+                FILE.close();
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Positions and lengths in the file of the rows in one chunk, in file order
+     */
+    private static final class Chunk {
+        /**
+         * Byte offset of each row
+         */
+        private long[] offsets = new long[8];
+        /**
+         * Byte length of each row, without its line ending
+         */
+        private int[] lengths = new int[8];
+        /**
+         * Number of rows in chunk
+         */
+        private int size;
+
+        /**
+         * Adds a row to the chunk
+         *
+         * @param offset Byte offset of the row
+         * @param length Byte length of the row
+         */
+        private void add(long offset, int length) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            offsets[size] = offset;
+            lengths[size] = length;
+            size++;
+        }
+    }
+}
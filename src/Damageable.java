@@ -1,5 +1,5 @@
 /**
- * Interface providing the method relevant to damage logic among Entities
+ * Interface providing the methods relevant to damage logic among Entities
  *
  * @author Kevin Tran
  */
@@ -10,4 +10,11 @@ public interface Damageable {
      * @param dmg Integer value to decrement Entity health
      */
     void takeDamage(int dmg);
+
+    /**
+     * Gets current health of Entity
+     *
+     * @return Integer value of current health
+     */
+    int getHealth();
 }
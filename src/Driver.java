@@ -1,8 +1,6 @@
-import bagel.Input;
+import bagel.Image;
 import bagel.Keys;
 
-import java.util.Properties;
-
 /**
  * This class contains the methods and attributes for the Driver entity that is rendered in GameScreen
  *
@@ -25,6 +23,10 @@ public class Driver extends Entity implements Damageable, Empowerable, Bleedable
      * Detection radius for taxi interaction
      */
     private final float DETECT_RAD;
+    /**
+     * Shared handle to the blood image, only loaded the first time the Driver bleeds
+     */
+    private final Asset<Image> BLOOD_IMG;
     /**
      * Boolean value tracking if Driver is ejected from Taxi
      */
@@ -45,17 +47,17 @@ public class Driver extends Entity implements Damageable, Empowerable, Bleedable
     /**
      * Constructor for Driver object
      *
-     * @param gameProp Properties file that holds all game properties
-     * @param x        Initial X-coordinate of Driver object
-     * @param y        Initial Y-coordinate of Driver object
-     */
-    public Driver(Properties gameProp, int x, int y) {
-        super(x, y, gameProp.getProperty("gameObjects.driver.image"),
-                Float.parseFloat(gameProp.getProperty("gameObjects.driver.radius")));
-        this.health = (int) (100 * Double.parseDouble(getGameProp().getProperty("gameObjects.driver.health")));
-        this.DETECT_RAD = Float.parseFloat(getGameProp().getProperty("gameObjects.driver.taxiGetInRadius"));
-        this.SPEED_X = Integer.parseInt(getGameProp().getProperty("gameObjects.driver.walkSpeedX"));
-        this.SPEED_Y = Integer.parseInt(getGameProp().getProperty("gameObjects.driver.walkSpeedY"));
+     * @param config Game configuration
+     * @param x      Initial X-coordinate of Driver object
+     * @param y      Initial Y-coordinate of Driver object
+     */
+    public Driver(GameConfig config, int x, int y) {
+        super(config, x, y, config.driver().image(), config.driver().radius());
+        this.health = config.driver().health();
+        this.DETECT_RAD = config.driver().taxiGetInRadius();
+        this.SPEED_X = config.driver().walkSpeedX();
+        this.SPEED_Y = config.driver().walkSpeedY();
+        this.BLOOD_IMG = AssetCache.image(config.blood().image());
         this.outOfTaxi = false;
     }
 
@@ -64,7 +66,7 @@ public class Driver extends Entity implements Damageable, Empowerable, Bleedable
      */
     @Override
     public void render() {
-        getSprite().draw(getX(), getY());
+        getSprite().draw(getRenderX(), getRenderY());
     }
 
     /**
@@ -73,9 +75,7 @@ public class Driver extends Entity implements Damageable, Empowerable, Bleedable
      * @param input The current mouse/keyboard input.
      */
     @Override
-    public void update(Input input) {
-        render();
-
+    public void update(GameInput input) {
         if (input != null) {
             adjustToInputMovement(input);
         }
@@ -87,7 +87,7 @@ public class Driver extends Entity implements Damageable, Empowerable, Bleedable
      * @param input The current mouse/keyboard input.
      */
     @Override
-    public void adjustToInputMovement(Input input) {
+    public void adjustToInputMovement(GameInput input) {
         if (input.isDown(Keys.LEFT)) {
             setX(getX() - SPEED_X);
         } else if (input.isDown(Keys.RIGHT)) {
@@ -158,6 +158,7 @@ public class Driver extends Entity implements Damageable, Empowerable, Bleedable
      *
      * @return Current integer value of Driver health attribute
      */
+    @Override
     public int getHealth() {
         return health;
     }
@@ -167,7 +168,7 @@ public class Driver extends Entity implements Damageable, Empowerable, Bleedable
      */
     @Override
     public void bleed() {
-        blood.draw(getX(), getY());
+        BLOOD_IMG.get().draw(getRenderX(), getRenderY());
     }
 
     /**
@@ -187,4 +188,44 @@ public class Driver extends Entity implements Damageable, Empowerable, Bleedable
     public void setOutOfTaxi(boolean outOfTaxi) {
         this.outOfTaxi = outOfTaxi;
     }
+
+    /**
+     * Gets collision layer of Driver objects
+     *
+     * @return Layer id of Driver objects
+     */
+    @Override
+    public int getLayer() {
+        return CollisionLayer.DRIVER;
+    }
+
+    /**
+     * Writes the state of Driver that changes during a game
+     *
+     * @param snapshot Snapshot to write to
+     */
+    @Override
+    public void saveState(GameSnapshot snapshot) {
+        super.saveState(snapshot);
+        snapshot.putEntity(coinPower);
+        snapshot.putEntity(starPower);
+        snapshot.putInt(health);
+        snapshot.putBoolean(outOfTaxi);
+        snapshot.putBoolean(isInvincible);
+    }
+
+    /**
+     * Puts Driver back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    @Override
+    public void restoreState(GameSnapshot snapshot) {
+        super.restoreState(snapshot);
+        this.coinPower = snapshot.getEntity();
+        this.starPower = snapshot.getEntity();
+        this.health = snapshot.getInt();
+        this.outOfTaxi = snapshot.getBoolean();
+        this.isInvincible = snapshot.getBoolean();
+    }
 }
@@ -1,7 +1,4 @@
-import bagel.Input;
-
 import java.util.ArrayList;
-import java.util.Properties;
 
 /**
  * This class contains the methods and attributes relevant for Enemy entities that are rendered in GameScreen
@@ -13,34 +10,127 @@ public class Enemy extends Car {
      * ArrayList holding all fireballs that `this` Enemy shoots
      */
     private final ArrayList<Fireball> FIREBALLS;
+    /**
+     * Pool that fireballs are taken from when shot
+     */
+    private final EntityPool<Fireball> FIREBALL_POOL;
     /**
      * Static spawn rate of fireballs
      */
     private final static int FIREBALL_SPAWN_RATE = 300;
+    /**
+     * Distribution of the number of fireballs each enemy has in flight, sampled every frame
+     */
+    private static final Histogram FIREBALLS_IN_FLIGHT = Metrics.histogram("enemy.fireballs");
+    /**
+     * Stream that decides when fireballs are shot
+     */
+    private final RandomStream FIREBALL_RANDOM;
 
     /**
      * Enemy constructor to instantiate enemy cars
      *
-     * @param gameProp Properties file holding game properties
-     * @param x        Initial X-coordinate
-     * @param y        Initial Y-coordinate
-     */
-    public Enemy(Properties gameProp, int x, int y) {
-        super(gameProp, x, y,
-                gameProp.getProperty("gameObjects.enemyCar.image"),
-                (int) (100 * Double.parseDouble(gameProp.getProperty("gameObjects.enemyCar.health"))),
-                (int) (100 * Double.parseDouble(gameProp.getProperty("gameObjects.enemyCar.damage"))),
-                Integer.parseInt(gameProp.getProperty("gameObjects.enemyCar.minSpeedY")),
-                Integer.parseInt(gameProp.getProperty("gameObjects.enemyCar.maxSpeedY")),
-                Float.parseFloat(gameProp.getProperty("gameObjects.enemyCar.radius")));
+     * @param config       Game configuration
+     * @param x            Initial X-coordinate
+     * @param y            Initial Y-coordinate
+     * @param fireballPool Pool that fireballs are taken from when shot
+     * @param random       Random number service of the game
+     */
+    public Enemy(GameConfig config, int x, int y, EntityPool<Fireball> fireballPool, GameRandom random) {
+        super(config, config.enemyCar(), x, y, config.enemyCar().image(), random);
+        this.FIREBALL_RANDOM = random.fireballs();
         this.FIREBALLS = new ArrayList<>();
+        this.FIREBALL_POOL = fireballPool;
     }
 
     /**
-     * Instantiates new Fireball object
+     * Returns enemy to the state of a freshly spawned enemy, returning any fireballs still held to their pool
+     *
+     * @param x New X-coordinate
+     * @param y New Y-coordinate
+     */
+    @Override
+    public void reset(int x, int y) {
+        super.reset(x, y);
+        for (int i = FIREBALLS.size() - 1; i >= 0; i--) {
+            FIREBALL_POOL.release(FIREBALLS.remove(i));
+        }
+    }
+
+    /**
+     * Takes a Fireball from the pool and shoots it from the enemy's position
      */
     public void shoot() {
-        FIREBALLS.add(new Fireball(getGameProp(), getX(), getY()));
+        SpawnEvent event = new SpawnEvent();
+        int misses = FIREBALL_POOL.getMisses();
+        FIREBALLS.add(FIREBALL_POOL.acquire(getX(), getY()));
+        if (event.shouldCommit()) {
+            event.kind = "fireball";
+            event.x = getX();
+            event.y = getY();
+            event.poolMiss = FIREBALL_POOL.getMisses() != misses;
+            event.commit();
+        }
+    }
+
+    /**
+     * Removes fireballs that have hit an object or left the screen
+     *
+     * @param lifecycle Lifecycle manager running the compaction pass
+     * @param minY      Smallest Y-coordinate a fireball can have and still be kept
+     * @param maxY      Largest Y-coordinate a fireball can have and still be kept
+     * @return Number of fireballs removed
+     */
+    public int retireFireballs(EntityLifecycle lifecycle, int minY, int maxY) {
+        return lifecycle.compact(FIREBALLS, minY, maxY, true);
+    }
+
+    /**
+     * Checks if enemy can be removed. An enemy is kept while any of its fireballs are still in flight.
+     *
+     * @param minY Smallest Y-coordinate an entity can have and still be kept
+     * @param maxY Largest Y-coordinate an entity can have and still be kept
+     * @return true if enemy can be removed, false otherwise
+     */
+    @Override
+    public boolean isRetired(int minY, int maxY) {
+        return FIREBALLS.isEmpty() && super.isRetired(minY, maxY);
+    }
+
+    /**
+     * Remembers the position of enemy and its fireballs at the start of a tick
+     */
+    @Override
+    public void storePosition() {
+        super.storePosition();
+        for (Fireball fireball : FIREBALLS) {
+            fireball.storePosition();
+        }
+    }
+
+    /**
+     * Works out where to draw enemy and its fireballs between ticks
+     *
+     * @param alpha   How far the display is between the last tick and the next, from 0 to 1
+     * @param cameraY Offset of the camera at the same point between ticks
+     */
+    @Override
+    public void prepareRender(double alpha, double cameraY) {
+        super.prepareRender(alpha, cameraY);
+        for (Fireball fireball : FIREBALLS) {
+            fireball.prepareRender(alpha, cameraY);
+        }
+    }
+
+    /**
+     * Render logic of Enemy objects and the fireballs they have shot
+     */
+    @Override
+    public void render() {
+        super.render();
+        for (Fireball fireball : FIREBALLS) {
+            fireball.render();
+        }
     }
 
     /**
@@ -50,19 +140,16 @@ public class Enemy extends Car {
      * @param input The current mouse/keyboard input.
      */
     @Override
-    public void update(Input input) {
-        render();
-        if (MiscUtils.canSpawn(FIREBALL_SPAWN_RATE) && !isDead()) {
+    public void update(GameInput input) {
+        updateEffects();
+        if (MiscUtils.canSpawn(FIREBALL_RANDOM, FIREBALL_SPAWN_RATE) && !isDead()) {
             shoot();
         }
 
         for (Fireball fireball : FIREBALLS) {
             fireball.update(input);
         }
-
-        if (input != null) {
-            adjustToInputMovement(input);
-        }
+        FIREBALLS_IN_FLIGHT.record(FIREBALLS.size());
 
         if (isWasHit()) {
             pauseMovement();
@@ -74,4 +161,26 @@ public class Enemy extends Car {
 
         moveRelative();
     }
+
+    /**
+     * Writes the state of Enemy that changes during a game, including the fireballs it has in flight
+     *
+     * @param snapshot Snapshot to write to
+     */
+    @Override
+    public void saveState(GameSnapshot snapshot) {
+        super.saveState(snapshot);
+        snapshot.putList(FIREBALLS);
+    }
+
+    /**
+     * Puts Enemy back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    @Override
+    public void restoreState(GameSnapshot snapshot) {
+        super.restoreState(snapshot);
+        snapshot.getList(FIREBALLS);
+    }
 }
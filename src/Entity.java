@@ -1,8 +1,4 @@
 import bagel.Image;
-import bagel.Input;
-import bagel.Keys;
-
-import java.util.Properties;
 
 /**
  * Abstract class that describes the common attributes and useful methods for Shadow Taxi entities.
@@ -11,25 +7,42 @@ import java.util.Properties;
  */
 public abstract class Entity implements Collidable, Movable {
     /**
-     * Game properties file that contains Entity information
+     * Next id to hand out to a newly created Entity
+     */
+    private static int nextId = 0;
+    /**
+     * Unique id of Entity, used to key collision contacts
      */
-    private final Properties GAME_PROP = IOUtils.readPropertiesFile("res/app.properties");
+    private int id;
     /**
-     * X and Y coordinates of Entity
+     * Game configuration that contains Entity information
+     */
+    private final GameConfig CONFIG;
+    /**
+     * Number of pixels the screen scrolls by each tick while scrolling
+     */
+    private final int SCROLL_SPEED;
+    /**
+     * X and Y coordinates of Entity in the world. The screen position is the world position offset by the
+     * camera of GameScreen.
      */
     private int x, y;
     /**
-     * Integer to indicate state of Y axis movement
+     * X and Y coordinates of Entity at the start of the current tick
+     */
+    private int prevX, prevY;
+    /**
+     * Screen coordinates to draw Entity at, between its previous and current position
      */
-    private int moveY;
+    private double renderX, renderY;
     /**
-     * Image of Entity to be rendered
+     * Shared handle to the Image of Entity to be rendered
      */
-    private final Image SPRITE;
+    private Asset<Image> sprite;
     /**
      * Radius of entity for collision logic
      */
-    private final Float RADIUS;
+    private final float RADIUS;
     /**
      * Buddy variable to keep track of i-Frames
      */
@@ -38,17 +51,24 @@ public abstract class Entity implements Collidable, Movable {
     /**
      * Entity constructor to instantiate game entities
      *
+     * @param config      Game configuration
      * @param x           Initial X-coordinate
      * @param y           Initial Y-coordinate
      * @param SPRITE_PATH File path to png file
      * @param RADIUS      Radius of entity
      */
-    public Entity(int x, int y, String SPRITE_PATH, Float RADIUS) {
+    public Entity(GameConfig config, int x, int y, String SPRITE_PATH, float RADIUS) {
+        this.id = nextId++;
+        this.CONFIG = config;
+        this.SCROLL_SPEED = config.taxi().speedY();
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+        this.renderX = x;
+        this.renderY = y;
         this.currTimeOutFrame = 0;
-        this.moveY = 0;
-        this.SPRITE = new Image(SPRITE_PATH);
+        this.sprite = AssetCache.image(SPRITE_PATH);
         this.RADIUS = RADIUS;
     }
 
@@ -100,43 +120,20 @@ public abstract class Entity implements Collidable, Movable {
     }
 
     /**
-     * Adjust the movement direction in y-axis of the GameObject based on the keyboard input.
+     * Adjusts Entity based on the keyboard input. Scrolling moves the camera rather than the world, so
+     * entities that only scroll have nothing to adjust.
      *
      * @param input The current mouse/keyboard input.
      */
     @Override
-    public void adjustToInputMovement(Input input) {
-        if (input.wasPressed(Keys.UP)) {
-            moveY = 1;
-        } else if (input.wasReleased(Keys.UP)) {
-            moveY = 0;
-        }
+    public void adjustToInputMovement(GameInput input) {
     }
 
     /**
-     * Moves entity along Y axis based on input
+     * Moves Entity by its own speed. Entities that only scroll stay put in the world.
      */
     @Override
     public void moveRelative() {
-        setY(getY() + SCROLL_SPEED * moveY);
-    }
-
-    /**
-     * Sets the moveY factor to given value
-     *
-     * @param moveY integer factor to assign to moveY
-     */
-    public void setMoveY(int moveY) {
-        this.moveY = moveY;
-    }
-
-    /**
-     * Gets current moveY value
-     *
-     * @return Integer value of moveY
-     */
-    public int getMoveY() {
-        return moveY;
     }
 
     /**
@@ -176,12 +173,85 @@ public abstract class Entity implements Collidable, Movable {
     }
 
     /**
-     * Gets Image of Entity
+     * Remembers the current position as the start of a tick. Also called after a jump, such as a recycled
+     * Entity being respawned, so the jump is not drawn as movement.
+     */
+    public void storePosition() {
+        this.prevX = x;
+        this.prevY = y;
+    }
+
+    /**
+     * Works out where on the screen to draw Entity, between its position at the start of the tick and its
+     * current one
+     *
+     * @param alpha   How far the display is between the last tick and the next, from 0 to 1
+     * @param cameraY Offset of the camera at the same point between ticks
+     */
+    public void prepareRender(double alpha, double cameraY) {
+        this.renderX = prevX + (x - prevX) * alpha;
+        this.renderY = prevY + (y - prevY) * alpha + cameraY;
+    }
+
+    /**
+     * Gets X-coordinate to draw Entity at
+     *
+     * @return double value of interpolated X-coordinate
+     */
+    public double getRenderX() {
+        return renderX;
+    }
+
+    /**
+     * Gets Y-coordinate to draw Entity at, in screen space
+     *
+     * @return double value of interpolated Y-coordinate
+     */
+    public double getRenderY() {
+        return renderY;
+    }
+
+    /**
+     * Gets unique id of Entity
+     *
+     * @return int value of Entity id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gives Entity a new unique id, so a recycled Entity does not inherit contacts from its previous spawn
+     */
+    protected void renewId() {
+        this.id = nextId++;
+    }
+
+    /**
+     * Gets Image of Entity, loading it on first use
      *
      * @return Image of Entity
      */
     public Image getSprite() {
-        return SPRITE;
+        return sprite.get();
+    }
+
+    /**
+     * Gets shared handle to the Image of Entity, without loading it
+     *
+     * @return Asset of the Image of Entity
+     */
+    protected Asset<Image> getSpriteAsset() {
+        return sprite;
+    }
+
+    /**
+     * Swaps the Image of Entity for another shared Image
+     *
+     * @param sprite Handle to the new Image
+     */
+    protected void setSprite(Asset<Image> sprite) {
+        this.sprite = sprite;
     }
 
     /**
@@ -194,12 +264,22 @@ public abstract class Entity implements Collidable, Movable {
     }
 
     /**
-     * Gets game properties file
+     * Gets game configuration
+     *
+     * @return GameConfig that holds game settings
+     */
+    public GameConfig getConfig() {
+        return CONFIG;
+    }
+
+    /**
+     * Gets number of pixels the screen scrolls by each tick while scrolling
      *
-     * @return Property object that holds game properties file
+     * @return int value of scroll speed
      */
-    public Properties getGameProp() {
-        return GAME_PROP;
+    @Override
+    public int getScrollSpeed() {
+        return SCROLL_SPEED;
     }
 
     /**
@@ -219,14 +299,62 @@ public abstract class Entity implements Collidable, Movable {
     }
 
     /**
-     * Abstract method for rendering logic of Entities
+     * Gets the id the next Entity created will be given
+     *
+     * @return int value of next id
+     */
+    public static int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Sets the id the next Entity created will be given, as when a game is rewound
+     *
+     * @param id Next id to hand out
+     */
+    public static void setNextId(int id) {
+        nextId = id;
+    }
+
+    /**
+     * Writes the state of Entity that changes during a game. Subclasses with more state write it after
+     * calling this.
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        snapshot.putInt(id);
+        snapshot.putInt(x);
+        snapshot.putInt(y);
+        snapshot.putInt(prevX);
+        snapshot.putInt(prevY);
+        snapshot.putInt(currTimeOutFrame);
+    }
+
+    /**
+     * Puts Entity back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        this.id = snapshot.getInt();
+        this.x = snapshot.getInt();
+        this.y = snapshot.getInt();
+        this.prevX = snapshot.getInt();
+        this.prevY = snapshot.getInt();
+        this.currTimeOutFrame = snapshot.getInt();
+    }
+
+    /**
+     * Abstract method for rendering logic of Entities. Only draws the current state and never changes it.
      */
     public abstract void render();
 
     /**
-     * Abstract method for the updating logic of Entities
+     * Abstract method for the updating logic of Entities. Only advances the simulation and never draws,
+     * so it can run without a window.
      *
      * @param input The current mouse/keyboard input.
      */
-    public abstract void update(Input input);
+    public abstract void update(GameInput input);
 }
@@ -0,0 +1,133 @@
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * This class retires transient entities (cars and fireballs) once they are dead and their VFX have finished,
+ * or once they have left the window by more than a margin. Retired entities are removed in batched,
+ * in-place compaction passes that run every few frames and do not allocate, and are handed back to their pool.
+ *
+ * @author Kevin Tran
+ */
+public class EntityLifecycle {
+    /**
+     * Distance in pixels beyond the window edges that entities may travel before being retired
+     */
+    private final int MARGIN;
+    /**
+     * Number of frames between compaction passes
+     */
+    private final int INTERVAL;
+    /**
+     * Height of game window
+     */
+    private final int WIN_HEIGHT;
+    /**
+     * Callback that returns a retired entity to its pool
+     */
+    private final Consumer<Entity> ON_RETIRE;
+    /**
+     * Total number of entities retired so far
+     */
+    private int retiredCount;
+
+    /**
+     * Constructor for the lifecycle manager of a game
+     *
+     * @param margin    Distance in pixels beyond the window edges before an entity is retired
+     * @param interval  Number of frames between compaction passes
+     * @param winHeight Height of game window
+     * @param onRetire  Callback that returns a retired entity to its pool
+     */
+    public EntityLifecycle(int margin, int interval, int winHeight, Consumer<Entity> onRetire) {
+        this.MARGIN = margin;
+        this.INTERVAL = Math.max(1, interval);
+        this.WIN_HEIGHT = winHeight;
+        this.ON_RETIRE = onRetire;
+        this.retiredCount = 0;
+    }
+
+    /**
+     * Runs a compaction pass over the game's cars and entities if one is due this frame.
+     * Enemies retire their own fireballs first, so an enemy is only retired once none are left in flight.
+     *
+     * @param frame    Current frame of the game
+     * @param cars     ArrayList of passive and enemy cars in game
+     * @param entities ArrayList holding all game entities
+     * @param cameraY  Offset of the camera, used to turn the screen bounds into world coordinates
+     */
+    public void update(int frame, ArrayList<Car> cars, ArrayList<Entity> entities, int cameraY) {
+        if (frame % INTERVAL != 0) {
+            return;
+        }
+
+        int minY = -MARGIN - cameraY, maxY = WIN_HEIGHT + MARGIN - cameraY;
+        for (Car car : cars) {
+            if (car instanceof Enemy enemy) {
+                retiredCount += enemy.retireFireballs(this, minY, maxY);
+            }
+        }
+        // cars are also held in the entity list, so only hand them back to their pool once
+        compact(entities, minY, maxY, false);
+        retiredCount += compact(cars, minY, maxY, true);
+    }
+
+    /**
+     * Removes every retired entity from a list in place, keeping the order of the remaining entities
+     *
+     * @param list    ArrayList to compact
+     * @param minY    Smallest Y-coordinate a retirable entity can have and still be kept
+     * @param maxY    Largest Y-coordinate a retirable entity can have and still be kept
+     * @param release true to return removed entities to their pool, false to only remove them from the list
+     * @param <T>     Type of entity held in the list
+     * @return Number of entities removed
+     */
+    public <T extends Entity> int compact(ArrayList<T> list, int minY, int maxY, boolean release) {
+        int size = list.size();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            T entity = list.get(i);
+            if (entity instanceof Retirable retirable && retirable.isRetired(minY, maxY)) {
+                if (release) {
+                    ON_RETIRE.accept(entity);
+                }
+                continue;
+            }
+            if (kept != i) {
+                list.set(kept, entity);
+            }
+            kept++;
+        }
+        // trim from the end so no elements are shifted
+        for (int i = size - 1; i >= kept; i--) {
+            list.remove(i);
+        }
+        return size - kept;
+    }
+
+    /**
+     * Gets the total number of cars and fireballs retired so far
+     *
+     * @return int value of retired entity count
+     */
+    public int getRetiredCount() {
+        return retiredCount;
+    }
+
+    /**
+     * Writes the count of retired entities
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        snapshot.putInt(retiredCount);
+    }
+
+    /**
+     * Puts the count of retired entities back to the value written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        this.retiredCount = snapshot.getInt();
+    }
+}
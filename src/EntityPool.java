@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Pool of resettable entities. Spawning takes a free entity and resets it instead of constructing a new one,
+ * so steady-state spawning does not allocate or load assets. Occupancy and miss counts are kept for tuning
+ * the prewarmed pool size.
+ *
+ * @param <T> Type of pooled entity
+ * @author Kevin Tran
+ */
+public class EntityPool<T extends Entity & Poolable> {
+    /**
+     * Factory used to construct entities when the pool is empty
+     */
+    private final Supplier<T> FACTORY;
+    /**
+     * Entities that are not currently in the game
+     */
+    private final ArrayList<T> FREE;
+    /**
+     * Number of entities currently handed out by the pool
+     */
+    private int inUse;
+    /**
+     * Highest number of entities handed out at once
+     */
+    private int peakInUse;
+    /**
+     * Number of acquires that found the pool empty and had to construct an entity
+     */
+    private int misses;
+
+    /**
+     * Constructor for a pool that is prewarmed with a number of entities
+     *
+     * @param factory Factory used to construct entities
+     * @param prewarm Number of entities to construct up front
+     */
+    public EntityPool(Supplier<T> factory, int prewarm) {
+        this.FACTORY = factory;
+        this.FREE = new ArrayList<>(Math.max(prewarm, 1));
+        for (int i = 0; i < prewarm; i++) {
+            FREE.add(factory.get());
+        }
+    }
+
+    /**
+     * Takes an entity from the pool, constructing one if none are free, and resets it to the given position
+     *
+     * @param x Initial X-coordinate
+     * @param y Initial Y-coordinate
+     * @return Entity ready to be added to the game
+     */
+    public T acquire(int x, int y) {
+        T entity;
+        if (FREE.isEmpty()) {
+            misses++;
+            entity = FACTORY.get();
+        } else {
+            entity = FREE.remove(FREE.size() - 1);
+        }
+        entity.reset(x, y);
+        inUse++;
+        peakInUse = Math.max(peakInUse, inUse);
+        return entity;
+    }
+
+    /**
+     * Returns an entity that has been removed from the game to the pool
+     *
+     * @param entity Entity to return
+     */
+    public void release(T entity) {
+        inUse--;
+        FREE.add(entity);
+    }
+
+    /**
+     * Gets number of entities currently handed out by the pool
+     *
+     * @return int value of pool occupancy
+     */
+    public int getInUse() {
+        return inUse;
+    }
+
+    /**
+     * Gets highest number of entities handed out at once
+     *
+     * @return int value of peak pool occupancy
+     */
+    public int getPeakInUse() {
+        return peakInUse;
+    }
+
+    /**
+     * Gets number of entities waiting in the pool
+     *
+     * @return int value of free entity count
+     */
+    public int getFree() {
+        return FREE.size();
+    }
+
+    /**
+     * Gets number of acquires that had to construct a new entity
+     *
+     * @return int value of pool misses
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Writes the free entities and counts of the pool
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        snapshot.putInt(inUse);
+        snapshot.putInt(peakInUse);
+        snapshot.putInt(misses);
+        snapshot.putList(FREE);
+    }
+
+    /**
+     * Puts the pool back in the state written by saveState. Entities made since are left for the garbage
+     * collector.
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        this.inUse = snapshot.getInt();
+        this.peakInUse = snapshot.getInt();
+        this.misses = snapshot.getInt();
+        snapshot.getList(FREE);
+    }
+}
@@ -1,13 +1,9 @@
-import bagel.Input;
-
-import java.util.Properties;
-
 /**
  * This class contains attributes and methods relevant to Fireball objects that are rendered in GameScreen
  *
  * @author Kevin Tran
  */
-public class Fireball extends Entity {
+public class Fireball extends Entity implements Retirable, Poolable {
     /**
      * Vertical speed of fireball object
      */
@@ -24,15 +20,29 @@ public class Fireball extends Entity {
     /**
      * Fireball constructor to instantiate fireball game objects
      *
-     * @param gameProp Properties file holding game properties
-     * @param x        Initial X-coordinate
-     * @param y        Initial Y-coordinate
+     * @param config Game configuration
+     * @param x      Initial X-coordinate
+     * @param y      Initial Y-coordinate
      */
-    public Fireball(Properties gameProp, int x, int y) {
-        super(x, y, gameProp.getProperty("gameObjects.fireball.image"),
-                Float.parseFloat(gameProp.getProperty("gameObjects.fireball.radius")));
-        this.SPEED_Y = Integer.parseInt(getGameProp().getProperty("gameObjects.fireball.shootSpeedY"));
-        this.DMG = (int) (100 * Double.parseDouble(gameProp.getProperty("gameObjects.fireball.damage")));
+    public Fireball(GameConfig config, int x, int y) {
+        super(config, x, y, config.fireball().image(), config.fireball().radius());
+        this.SPEED_Y = config.fireball().shootSpeedY();
+        this.DMG = config.fireball().damage();
+        this.hitObject = false;
+    }
+
+    /**
+     * Returns fireball to the state of a freshly shot fireball
+     *
+     * @param x New X-coordinate
+     * @param y New Y-coordinate
+     */
+    @Override
+    public void reset(int x, int y) {
+        renewId();
+        setX(x);
+        setY(y);
+        storePosition();
         this.hitObject = false;
     }
 
@@ -42,7 +52,7 @@ public class Fireball extends Entity {
     @Override
     public void render() {
         if (!hitObject) {
-            getSprite().draw(getX(), getY());
+            getSprite().draw(getRenderX(), getRenderY());
         }
     }
 
@@ -52,12 +62,8 @@ public class Fireball extends Entity {
      * @param input The current mouse/keyboard input.
      */
     @Override
-    public void update(Input input) {
-        if (input != null) {
-            adjustToInputMovement(input);
-        }
+    public void update(GameInput input) {
         moveRelative();
-        render();
     }
 
     /**
@@ -65,7 +71,7 @@ public class Fireball extends Entity {
      */
     @Override
     public void moveRelative() {
-        setY(getY() + SCROLL_SPEED * getMoveY() - SPEED_Y);
+        setY(getY() - SPEED_Y);
     }
 
     /**
@@ -95,4 +101,48 @@ public class Fireball extends Entity {
     public void setHitObject(boolean hitObject) {
         this.hitObject = hitObject;
     }
+
+    /**
+     * Checks if fireball can be removed, which is once it has hit an object or is off-screen
+     *
+     * @param minY Smallest Y-coordinate an entity can have and still be kept
+     * @param maxY Largest Y-coordinate an entity can have and still be kept
+     * @return true if fireball can be removed, false otherwise
+     */
+    @Override
+    public boolean isRetired(int minY, int maxY) {
+        return hitObject || getY() < minY || getY() > maxY;
+    }
+
+    /**
+     * Gets collision layer of Fireball objects
+     *
+     * @return Layer id of Fireball objects
+     */
+    @Override
+    public int getLayer() {
+        return CollisionLayer.FIREBALL;
+    }
+
+    /**
+     * Writes the state of Fireball that changes during a game
+     *
+     * @param snapshot Snapshot to write to
+     */
+    @Override
+    public void saveState(GameSnapshot snapshot) {
+        super.saveState(snapshot);
+        snapshot.putBoolean(hitObject);
+    }
+
+    /**
+     * Puts Fireball back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    @Override
+    public void restoreState(GameSnapshot snapshot) {
+        super.restoreState(snapshot);
+        this.hitObject = snapshot.getBoolean();
+    }
 }
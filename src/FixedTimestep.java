@@ -0,0 +1,82 @@
+/**
+ * Accumulator that paces the simulation at a fixed tick rate, independent of the display's refresh rate.
+ * Each displayed frame adds the real time since the last one, and a tick is run for every whole tick period
+ * collected. What is left over gives how far the display is between the last two ticks, for interpolation.
+ * A frame that would owe more ticks than allowed drops the backlog instead, so a slow machine slows the game
+ * down rather than falling further and further behind.
+ *
+ * @author Kevin Tran
+ */
+public class FixedTimestep {
+    /**
+     * Length of one tick in nanoseconds
+     */
+    private final long TICK_NS;
+    /**
+     * Most ticks run for one displayed frame
+     */
+    private final int MAX_TICKS;
+    /**
+     * Number of ticks that were dropped because a frame owed too many
+     */
+    private final Counter DROPPED;
+    /**
+     * Real time collected and not yet simulated, in nanoseconds
+     */
+    private long accumulator;
+    /**
+     * System.nanoTime of the last displayed frame
+     */
+    private long lastNs;
+    /**
+     * Boolean value indicating if a frame has been displayed yet, as System.nanoTime can be any value
+     */
+    private boolean started;
+
+    /**
+     * Constructor for a fixed timestep
+     *
+     * @param tickRate Simulation ticks per second
+     * @param maxTicks Most ticks run for one displayed frame
+     */
+    public FixedTimestep(int tickRate, int maxTicks) {
+        this.TICK_NS = 1_000_000_000L / tickRate;
+        this.MAX_TICKS = maxTicks;
+        this.DROPPED = Metrics.counter("loop.droppedTicks");
+    }
+
+    /**
+     * Adds the real time since the last displayed frame and takes the ticks it pays for
+     *
+     * @param nowNs Current System.nanoTime
+     * @return Number of ticks to run before displaying this frame
+     */
+    public int advance(long nowNs) {
+        if (!started) {
+            // the first frame runs one tick, so there is something to show
+            accumulator = TICK_NS;
+            started = true;
+        } else {
+            accumulator += nowNs - lastNs;
+        }
+        lastNs = nowNs;
+
+        long owed = accumulator / TICK_NS;
+        int ticks = (int) Math.min(owed, MAX_TICKS);
+        accumulator -= ticks * TICK_NS;
+        if (owed > MAX_TICKS) {
+            DROPPED.add(owed - MAX_TICKS);
+            accumulator %= TICK_NS;
+        }
+        return ticks;
+    }
+
+    /**
+     * Gets how far the display is between the last tick and the next, for interpolation
+     *
+     * @return double value between 0 (at the last tick) and 1 (at the next)
+     */
+    public double getAlpha() {
+        return (double) accumulator / TICK_NS;
+    }
+}
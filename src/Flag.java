@@ -1,7 +1,3 @@
-import bagel.Input;
-
-import java.util.Properties;
-
 /**
  * A class representing the trip end flag in the game play.
  * Objects of this class will only move up and down based on the keyboard input. No other functionalities needed.
@@ -13,13 +9,12 @@ public class Flag extends Entity {
     /**
      * Constructor for Flag objects
      *
-     * @param gameProp Properties file that holds all game properties
-     * @param x        Initial X-coordinate of Driver object
-     * @param y        Initial Y-coordinate of Driver object
+     * @param config Game configuration
+     * @param x      Initial X-coordinate of Driver object
+     * @param y      Initial Y-coordinate of Driver object
      */
-    public Flag(Properties gameProp, int x, int y) {
-        super(x, y, gameProp.getProperty("gameObjects.tripEndFlag.image"),
-                Float.parseFloat(gameProp.getProperty("gameObjects.tripEndFlag.radius")));
+    public Flag(GameConfig config, int x, int y) {
+        super(config, x, y, config.flag().image(), config.flag().radius());
     }
 
     /**
@@ -27,19 +22,24 @@ public class Flag extends Entity {
      */
     @Override
     public void render() {
-        getSprite().draw(getX(), getY());
+        getSprite().draw(getRenderX(), getRenderY());
     }
 
     /**
-     * Move the object in y direction according to the keyboard input, and render the trip flag image.
+     * Updating logic for Flag objects. A flag stays put in the world while the camera scrolls past.
      *
      * @param input The current mouse/keyboard input.
      */
-    public void update(Input input) {
-        if (input != null) {
-            adjustToInputMovement(input);
-        }
-        moveRelative();
-        render();
+    public void update(GameInput input) {
+    }
+
+    /**
+     * Gets collision layer of Flag objects
+     *
+     * @return Layer id of Flag objects
+     */
+    @Override
+    public int getLayer() {
+        return CollisionLayer.FLAG;
     }
 }
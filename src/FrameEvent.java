@@ -0,0 +1,103 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event spanning one game frame, with the time spent in each phase and the number of entities
+ *
+ * @author Kevin Tran
+ */
+@Name("shadowtaxi.Frame")
+@Label("Frame")
+@Category("Shadow Taxi")
+@Description("One GameScreen frame, from the start of update to the start of the next update")
+@Enabled(false)
+@StackTrace(false)
+public class FrameEvent extends jdk.jfr.Event {
+    /**
+     * Number of frame in the game
+     */
+    @Label("Frame Number")
+    public int frame;
+    /**
+     * Time spent changing the weather
+     */
+    @Label("Weather")
+    @Timespan
+    public long weather;
+    /**
+     * Time spent scrolling the background
+     */
+    @Label("Scroll")
+    @Timespan
+    public long scroll;
+    /**
+     * Time spent spawning cars
+     */
+    @Label("Spawn Cars")
+    @Timespan
+    public long spawnCars;
+    /**
+     * Time spent updating the driver and taxi
+     */
+    @Label("Entities")
+    @Timespan
+    public long entities;
+    /**
+     * Time spent checking collisions
+     */
+    @Label("Collisions")
+    @Timespan
+    public long collisions;
+    /**
+     * Time spent updating passengers
+     */
+    @Label("Passengers")
+    @Timespan
+    public long passengers;
+    /**
+     * Time spent updating and retiring cars
+     */
+    @Label("Cars")
+    @Timespan
+    public long cars;
+    /**
+     * Time spent updating power-ups
+     */
+    @Label("Power-ups")
+    @Timespan
+    public long powerUps;
+    /**
+     * Time spent drawing the background and entities
+     */
+    @Label("Render")
+    @Timespan
+    public long render;
+    /**
+     * Time spent drawing the game information
+     */
+    @Label("Display Info")
+    @Timespan
+    public long displayInfo;
+    /**
+     * Bytes allocated by the game thread during the frame, or -1 if unknown
+     */
+    @Label("Allocated")
+    @DataAmount
+    public long allocated;
+    /**
+     * Number of entities checked for collisions
+     */
+    @Label("Entity Count")
+    public int entityCount;
+    /**
+     * Number of cars in the game
+     */
+    @Label("Car Count")
+    public int carCount;
+}
@@ -0,0 +1,398 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Low-overhead profiler that times each phase of a frame. Phase times are taken with System.nanoTime and,
+ * together with the bytes the game thread allocated, written into ring buffers that are allocated up front,
+ * so recording a frame never allocates. Percentiles are only computed when a report is asked for.
+ * Each frame is also emitted as a FrameEvent while flight recording of it is enabled.
+ *
+ * @author Kevin Tran
+ */
+public class FrameProfiler {
+    /**
+     * Phase that changes the weather
+     */
+    public static final int WEATHER = 0;
+    /**
+     * Phase that scrolls the background
+     */
+    public static final int SCROLL = 1;
+    /**
+     * Phase that spawns cars
+     */
+    public static final int SPAWN = 2;
+    /**
+     * Phase that updates the driver and taxi and sums earnings
+     */
+    public static final int ENTITIES = 3;
+    /**
+     * Phase that checks collisions
+     */
+    public static final int COLLISIONS = 4;
+    /**
+     * Phase that updates passengers
+     */
+    public static final int PASSENGERS = 5;
+    /**
+     * Phase that updates and retires cars
+     */
+    public static final int CARS = 6;
+    /**
+     * Phase that updates coins and stars
+     */
+    public static final int POWER_UPS = 7;
+    /**
+     * Phase that takes or restores a rewind snapshot
+     */
+    public static final int SNAPSHOT = 8;
+    /**
+     * Phase that draws the background and entities
+     */
+    public static final int RENDER = 9;
+    /**
+     * Phase that draws the game information
+     */
+    public static final int DISPLAY_INFO = 10;
+    /**
+     * Number of phases
+     */
+    public static final int COUNT = 11;
+    /**
+     * Names of phases, indexed by phase
+     */
+    private static final String[] NAMES = {"weather", "scroll", "spawnCars", "entities", "collisions",
+            "passengers", "cars", "powerUps", "snapshot", "render", "displayInfo"};
+    /**
+     * Row of the whole frame in the report, after the phase rows
+     */
+    private static final int FRAME = COUNT;
+    /**
+     * Frames between recomputing the report
+     */
+    private static final int REPORT_INTERVAL = 30;
+    /**
+     * Thread bean used to read allocated bytes, or null if the JVM cannot report them
+     */
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+    /**
+     * Distribution of whole frame times in nanoseconds, exposed over JMX
+     */
+    private static final Histogram FRAME_TIME = Metrics.histogram("frame.timeNs");
+    /**
+     * Distribution of bytes allocated per frame, exposed over JMX
+     */
+    private static final Histogram FRAME_ALLOC = Metrics.histogram("frame.allocatedBytes");
+
+    /**
+     * Nanoseconds spent in each phase of each recorded frame, indexed by [phase][slot]
+     */
+    private final long[][] PHASE_NS;
+    /**
+     * Total nanoseconds of each recorded frame
+     */
+    private final long[] FRAME_NS;
+    /**
+     * Bytes allocated by the game thread in each recorded frame, or -1 if unknown
+     */
+    private final long[] ALLOC_BYTES;
+    /**
+     * Scratch array that samples are copied into and sorted to find percentiles
+     */
+    private final long[] SORTED;
+    /**
+     * Latest p50, p99 and max of every phase and the whole frame, indexed by [row][statistic]
+     */
+    private final long[][] STATS;
+    /**
+     * Lines of the latest report
+     */
+    private final String[] REPORT;
+    /**
+     * Number of slots in each ring buffer
+     */
+    private final int CAPACITY;
+    /**
+     * Number of frames recorded so far, including ones overwritten in the ring buffers
+     */
+    private long frames;
+    /**
+     * Ring buffer slot of the current frame
+     */
+    private int slot;
+    /**
+     * System.nanoTime at the end of the last timed phase
+     */
+    private long mark;
+    /**
+     * Allocated bytes of the game thread at the start of the current frame
+     */
+    private long allocStart;
+    /**
+     * Number of frames recorded when the report was last computed
+     */
+    private long reportedFrames;
+    /**
+     * Boolean value indicating if a frame is being recorded
+     */
+    private boolean inFrame;
+    /**
+     * Flight recorder event of the current frame, or null if frame events are not being recorded
+     */
+    private FrameEvent event;
+    /**
+     * Number of entities and cars in the current frame
+     */
+    private int entityCount, carCount;
+
+    /**
+     * Constructor for a profiler that keeps the most recent frames
+     *
+     * @param capacity Number of frames to keep
+     */
+    public FrameProfiler(int capacity) {
+        this.CAPACITY = capacity;
+        this.PHASE_NS = new long[COUNT][capacity];
+        this.FRAME_NS = new long[capacity];
+        this.ALLOC_BYTES = new long[capacity];
+        this.SORTED = new long[capacity];
+        this.STATS = new long[COUNT + 1][3];
+        this.REPORT = new String[COUNT + 3];
+        Arrays.fill(REPORT, "");
+    }
+
+    /**
+     * Gets the thread bean if it can report allocated bytes per thread
+     *
+     * @return ThreadMXBean with allocation counting enabled, or null if unsupported
+     */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    /**
+     * Reads the bytes allocated by the current thread so far
+     *
+     * @return Allocated bytes, or -1 if unknown
+     */
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Ends the frame being recorded, if any, and starts recording a new frame
+     */
+    public void beginFrame() {
+        endFrame();
+        slot = (int) (frames % CAPACITY);
+        for (int phase = 0; phase < COUNT; phase++) {
+            PHASE_NS[phase][slot] = 0;
+        }
+        inFrame = true;
+        FrameEvent frameEvent = new FrameEvent();
+        if (frameEvent.isEnabled()) {
+            frameEvent.begin();
+            event = frameEvent;
+        }
+        allocStart = allocatedBytes();
+        mark = System.nanoTime();
+    }
+
+    /**
+     * Sets number of entities and cars in the current frame, for the frame event
+     *
+     * @param entities Number of entities checked for collisions
+     * @param cars     Number of cars in the game
+     */
+    public void setCounts(int entities, int cars) {
+        this.entityCount = entities;
+        this.carCount = cars;
+    }
+
+    /**
+     * Restarts the phase timer, so time spent outside the game between update and render is not counted
+     */
+    public void resume() {
+        mark = System.nanoTime();
+    }
+
+    /**
+     * Adds the time since the last mark to a phase of the current frame
+     *
+     * @param phase Phase that just ended
+     */
+    public void mark(int phase) {
+        long now = System.nanoTime();
+        if (inFrame) {
+            PHASE_NS[phase][slot] += now - mark;
+        }
+        mark = now;
+    }
+
+    /**
+     * Finishes recording the current frame, if one is being recorded
+     */
+    public void endFrame() {
+        if (!inFrame) {
+            return;
+        }
+        inFrame = false;
+        long total = 0;
+        for (int phase = 0; phase < COUNT; phase++) {
+            total += PHASE_NS[phase][slot];
+        }
+        FRAME_NS[slot] = total;
+        long alloc = allocatedBytes();
+        ALLOC_BYTES[slot] = alloc < 0 ? -1 : alloc - allocStart;
+        FRAME_TIME.record(total);
+        if (alloc >= 0) {
+            FRAME_ALLOC.record(ALLOC_BYTES[slot]);
+        }
+        frames++;
+        if (event != null) {
+            commitEvent(event);
+            event = null;
+        }
+    }
+
+    /**
+     * Fills in the frame event from the ring buffers and commits it
+     *
+     * @param frameEvent Event of the frame that just ended
+     */
+    private void commitEvent(FrameEvent frameEvent) {
+        frameEvent.end();
+        if (frameEvent.shouldCommit()) {
+            frameEvent.frame = (int) frames;
+            frameEvent.weather = PHASE_NS[WEATHER][slot];
+            frameEvent.scroll = PHASE_NS[SCROLL][slot];
+            frameEvent.spawnCars = PHASE_NS[SPAWN][slot];
+            frameEvent.entities = PHASE_NS[ENTITIES][slot];
+            frameEvent.collisions = PHASE_NS[COLLISIONS][slot];
+            frameEvent.passengers = PHASE_NS[PASSENGERS][slot];
+            frameEvent.cars = PHASE_NS[CARS][slot];
+            frameEvent.powerUps = PHASE_NS[POWER_UPS][slot];
+            frameEvent.render = PHASE_NS[RENDER][slot];
+            frameEvent.displayInfo = PHASE_NS[DISPLAY_INFO][slot];
+            frameEvent.allocated = ALLOC_BYTES[slot];
+            frameEvent.entityCount = entityCount;
+            frameEvent.carCount = carCount;
+            frameEvent.commit();
+        }
+    }
+
+    /**
+     * Gets number of frames held in the ring buffers
+     *
+     * @return int value of recorded frames
+     */
+    public int getRecordedFrames() {
+        return (int) Math.min(frames, CAPACITY);
+    }
+
+    /**
+     * Finds the value at a percentile of the recorded samples
+     *
+     * @param samples    Ring buffer of samples
+     * @param percentile Percentile between 0 and 100
+     * @return Sample at the percentile, or 0 if no frame was recorded
+     */
+    private long percentile(long[] samples, double percentile) {
+        int count = getRecordedFrames();
+        if (count == 0) {
+            return 0;
+        }
+        System.arraycopy(samples, 0, SORTED, 0, count);
+        Arrays.sort(SORTED, 0, count);
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        return SORTED[Math.max(0, Math.min(rank, count - 1))];
+    }
+
+    /**
+     * Gets a statistic of a phase over the recorded frames, as of the latest report
+     *
+     * @param phase     Phase, or COUNT for the whole frame
+     * @param statistic 0 for p50, 1 for p99, 2 for max
+     * @return Statistic in nanoseconds
+     */
+    public long getStat(int phase, int statistic) {
+        return STATS[phase][statistic];
+    }
+
+    /**
+     * Recomputes the report if enough frames were recorded since it was last computed. Called only while the
+     * report is shown, so the sorting and formatting cost nothing otherwise.
+     */
+    public void refreshReport() {
+        if (frames - reportedFrames >= REPORT_INTERVAL) {
+            updateReport();
+        }
+    }
+
+    /**
+     * Recomputes p50, p99 and max of every phase and the text of the report
+     */
+    public void updateReport() {
+        reportedFrames = frames;
+        for (int row = 0; row <= COUNT; row++) {
+            long[] samples = row == FRAME ? FRAME_NS : PHASE_NS[row];
+            STATS[row][0] = percentile(samples, 50);
+            STATS[row][1] = percentile(samples, 99);
+            STATS[row][2] = percentile(samples, 100);
+        }
+        REPORT[0] = String.format(Locale.ROOT, "%-12s %8s %8s %8s", "phase (us)", "p50", "p99", "max");
+        for (int row = 0; row <= COUNT; row++) {
+            REPORT[row + 1] = String.format(Locale.ROOT, "%-12s %8.1f %8.1f %8.1f",
+                    row == FRAME ? "frame" : NAMES[row],
+                    STATS[row][0] / 1e3, STATS[row][1] / 1e3, STATS[row][2] / 1e3);
+        }
+        REPORT[COUNT + 2] = THREADS == null ? "alloc/frame  n/a"
+                : String.format(Locale.ROOT, "alloc/frame  p50 %d B, p99 %d B",
+                percentile(ALLOC_BYTES, 50), percentile(ALLOC_BYTES, 99));
+    }
+
+    /**
+     * Gets lines of the latest report, one per phase plus a header, the whole frame and allocation
+     *
+     * @return Array of report lines
+     */
+    public String[] getReport() {
+        return REPORT;
+    }
+
+    /**
+     * Writes every recorded frame to a CSV file, oldest first, with a header row of phase names
+     *
+     * @param file File path of CSV
+     */
+    public void dump(String file) {
+        endFrame();
+        int count = getRecordedFrames();
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            StringBuilder header = new StringBuilder("frame");
+            for (String name : NAMES) {
+                header.append(',').append(name).append("Ns");
+            }
+            out.println(header.append(",frameNs,allocBytes"));
+            for (long frame = frames - count; frame < frames; frame++) {
+                int i = (int) (frame % CAPACITY);
+                StringBuilder row = new StringBuilder().append(frame + 1);
+                for (int phase = 0; phase < COUNT; phase++) {
+                    row.append(',').append(PHASE_NS[phase][i]);
+                }
+                out.println(row.append(',').append(FRAME_NS[i]).append(',').append(ALLOC_BYTES[i]));
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+}
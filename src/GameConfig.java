@@ -0,0 +1,613 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Immutable, typed view of the game and message properties files. The files are parsed and validated once
+ * at startup, and every screen and entity reads its settings from the resulting records as plain final
+ * values instead of looking up and parsing Strings at runtime.
+ *
+ * @param display         Window size and font
+ * @param messages        Text shown on screens
+ * @param backgrounds     Background image paths
+ * @param home            Home screen layout
+ * @param playerInfo      Player information screen layout
+ * @param gameEnd         Game end screen layout and score file
+ * @param gamePlay        Level files, limits and spawning settings
+ * @param hud             Gameplay screen text layout
+ * @param rates           Trip fee rates
+ * @param taxi            Taxi settings
+ * @param otherCar        Passive car settings
+ * @param enemyCar        Enemy car settings
+ * @param fireball        Fireball settings
+ * @param smoke           Smoke effect settings
+ * @param fire            Fire effect settings
+ * @param blood           Blood effect settings
+ * @param passenger       Passenger settings
+ * @param driver          Driver settings
+ * @param flag            Trip end flag settings
+ * @param invinciblePower Star power-up settings
+ * @param coin            Coin power-up settings
+ * @param loop            Simulation loop timing
+ * @author Kevin Tran
+ */
+public record GameConfig(Display display, Messages messages, Backgrounds backgrounds, HomeLayout home,
+                         PlayerInfoLayout playerInfo, GameEndLayout gameEnd, GamePlay gamePlay, Hud hud,
+                         TripRates rates, TaxiStats taxi, CarStats otherCar, CarStats enemyCar,
+                         FireballStats fireball, EffectStats smoke, EffectStats fire, EffectStats blood,
+                         PassengerStats passenger, DriverStats driver, FlagStats flag, PowerStats invinciblePower,
+                         PowerStats coin, Loop loop) {
+
+    /**
+     * Window size and font of the game
+     *
+     * @param width  Window width in pixels
+     * @param height Window height in pixels
+     * @param font   File path to font file
+     */
+    public record Display(int width, int height, String font) {
+    }
+
+    /**
+     * Text shown on the screens of the game
+     *
+     * @param title           Game title
+     * @param instruction     Home screen prompt
+     * @param resume          Home screen prompt to resume an autosaved game
+     * @param start           Player information screen start prompt
+     * @param playerName      Player name prompt
+     * @param earnings        Earnings label
+     * @param remFrames       Remaining frames label
+     * @param target          Target earnings label
+     * @param completedTrip   Completed trip title
+     * @param onGoingTrip     Ongoing trip title
+     * @param expectedEarning Expected trip fee label
+     * @param priority        Trip priority label
+     * @param penalty         Trip penalty label
+     * @param taxiHealth      Taxi health label
+     * @param driverHealth    Driver health label
+     * @param passengerHealth Passenger health label
+     * @param lost            Game lost message
+     * @param won             Game won message
+     * @param highestScores   Top scores title
+     * @param trips           Trip count label of the game end screen
+     */
+    public record Messages(String title, String instruction, String resume, String start, String playerName,
+                           String earnings, String remFrames, String target, String completedTrip,
+                           String onGoingTrip, String expectedEarning, String priority, String penalty,
+                           String taxiHealth, String driverHealth, String passengerHealth, String lost, String won,
+                           String highestScores, String trips) {
+    }
+
+    /**
+     * File paths of background images
+     *
+     * @param sunny      Sunny gameplay background
+     * @param raining    Raining gameplay background
+     * @param playerInfo Player information screen background
+     * @param home       Home screen background
+     * @param gameEnd    Game end screen background
+     */
+    public record Backgrounds(String sunny, String raining, String playerInfo, String home, String gameEnd) {
+    }
+
+    /**
+     * Layout of the home screen
+     *
+     * @param titleFontSize       Font size of title
+     * @param titleY              Y-coordinate of title
+     * @param instructionFontSize Font size of prompt
+     * @param instructionY        Y-coordinate of prompt
+     * @param resumeY             Y-coordinate of resume prompt
+     */
+    public record HomeLayout(int titleFontSize, int titleY, int instructionFontSize, int instructionY,
+                             int resumeY) {
+    }
+
+    /**
+     * Layout of the player information screen
+     *
+     * @param fontSize         Font size of all text
+     * @param startY           Y-coordinate of start prompt
+     * @param playerNameInputY Y-coordinate of typed player name
+     * @param playerNameY      Y-coordinate of player name prompt
+     */
+    public record PlayerInfoLayout(int fontSize, int startY, int playerNameInputY, int playerNameY) {
+    }
+
+    /**
+     * Layout of the game end screen and the score file it reads
+     *
+     * @param statusFontSize Font size of won/lost status
+     * @param statusY        Y-coordinate of won/lost status
+     * @param scoresFontSize Font size of top scores
+     * @param scoresY        Y-coordinate of top scores
+     * @param tripsY         Y-coordinate of the trip summary
+     * @param scoresFile     File path to scores file
+     */
+    public record GameEndLayout(int statusFontSize, int statusY, int scoresFontSize, int scoresY, int tripsY,
+                                String scoresFile) {
+    }
+
+    /**
+     * Level files, limits and spawning settings of the gameplay screen
+     *
+     * @param objectsFile      File path to game objects CSV
+     * @param weatherFile      File path to weather CSV
+     * @param levelFile        File path to the level compiled by LevelCompiler, read instead of the CSV files
+     *                         when present
+     * @param target           Target earnings to win
+     * @param maxFrames        Maximum frames the level runs for
+     * @param despawnMargin    Distance beyond the window at which entities are retired
+     * @param despawnInterval  Frames between retirement sweeps
+     * @param wakeMargin       Distance beyond the screen, taxi, driver and cars that level entities are woken at
+     * @param sleepInterval    Frames between sweeps that put idle level entities back to sleep
+     * @param chunkSize        Height in pixels of the chunks the level file is streamed in
+     * @param keepBelow        Distance below the activation window beyond which dormant entities are dropped
+     * @param carPool          Number of passive and enemy cars to prewarm
+     * @param fireballPool     Number of fireballs to prewarm
+     * @param profileFrames    Number of recent frames the frame profiler keeps
+     * @param profileFile      File path the frame profiler writes its CSV to when the game ends
+     * @param ledgerFile       File path a CSV record of the game's trips is appended to when the game ends
+     * @param rewindInterval   Frames between the snapshots the game can be rewound to
+     * @param rewindSlots      Number of snapshots kept, 0 to turn rewinding off
+     * @param autosaveFile     File path the game in progress is autosaved to, with the slot number appended
+     * @param autosaveInterval Frames between autosaves, 0 to turn autosaving off
+     * @param lanes            X-coordinates of road lane centres
+     */
+    public record GamePlay(String objectsFile, String weatherFile, String levelFile, float target, int maxFrames,
+                           int despawnMargin, int despawnInterval, int wakeMargin, int sleepInterval, int chunkSize,
+                           int keepBelow, int carPool, int fireballPool, int profileFrames, String profileFile,
+                           String ledgerFile, int rewindInterval, int rewindSlots, String autosaveFile,
+                           int autosaveInterval, List<Integer> lanes) {
+    }
+
+    /**
+     * Screen position of a piece of text
+     *
+     * @param x X-coordinate
+     * @param y Y-coordinate
+     */
+    public record Point(int x, int y) {
+    }
+
+    /**
+     * Layout of the gameplay screen text
+     *
+     * @param fontSize        Font size of all text
+     * @param earnings        Position of earnings
+     * @param target          Position of target earnings
+     * @param maxFrames       Position of remaining frames
+     * @param passengerHealth Position of passenger health
+     * @param driverHealth    Position of driver health
+     * @param taxiHealth      Position of taxi health
+     * @param coin            Position of coin frames
+     * @param tripInfo        Position of trip information
+     */
+    public record Hud(int fontSize, Point earnings, Point target, Point maxFrames, Point passengerHealth,
+                      Point driverHealth, Point taxiHealth, Point coin, Point tripInfo) {
+    }
+
+    /**
+     * Fee rates of a trip
+     *
+     * @param perY        Fee per pixel travelled
+     * @param priority1   Rate of priority 1 trips
+     * @param priority2   Rate of priority 2 trips
+     * @param priority3   Rate of priority 3 trips
+     * @param penaltyPerY Penalty per pixel past the drop-off point
+     */
+    public record TripRates(float perY, float priority1, float priority2, float priority3, float penaltyPerY) {
+        /**
+         * Gets the rate of a priority level
+         *
+         * @param priority Priority level of trip
+         * @return float value of rate for priority
+         */
+        public float priorityRate(int priority) {
+            return switch (priority) {
+                case 1 -> priority1;
+                case 2 -> priority2;
+                case 3 -> priority3;
+                default -> throw new IllegalArgumentException("No rate for priority " + priority);
+            };
+        }
+    }
+
+    /**
+     * Settings of the taxi
+     *
+     * @param image         File path to taxi image
+     * @param damagedImage  File path to damaged taxi image
+     * @param radius        Collision radius
+     * @param health        Starting health out of 100
+     * @param damage        Damage dealt out of 100
+     * @param speedX        Horizontal speed
+     * @param speedY        Vertical scroll speed
+     * @param nextSpawnMinY Minimum Y-coordinate of a replacement taxi
+     * @param nextSpawnMaxY Maximum Y-coordinate of a replacement taxi
+     */
+    public record TaxiStats(String image, String damagedImage, float radius, int health, int damage, int speedX,
+                            int speedY, int nextSpawnMinY, int nextSpawnMaxY) {
+    }
+
+    /**
+     * Settings of a kind of car
+     *
+     * @param image     File path to car image, a format String when there are several types
+     * @param radius    Collision radius
+     * @param health    Starting health out of 100
+     * @param damage    Damage dealt out of 100
+     * @param minSpeedY Minimum vertical speed
+     * @param maxSpeedY Maximum vertical speed
+     * @param speedX    Horizontal speed
+     * @param types     Number of image variants
+     */
+    public record CarStats(String image, float radius, int health, int damage, int minSpeedY, int maxSpeedY,
+                           int speedX, int types) {
+        /**
+         * Gets the file path of an image variant
+         *
+         * @param type Variant number, starting at 1
+         * @return String value of file path to variant image
+         */
+        public String variant(int type) {
+            return String.format(image, type);
+        }
+    }
+
+    /**
+     * Settings of fireballs
+     *
+     * @param image       File path to fireball image
+     * @param radius      Collision radius
+     * @param damage      Damage dealt out of 100
+     * @param shootSpeedY Vertical speed
+     */
+    public record FireballStats(String image, float radius, int damage, int shootSpeedY) {
+    }
+
+    /**
+     * Settings of a visual effect
+     *
+     * @param image File path to effect image
+     * @param ttl   Frames the effect is shown for
+     */
+    public record EffectStats(String image, int ttl) {
+    }
+
+    /**
+     * Settings of passengers
+     *
+     * @param image            File path to passenger image
+     * @param umbrellaImage    File path to passenger with umbrella image
+     * @param walkSpeedX       Horizontal walking speed
+     * @param walkSpeedY       Vertical walking speed
+     * @param radius           Collision radius
+     * @param taxiDetectRadius Distance at which the taxi is noticed
+     * @param taxiGetInRadius  Distance at which the passenger gets in
+     * @param health           Starting health out of 100
+     * @param fontSize         Font size of priority
+     */
+    public record PassengerStats(String image, String umbrellaImage, int walkSpeedX, int walkSpeedY, float radius,
+                                 int taxiDetectRadius, int taxiGetInRadius, int health, int fontSize) {
+    }
+
+    /**
+     * Settings of the driver
+     *
+     * @param image           File path to driver image
+     * @param walkSpeedX      Horizontal walking speed
+     * @param walkSpeedY      Vertical walking speed
+     * @param radius          Collision radius
+     * @param taxiGetInRadius Distance at which the driver gets in
+     * @param health          Starting health out of 100
+     */
+    public record DriverStats(String image, int walkSpeedX, int walkSpeedY, float radius, float taxiGetInRadius,
+                              int health) {
+    }
+
+    /**
+     * Settings of the trip end flag
+     *
+     * @param image  File path to flag image
+     * @param radius Drop-off radius
+     */
+    public record FlagStats(String image, float radius) {
+    }
+
+    /**
+     * Settings of a power-up
+     *
+     * @param image     File path to power-up image
+     * @param radius    Collision radius
+     * @param maxFrames Frames the power lasts for
+     */
+    public record PowerStats(String image, float radius, int maxFrames) {
+    }
+
+    /**
+     * Timing of the fixed-timestep simulation loop
+     *
+     * @param tickRate         Simulation ticks per second
+     * @param maxTicksPerFrame Most ticks run for one displayed frame before the backlog is dropped
+     * @param uncapped         Run one tick per displayed frame without pacing, for benchmarking
+     */
+    public record Loop(int tickRate, int maxTicksPerFrame, boolean uncapped) {
+    }
+
+    /**
+     * Reads and validates the game and message properties files
+     *
+     * @param gamePath    File path to game properties
+     * @param messagePath File path to message properties
+     * @return Validated game configuration
+     * @throws IllegalArgumentException listing every missing or malformed key
+     */
+    public static GameConfig load(String gamePath, String messagePath) {
+        return parse(IOUtils.readPropertiesFile(gamePath), IOUtils.readPropertiesFile(messagePath));
+    }
+
+    /**
+     * Builds a game configuration from properties, collecting every problem before failing
+     *
+     * @param gameProp Properties object that holds game properties
+     * @param msgProp  Properties object that holds message properties
+     * @return Validated game configuration
+     * @throws IllegalArgumentException listing every missing or malformed key
+     */
+    public static GameConfig parse(Properties gameProp, Properties msgProp) {
+        Reader g = new Reader(gameProp);
+        Reader m = new Reader(msgProp);
+
+        Display display = new Display(g.positive("window.width"), g.positive("window.height"), g.text("font"));
+        Messages messages = new Messages(m.text("home.title"), m.text("home.instruction"),
+                m.text("home.resume"), m.text("playerInfo.start"), m.text("playerInfo.playerName"), m.text("gamePlay.earnings"),
+                m.text("gamePlay.remFrames"), m.text("gamePlay.target"), m.text("gamePlay.completedTrip.title"),
+                m.text("gamePlay.onGoingTrip.title"), m.text("gamePlay.trip.expectedEarning"),
+                m.text("gamePlay.trip.priority"), m.text("gamePlay.trip.penalty"), m.text("gamePlay.taxiHealth"),
+                m.text("gamePlay.driverHealth"), m.text("gamePlay.passengerHealth"), m.text("gameEnd.lost"),
+                m.text("gameEnd.won"), m.text("gameEnd.highestScores"), m.text("gameEnd.trips"));
+        Backgrounds backgrounds = new Backgrounds(g.text("backgroundImage.sunny"),
+                g.text("backgroundImage.raining"), g.text("backgroundImage.playerInfo"),
+                g.text("backgroundImage.home"), g.text("backgroundImage.gameEnd"));
+        HomeLayout home = new HomeLayout(g.positive("home.title.fontSize"), g.integer("home.title.y"),
+                g.positive("home.instruction.fontSize"), g.integer("home.instruction.y"),
+                g.integer("home.resume.y"));
+        PlayerInfoLayout playerInfo = new PlayerInfoLayout(g.positive("playerInfo.fontSize"),
+                g.integer("playerInfo.start.y"), g.integer("playerInfo.playerNameInput.y"),
+                g.integer("playerInfo.playerName.y"));
+        GameEndLayout gameEnd = new GameEndLayout(g.positive("gameEnd.status.fontSize"),
+                g.integer("gameEnd.status.y"), g.positive("gameEnd.scores.fontSize"), g.integer("gameEnd.scores.y"),
+                g.integer("gameEnd.trips.y"), g.text("gameEnd.scoresFile"));
+        GamePlay gamePlay = new GamePlay(g.text("gamePlay.objectsFile"), g.text("gamePlay.weatherFile"),
+                g.text("gamePlay.levelFile"),
+                g.decimal("gamePlay.target"), g.positive("gamePlay.maxFrames"),
+                g.integer("gamePlay.despawn.margin"), g.positive("gamePlay.despawn.interval"),
+                g.integer("gamePlay.activation.margin"), g.positive("gamePlay.activation.interval"),
+                g.positive("gamePlay.level.chunkSize"), g.integer("gamePlay.level.keepBelow"),
+                g.integer("gamePlay.pool.cars"), g.integer("gamePlay.pool.fireballs"),
+                g.positive("gamePlay.profiler.frames"), g.text("gamePlay.profiler.file"),
+                g.text("gamePlay.ledger.file"), g.positive("gamePlay.rewind.interval"),
+                g.integer("gamePlay.rewind.slots"), g.text("gamePlay.autosave.file"),
+                g.integer("gamePlay.autosave.interval"),
+                List.of(g.integer("roadLaneCenter1"), g.integer("roadLaneCenter2"), g.integer("roadLaneCenter3")));
+        Hud hud = new Hud(g.positive("gamePlay.info.fontSize"), g.point("gamePlay.earnings"),
+                g.point("gamePlay.target"), g.point("gamePlay.maxFrames"), g.point("gamePlay.passengerHealth"),
+                g.point("gamePlay.driverHealth"), g.point("gamePlay.taxiHealth"), g.point("gameplay.coin"),
+                g.point("gamePlay.tripInfo"));
+        TripRates rates = new TripRates(g.decimal("trip.rate.perY"), g.decimal("trip.rate.priority1"),
+                g.decimal("trip.rate.priority2"), g.decimal("trip.rate.priority3"), g.decimal("trip.penalty.perY"));
+        TaxiStats taxi = new TaxiStats(g.text("gameObjects.taxi.image"), g.text("gameObjects.taxi.damagedImage"),
+                g.decimal("gameObjects.taxi.radius"), g.percent("gameObjects.taxi.health"),
+                g.percent("gameObjects.taxi.damage"), g.integer("gameObjects.taxi.speedX"),
+                g.integer("gameObjects.taxi.speedY"), g.integer("gameObjects.taxi.nextSpawnMinY"),
+                g.integer("gameObjects.taxi.nextSpawnMaxY"));
+        g.check(taxi.nextSpawnMinY() <= taxi.nextSpawnMaxY(),
+                "gameObjects.taxi.nextSpawnMinY is greater than gameObjects.taxi.nextSpawnMaxY");
+        CarStats otherCar = g.car("gameObjects.otherCar");
+        CarStats enemyCar = g.car("gameObjects.enemyCar");
+        FireballStats fireball = new FireballStats(g.text("gameObjects.fireball.image"),
+                g.decimal("gameObjects.fireball.radius"), g.percent("gameObjects.fireball.damage"),
+                g.integer("gameObjects.fireball.shootSpeedY"));
+        EffectStats smoke = g.effect("gameObjects.smoke");
+        EffectStats fire = g.effect("gameObjects.fire");
+        EffectStats blood = g.effect("gameObjects.blood");
+        PassengerStats passenger = new PassengerStats(g.text("gameObjects.passenger.image"),
+                g.text("gameObjects.passenger.Umbrella.image"), g.integer("gameObjects.passenger.walkSpeedX"),
+                g.integer("gameObjects.passenger.walkSpeedY"), g.decimal("gameObjects.passenger.radius"),
+                g.integer("gameObjects.passenger.taxiDetectRadius"),
+                g.integer("gameObjects.passenger.taxiGetInRadius"), g.percent("gameObjects.passenger.health"),
+                g.positive("gameObjects.passenger.fontSize"));
+        DriverStats driver = new DriverStats(g.text("gameObjects.driver.image"),
+                g.integer("gameObjects.driver.walkSpeedX"), g.integer("gameObjects.driver.walkSpeedY"),
+                g.decimal("gameObjects.driver.radius"), g.decimal("gameObjects.driver.taxiGetInRadius"),
+                g.percent("gameObjects.driver.health"));
+        FlagStats flag = new FlagStats(g.text("gameObjects.tripEndFlag.image"),
+                g.decimal("gameObjects.tripEndFlag.radius"));
+        PowerStats invinciblePower = g.power("gameObjects.invinciblePower");
+        PowerStats coin = g.power("gameObjects.coin");
+        Loop loop = new Loop(g.positive("loop.tickRate"), g.positive("loop.maxTicksPerFrame"),
+                g.bool("loop.uncapped"));
+
+        List<String> errors = new ArrayList<>(g.ERRORS);
+        errors.addAll(m.ERRORS);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid game configuration:\n  " + String.join("\n  ", errors));
+        }
+        return new GameConfig(display, messages, backgrounds, home, playerInfo, gameEnd, gamePlay, hud, rates, taxi,
+                otherCar, enemyCar, fireball, smoke, fire, blood, passenger, driver, flag, invinciblePower, coin,
+                loop);
+    }
+
+    /**
+     * Typed reader over a Properties object that records every missing or malformed key instead of failing
+     * on the first one. Failed reads return a placeholder value so parsing can carry on.
+     */
+    private static final class Reader {
+        /**
+         * Properties being read
+         */
+        private final Properties SOURCE;
+        /**
+         * Problems found so far
+         */
+        private final List<String> ERRORS = new ArrayList<>();
+
+        /**
+         * Constructor for a Reader over a Properties object
+         *
+         * @param source Properties to read
+         */
+        private Reader(Properties source) {
+            this.SOURCE = source;
+        }
+
+        /**
+         * Reads a String value
+         *
+         * @param key Property key
+         * @return String value, or an empty String if missing
+         */
+        private String text(String key) {
+            String value = SOURCE.getProperty(key);
+            if (value == null) {
+                ERRORS.add("missing key " + key);
+                return "";
+            }
+            return value;
+        }
+
+        /**
+         * Reads an integer value
+         *
+         * @param key Property key
+         * @return int value, or 0 if missing or malformed
+         */
+        private int integer(String key) {
+            String value = SOURCE.getProperty(key);
+            if (value == null) {
+                ERRORS.add("missing key " + key);
+                return 0;
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException ex) {
+                ERRORS.add(key + " is not an integer: '" + value + "'");
+                return 0;
+            }
+        }
+
+        /**
+         * Reads an integer value that must be greater than zero
+         *
+         * @param key Property key
+         * @return int value, or 0 if missing or malformed
+         */
+        private int positive(String key) {
+            int errors = ERRORS.size();
+            int value = integer(key);
+            check(value > 0 || ERRORS.size() > errors, key + " must be greater than 0");
+            return value;
+        }
+
+        /**
+         * Reads a true or false value
+         *
+         * @param key Property key
+         * @return boolean value, or false if missing or malformed
+         */
+        private boolean bool(String key) {
+            String value = text(key).trim();
+            check(value.isEmpty() || value.equals("true") || value.equals("false"),
+                    key + " must be true or false: '" + value + "'");
+            return value.equals("true");
+        }
+
+        /**
+         * Reads a decimal value
+         *
+         * @param key Property key
+         * @return float value, or 0 if missing or malformed
+         */
+        private float decimal(String key) {
+            String value = SOURCE.getProperty(key);
+            if (value == null) {
+                ERRORS.add("missing key " + key);
+                return 0;
+            }
+            try {
+                return Float.parseFloat(value.trim());
+            } catch (NumberFormatException ex) {
+                ERRORS.add(key + " is not a number: '" + value + "'");
+                return 0;
+            }
+        }
+
+        /**
+         * Reads a fractional value such as health or damage as an integer out of 100
+         *
+         * @param key Property key
+         * @return int value of fraction times 100
+         */
+        private int percent(String key) {
+            return (int) (100 * (double) decimal(key));
+        }
+
+        /**
+         * Reads the .x and .y values of a text position
+         *
+         * @param key Property key prefix
+         * @return Position of text
+         */
+        private Point point(String key) {
+            return new Point(integer(key + ".x"), integer(key + ".y"));
+        }
+
+        /**
+         * Reads the settings of a kind of car
+         *
+         * @param key Property key prefix
+         * @return Car settings
+         */
+        private CarStats car(String key) {
+            CarStats car = new CarStats(text(key + ".image"), decimal(key + ".radius"), percent(key + ".health"),
+                    percent(key + ".damage"), integer(key + ".minSpeedY"), integer(key + ".maxSpeedY"),
+                    integer(key + ".speedX"), positive(key + ".types"));
+            check(car.minSpeedY() <= car.maxSpeedY(), key + ".minSpeedY is greater than " + key + ".maxSpeedY");
+            return car;
+        }
+
+        /**
+         * Reads the settings of a visual effect
+         *
+         * @param key Property key prefix
+         * @return Effect settings
+         */
+        private EffectStats effect(String key) {
+            return new EffectStats(text(key + ".image"), integer(key + ".ttl"));
+        }
+
+        /**
+         * Reads the settings of a power-up
+         *
+         * @param key Property key prefix
+         * @return Power-up settings
+         */
+        private PowerStats power(String key) {
+            return new PowerStats(text(key + ".image"), decimal(key + ".radius"), integer(key + ".maxFrames"));
+        }
+
+        /**
+         * Records a problem if a condition does not hold
+         *
+         * @param condition Condition that should hold
+         * @param message   Description of the problem
+         */
+        private void check(boolean condition, String message) {
+            if (!condition) {
+                ERRORS.add(message);
+            }
+        }
+    }
+}
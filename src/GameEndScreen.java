@@ -1,12 +1,7 @@
 import bagel.Font;
 import bagel.Image;
-import bagel.Input;
 import bagel.Keys;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Properties;
-
 /**
  * This class contains attributes and methods relevant to the end screen of the Shadow Taxi game loop
  *
@@ -14,9 +9,9 @@ import java.util.Properties;
  */
 public class GameEndScreen extends Screen {
     /**
-     * Image object that holds background image of end screen
+     * Shared handle to background image of end screen
      */
-    private final Image BG;
+    private final Asset<Image> BG;
     /**
      * String containing winner message
      */
@@ -32,11 +27,11 @@ public class GameEndScreen extends Screen {
     /**
      * Font object for status text
      */
-    private final Font STATUS_FONT;
+    private final Asset<Font> STATUS_FONT;
     /**
      * Font object for leaderboard text
      */
-    private final Font SCORES_FONT;
+    private final Asset<Font> SCORES_FONT;
     /**
      * Y-coordinate of status text
      */
@@ -46,42 +41,46 @@ public class GameEndScreen extends Screen {
      */
     private final int SCORES_Y;
     /**
-     * Array of top scores
+     * Y-coordinate of trip summary
      */
-    private final Score[] TOP_SCORES;
+    private final int TRIPS_Y;
     /**
-     * Array of scores
+     * Array of top scores, highest first
      */
-    private Score[] scores;
+    private final Score[] TOP_SCORES;
     /**
      * Boolean value determining if game was won or not
      */
     private boolean isWon;
+    /**
+     * Summary of the trips of the game that ended, or null if there is none
+     */
+    private String tripSummary;
 
     /**
      * Constructor for the ending screen of Shadow Taxi after a game is completed
      *
-     * @param gameProp Properties object that holds game properties
+     * @param config Game configuration
      */
-    public GameEndScreen(Properties gameProp) {
-        super(gameProp.getProperty("backgroundImage.gameEnd"));
+    public GameEndScreen(GameConfig config) {
+        super(config, config.backgrounds().gameEnd());
 
-        BG = new Image(getIMG_PATH());
+        BG = AssetCache.image(getIMG_PATH());
 
-        GAME_WON_TXT = getMsgProp().getProperty("gameEnd.won");
-        GAME_LOST_TXT = getMsgProp().getProperty("gameEnd.lost");
-        HIGHEST_SCORE_TXT = getMsgProp().getProperty("gameEnd.highestScores");
+        GAME_WON_TXT = config.messages().won();
+        GAME_LOST_TXT = config.messages().lost();
+        HIGHEST_SCORE_TXT = config.messages().highestScores();
 
-        STATUS_Y = Integer.parseInt(getGameProp().getProperty("gameEnd.status.y"));
-        SCORES_Y = Integer.parseInt(getGameProp().getProperty("gameEnd.scores.y"));
+        STATUS_Y = config.gameEnd().statusY();
+        SCORES_Y = config.gameEnd().scoresY();
+        TRIPS_Y = config.gameEnd().tripsY();
 
-        String fontFile = getGameProp().getProperty("font");
-        STATUS_FONT = new Font(fontFile, Integer.parseInt(getGameProp().getProperty("gameEnd.status.fontSize")));
-        SCORES_FONT = new Font(fontFile, Integer.parseInt(getGameProp().getProperty("gameEnd.scores.fontSize")));
+        String fontFile = config.display().font();
+        STATUS_FONT = AssetCache.font(fontFile, config.gameEnd().statusFontSize());
+        SCORES_FONT = AssetCache.font(fontFile, config.gameEnd().scoresFontSize());
 
-        //get top 5 scores
-        populateScores(getGameProp().getProperty("gameEnd.scoresFile"));
-        TOP_SCORES = getTopScores();
+        // the store keeps the top scores up to date as games end, so nothing is read or sorted here
+        TOP_SCORES = ScoreStore.open(config.gameEnd().scoresFile()).getTopScores();
     }
 
     /**
@@ -94,14 +93,24 @@ public class GameEndScreen extends Screen {
     }
 
     /**
-     * Show whether the game is won or lost and the top 5 scores.
+     * Sets the trip summary shown under the game status from the ledger of the game that ended
+     *
+     * @param ledger Ledger of the trips taken in the game
+     */
+    public void setLedger(TripLedger ledger) {
+        GameConfig.Messages messages = getConfig().messages();
+        this.tripSummary = messages.trips() + ledger.getTripCount() + "   " + messages.penalty()
+                + String.format("%.02f", ledger.getTotalPenalty());
+    }
+
+    /**
+     * Waits on the game end screen for the player to continue.
      *
      * @param input The current mouse/keyboard input.
      * @return true if SPACE key is pressed, false otherwise.
      */
     @Override
-    public boolean update(Input input) {
-        render();
+    public boolean update(GameInput input) {
         return input.wasPressed(Keys.SPACE);
     }
 
@@ -110,7 +119,7 @@ public class GameEndScreen extends Screen {
      */
     @Override
     public void render() {
-        BG.drawFromTopLeft(0, 0);
+        BG.get().drawFromTopLeft(0, 0);
         if (isWon) {
             renderCentreText(STATUS_FONT, GAME_WON_TXT, getWinCentreX(), STATUS_Y, getTextWhite());
         } else {
@@ -118,6 +127,9 @@ public class GameEndScreen extends Screen {
         }
 
         renderCentreText(SCORES_FONT, HIGHEST_SCORE_TXT, getWinCentreX(), SCORES_Y, getTextWhite());
+        if (tripSummary != null) {
+            renderCentreText(SCORES_FONT, tripSummary, getWinCentreX(), TRIPS_Y, getTextWhite());
+        }
 
         int scoreIdx = 0;
         for (Score score : TOP_SCORES) {
@@ -132,30 +144,11 @@ public class GameEndScreen extends Screen {
     }
 
     /**
-     * Populate the scores from a file. The file used to store the scores of previous game plays.
-     *
-     * @param filename The name of the file to read the scores from.
-     */
-    private void populateScores(String filename) {
-        ArrayList<String[]> data = IOUtils.readCommaSeparatedFile(filename);
-        scores = new Score[data.size()];
-
-        int scoreIdx = 0;
-        for (String[] line : data) {
-            String username = line[0];
-            double score = Double.parseDouble(line[1]);
-            scores[scoreIdx] = new Score(username, score);
-            scoreIdx++;
-        }
-    }
-
-    /**
-     * Sort the score in descending order and return the top 5 scores.
+     * Gets the top scores shown on the end screen, highest first.
      *
-     * @return array of Score objects representing the top 5 scores.
+     * @return array of Score objects representing up to the top 5 scores.
      */
     public Score[] getTopScores() {
-        Arrays.sort(scores, (a, b) -> Double.compare(b.getScore(), a.getScore()));
-        return Arrays.copyOfRange(scores, 0, 5);
+        return TOP_SCORES;
     }
 }
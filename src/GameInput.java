@@ -0,0 +1,33 @@
+import bagel.Keys;
+
+/**
+ * Interface for the keyboard state read by screens and entities each frame. Decouples the game logic from
+ * bagel's Input, so the simulation can be driven by a window or by a script.
+ *
+ * @author Kevin Tran
+ */
+public interface GameInput {
+    /**
+     * Checks if a key is held down this frame
+     *
+     * @param key Key to check
+     * @return true if the key is held down, false otherwise
+     */
+    boolean isDown(Keys key);
+
+    /**
+     * Checks if a key went down this frame
+     *
+     * @param key Key to check
+     * @return true if the key was pressed this frame, false otherwise
+     */
+    boolean wasPressed(Keys key);
+
+    /**
+     * Checks if a key went up this frame
+     *
+     * @param key Key to check
+     * @return true if the key was released this frame, false otherwise
+     */
+    boolean wasReleased(Keys key);
+}
@@ -0,0 +1,131 @@
+/**
+ * Random number service of a single game. Every stream is derived from one seed, and each kind of random
+ * decision draws from its own stream, so spawning more or fewer fireballs does not shift the lanes that cars
+ * spawn in. Running a game twice with the same seed and input gives the same game frame for frame.
+ *
+ * @author Kevin Tran
+ */
+public class GameRandom {
+    /**
+     * Seed that every stream is derived from
+     */
+    private final long SEED;
+    /**
+     * Stream for car spawn timing, lanes and spawn heights
+     */
+    private final RandomStream SPAWNS;
+    /**
+     * Stream for enemy fireball timing
+     */
+    private final RandomStream FIREBALLS;
+    /**
+     * Stream for car speeds
+     */
+    private final RandomStream CAR_SPEEDS;
+    /**
+     * Stream for passive car sprites
+     */
+    private final RandomStream SPRITES;
+
+    /**
+     * Constructor for the random number service of a game
+     *
+     * @param seed Seed that every stream is derived from
+     */
+    public GameRandom(long seed) {
+        this.SEED = seed;
+        this.SPAWNS = stream(seed, "spawns");
+        this.FIREBALLS = stream(seed, "fireballs");
+        this.CAR_SPEEDS = stream(seed, "carSpeeds");
+        this.SPRITES = stream(seed, "sprites");
+    }
+
+    /**
+     * Creates a named stream whose seed depends on both the game seed and the name
+     *
+     * @param seed Game seed
+     * @param name Name of stream
+     * @return RandomStream for the name
+     */
+    private static RandomStream stream(long seed, String name) {
+        return new RandomStream(RandomStream.mix(seed ^ RandomStream.mix(name.hashCode())));
+    }
+
+    /**
+     * Creates a service with a seed taken from the clock, for games that do not need to be reproduced
+     *
+     * @return GameRandom with a fresh seed
+     */
+    public static GameRandom unseeded() {
+        return new GameRandom(RandomStream.mix(System.nanoTime()));
+    }
+
+    /**
+     * Gets seed that every stream is derived from
+     *
+     * @return long value of seed
+     */
+    public long getSeed() {
+        return SEED;
+    }
+
+    /**
+     * Gets stream for car spawn timing, lanes and spawn heights
+     *
+     * @return RandomStream for spawns
+     */
+    public RandomStream spawns() {
+        return SPAWNS;
+    }
+
+    /**
+     * Gets stream for enemy fireball timing
+     *
+     * @return RandomStream for fireballs
+     */
+    public RandomStream fireballs() {
+        return FIREBALLS;
+    }
+
+    /**
+     * Gets stream for car speeds
+     *
+     * @return RandomStream for car speeds
+     */
+    public RandomStream carSpeeds() {
+        return CAR_SPEEDS;
+    }
+
+    /**
+     * Gets stream for passive car sprites
+     *
+     * @return RandomStream for sprites
+     */
+    public RandomStream sprites() {
+        return SPRITES;
+    }
+
+    /**
+     * Writes the state of every stream
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        SPAWNS.saveState(snapshot);
+        FIREBALLS.saveState(snapshot);
+        CAR_SPEEDS.saveState(snapshot);
+        SPRITES.saveState(snapshot);
+    }
+
+    /**
+     * Puts every stream back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        SPAWNS.restoreState(snapshot);
+        FIREBALLS.restoreState(snapshot);
+        CAR_SPEEDS.restoreState(snapshot);
+        SPRITES.restoreState(snapshot);
+    }
+}
@@ -0,0 +1,59 @@
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Starts a flight recording of the game's events. The events are disabled by default, so they cost a single
+ * check when no recording asks for them. Setting the system property shadowtaxi.jfr to a file path records
+ * them together with the JDK's default events, such as garbage collections, and writes the recording to
+ * that file when the game exits.
+ *
+ * @author Kevin Tran
+ */
+public class GameRecorder {
+    /**
+     * System property holding the file path to record to
+     */
+    public static final String PROPERTY = "shadowtaxi.jfr";
+
+    /**
+     * Private constructor as this class only holds static methods
+     */
+    private GameRecorder() {
+    }
+
+    /**
+     * Starts recording if the system property is set
+     */
+    public static void startFromProperty() {
+        String file = System.getProperty(PROPERTY);
+        if (file != null && !file.isEmpty()) {
+            start(file);
+        }
+    }
+
+    /**
+     * Starts a recording of the JDK's default events and every game event, written to a file on exit
+     *
+     * @param file File path to write the recording to
+     */
+    public static void start(String file) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("Shadow Taxi");
+            recording.enable(FrameEvent.class);
+            recording.enable(CollisionPairEvent.class);
+            recording.enable(SpawnEvent.class);
+            recording.enable(TripEvent.class);
+            recording.enable(AssetLoadEvent.class).withStackTrace();
+            recording.setDestination(Path.of(file));
+            recording.setDumpOnExit(true);
+            recording.start();
+        } catch (IOException | ParseException ex) {
+            System.err.println("Could not start flight recording: " + ex.getMessage());
+        }
+    }
+}
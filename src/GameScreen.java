@@ -1,7 +1,7 @@
 import bagel.*;
 
 import java.util.ArrayList;
-import java.util.Properties;
+import java.util.Arrays;
 
 /**
  * Represents the gamePlay screen in the game.
@@ -26,9 +26,9 @@ public class GameScreen extends Screen {
      */
     private int currFrame = 0;
     /**
-     * ArrayList of String[] that holds gameObjects.csv
+     * Level that hands out the rows of game objects as the game nears them, and takes them back on a rewind
      */
-    private final ArrayList<String[]> GAME_OBJECTS;
+    private final RewindableLevel LEVEL;
     /**
      * Taxi object of game
      */
@@ -74,9 +74,49 @@ public class GameScreen extends Screen {
      */
     private final static int ENEMY_SPAWN_RATE = 400;
     /**
-     * CSV file containing frame ranges of weather states
+     * Lifecycle manager that removes finished cars and fireballs
      */
-    private final ArrayList<String[]> weatherFile;
+    private final EntityLifecycle LIFECYCLE;
+    /**
+     * Activation window that keeps passengers, coins and stars far from the action dormant
+     */
+    private final ActivationWindow ACTIVATION;
+    /**
+     * Profiler that times each phase of update and render
+     */
+    private final FrameProfiler PROFILER;
+    /**
+     * Number of live entities on each collision layer, refreshed every frame for the metrics gauges
+     */
+    private final int[] LAYER_COUNTS = new int[CollisionLayer.COUNT];
+    /**
+     * Shared handle to font for rendering the profiler overlay
+     */
+    private final Asset<Font> PROFILE_FONT;
+    /**
+     * Position and line spacing of the profiler overlay
+     */
+    private static final int PROFILE_X = 10, PROFILE_Y = 140, PROFILE_LINE_HEIGHT = 16, PROFILE_FONT_SIZE = 14;
+    /**
+     * State indicating if the profiler overlay is shown, toggled with P
+     */
+    private boolean showProfile;
+    /**
+     * Pool of passive cars to spawn from
+     */
+    private final EntityPool<PassiveCar> PASSIVE_POOL;
+    /**
+     * Pool of enemy cars to spawn from
+     */
+    private final EntityPool<Enemy> ENEMY_POOL;
+    /**
+     * Pool of fireballs that enemy cars shoot from
+     */
+    private final EntityPool<Fireball> FIREBALL_POOL;
+    /**
+     * Weather of the level over time, which swaps the background when it changes
+     */
+    private final WeatherTimeline WEATHER;
     /**
      * Target number for earnings
      */
@@ -88,31 +128,68 @@ public class GameScreen extends Screen {
     /**
      * Different images to render based on weather state
      */
-    private final Image BG_SUN, BG_RAIN;
+    private final Asset<Image> BG_SUN, BG_RAIN;
     /**
      * Current images to be rendered
      */
-    private Image bgCurr1, bgCurr2;
+    private Asset<Image> bgCurr1, bgCurr2;
     /**
      * Current Y-coordinate of rendered images
      */
     private double currY1, currY2;
+    /**
+     * Y-coordinates to draw background images at, between the last two ticks
+     */
+    private double renderY1, renderY2;
+    /**
+     * Number of pixels the screen scrolled in the last tick
+     */
+    private int scrolled;
+    /**
+     * Offset of the camera, added to the world Y-coordinate of an entity to get its screen Y-coordinate.
+     * Scrolling only moves the camera, so entities left behind in the world are never touched.
+     */
+    private int cameraY;
+    /**
+     * Offset of the camera at the start of the current tick
+     */
+    private int prevCameraY;
     /**
      * Initial Y-coordinate value for first screen
      */
-    private final double BG_INIT_Y = Window.getHeight() / 2.0;
+    private final double BG_INIT_Y;
     /**
      * Player name to store in score.csv
      */
     private final String PLAYER_NAME;
+    /**
+     * Ledger of the trips taken this game, which earnings are read from
+     */
+    private final TripLedger LEDGER;
+    /**
+     * Random number service that spawning and cars draw from
+     */
+    private final GameRandom RANDOM;
     /**
      * State indicating if data was written to file
      */
     private boolean savedData;
     /**
-     * Font object for rendering text
+     * Store the score of the game is added to when the game ends
+     */
+    private final ScoreStore SCORES;
+    /**
+     * Latest snapshots of the game, which the rewind key puts the game back to
+     */
+    private final RewindRing REWIND;
+    /**
+     * Number of frames between snapshots
      */
-    private final Font INFO_FONT;
+    private final int REWIND_INTERVAL;
+    /**
+     * Shared handle to font for rendering text
+     */
+    private final Asset<Font> INFO_FONT;
     /**
      * X and Y coordinates of earnings text
      */
@@ -161,144 +238,276 @@ public class GameScreen extends Screen {
     /**
      * Constructor for GameScreen that instantiates the gameplay of Shadow Taxi
      *
-     * @param gameProp   Properties object that holds game properties
+     * @param config     Game configuration
      * @param playerName String input from PlayerInfoScreen of the player's name
+     * @param random     Random number service of the game, seeded to reproduce a run
      */
-    public GameScreen(Properties gameProp, String playerName) {
-        super(gameProp.getProperty("backgroundImage"));
+    public GameScreen(GameConfig config, String playerName, GameRandom random) {
+        super(config, config.backgrounds().sunny());
+        preloadAssets();
+        this.RANDOM = random;
 
-        // read game objects from file and weather file and populate the game objects and weather conditions
-        GAME_OBJECTS = IOUtils.readCommaSeparatedFile(getGameProp().getProperty("gamePlay.objectsFile"));
-        weatherFile = IOUtils.readCommaSeparatedFile(getGameProp().getProperty("gamePlay.weatherFile"));
+        // open the level, then populate the game objects and weather conditions
+        this.LEVEL = new RewindableLevel(Level.open(config.gamePlay()));
+        this.WEATHER = new WeatherTimeline(LEVEL.getWeather(), this::changeWeather);
+        this.LEDGER = new TripLedger();
         this.PASSENGERS = new ArrayList<>();
         this.COINS = new ArrayList<>();
         this.STARS = new ArrayList<>();
         this.CARS = new ArrayList<>();
         this.ENTITIES = new ArrayList<>();
+        this.ACTIVATION = new ActivationWindow(config.gamePlay().wakeMargin(), config.gamePlay().sleepInterval(),
+                this::wakeEntity);
         initObjects();
 
-        this.LANES = new int[]{
-                Integer.parseInt(getGameProp().getProperty("roadLaneCenter1")),
-                Integer.parseInt(getGameProp().getProperty("roadLaneCenter2")),
-                Integer.parseInt(getGameProp().getProperty("roadLaneCenter3"))
-        };
+        this.LANES = config.gamePlay().lanes().stream().mapToInt(Integer::intValue).toArray();
 
         this.Y_SPAWNS = new int[]{-50, 768};
 
-        this.TARGET = Float.parseFloat(getGameProp().getProperty("gamePlay.target"));
-        this.MAX_FRAMES = Integer.parseInt(getGameProp().getProperty("gamePlay.maxFrames"));
+        this.TARGET = config.gamePlay().target();
+        this.MAX_FRAMES = config.gamePlay().maxFrames();
+        this.PROFILER = new FrameProfiler(config.gamePlay().profileFrames());
+        this.PROFILE_FONT = AssetCache.font(config.display().font(), PROFILE_FONT_SIZE);
+        this.LIFECYCLE = new EntityLifecycle(config.gamePlay().despawnMargin(), config.gamePlay().despawnInterval(),
+                config.display().height(), this::releaseEntity);
+
+        int carPrewarm = config.gamePlay().carPool();
+        this.FIREBALL_POOL = new EntityPool<>(() -> new Fireball(config, 0, 0), config.gamePlay().fireballPool());
+        this.ENEMY_POOL = new EntityPool<>(() -> new Enemy(config, 0, 0, FIREBALL_POOL, random), carPrewarm);
+        this.PASSIVE_POOL = new EntityPool<>(() -> new PassiveCar(config, 0, 0, random), carPrewarm);
+        this.REWIND = new RewindRing(config.gamePlay().rewindSlots());
+        this.REWIND_INTERVAL = config.gamePlay().rewindInterval();
 
-        this.BG_SUN = new Image(getGameProp().getProperty("backgroundImage.sunny"));
-        this.BG_RAIN = new Image(getGameProp().getProperty("backgroundImage.raining"));
+        registerMetrics();
+
+        this.BG_SUN = AssetCache.image(config.backgrounds().sunny());
+        this.BG_RAIN = AssetCache.image(config.backgrounds().raining());
+        this.BG_INIT_Y = config.display().height() / 2.0;
         this.currY1 = BG_INIT_Y;
         this.currY2 = -BG_INIT_Y;
+        this.renderY1 = currY1;
+        this.renderY2 = currY2;
 
         // display text vars
-        INFO_FONT = new Font(getGameProp().getProperty("font"), Integer.parseInt(
-                getGameProp().getProperty("gamePlay.info.fontSize")));
-        EARNINGS_Y = Integer.parseInt(getGameProp().getProperty("gamePlay.earnings.y"));
-        EARNINGS_X = Integer.parseInt(getGameProp().getProperty("gamePlay.earnings.x"));
-        COIN_X = Integer.parseInt(getGameProp().getProperty("gameplay.coin.x"));
-        COIN_Y = Integer.parseInt(getGameProp().getProperty("gameplay.coin.y"));
-        TARGET_X = Integer.parseInt(getGameProp().getProperty("gamePlay.target.x"));
-        TARGET_Y = Integer.parseInt(getGameProp().getProperty("gamePlay.target.y"));
-        MAX_FRAMES_X = Integer.parseInt(getGameProp().getProperty("gamePlay.maxFrames.x"));
-        MAX_FRAMES_Y = Integer.parseInt(getGameProp().getProperty("gamePlay.maxFrames.y"));
-
-        TAXI_HEALTH_X = Integer.parseInt(getGameProp().getProperty("gamePlay.taxiHealth.x"));
-        TAXI_HEALTH_Y = Integer.parseInt(getGameProp().getProperty("gamePlay.taxiHealth.y"));
-        PASSENGER_HEALTH_X = Integer.parseInt(getGameProp().getProperty("gamePlay.passengerHealth.x"));
-        PASSENGER_HEALTH_Y = Integer.parseInt(getGameProp().getProperty("gamePlay.passengerHealth.y"));
-        DRIVER_HEALTH_X = Integer.parseInt(getGameProp().getProperty("gamePlay.driverHealth.x"));
-        DRIVER_HEALTH_Y = Integer.parseInt(getGameProp().getProperty("gamePlay.driverHealth.y"));
+        GameConfig.Hud hud = config.hud();
+        INFO_FONT = AssetCache.font(config.display().font(), hud.fontSize());
+        EARNINGS_Y = hud.earnings().y();
+        EARNINGS_X = hud.earnings().x();
+        COIN_X = hud.coin().x();
+        COIN_Y = hud.coin().y();
+        TARGET_X = hud.target().x();
+        TARGET_Y = hud.target().y();
+        MAX_FRAMES_X = hud.maxFrames().x();
+        MAX_FRAMES_Y = hud.maxFrames().y();
+
+        TAXI_HEALTH_X = hud.taxiHealth().x();
+        TAXI_HEALTH_Y = hud.taxiHealth().y();
+        PASSENGER_HEALTH_X = hud.passengerHealth().x();
+        PASSENGER_HEALTH_Y = hud.passengerHealth().y();
+        DRIVER_HEALTH_X = hud.driverHealth().x();
+        DRIVER_HEALTH_Y = hud.driverHealth().y();
 
         // current trip info vars
-        TRIP_INFO_X = Integer.parseInt(getGameProp().getProperty("gamePlay.tripInfo.x"));
-        TRIP_INFO_Y = Integer.parseInt(getGameProp().getProperty("gamePlay.tripInfo.y"));
+        TRIP_INFO_X = hud.tripInfo().x();
+        TRIP_INFO_Y = hud.tripInfo().y();
         TRIP_INFO_OFFSET_1 = 30;
         TRIP_INFO_OFFSET_2 = 60;
         TRIP_INFO_OFFSET_3 = 90;
 
         this.PLAYER_NAME = playerName;
+        // opened now, so the top scores are loaded before the game end screen shows them
+        this.SCORES = ScoreStore.open(config.gameEnd().scoresFile());
     }
 
     /**
-     * Changes the current background images based on the weather file frame ranges
-     * by parsing through weatherFile
+     * Loads the images of the level's sprites and backgrounds before the game starts. Rarely seen images such as
+     * the damaged taxi and blood are left to load lazily.
      */
-    private void changeWeather() {
-        int state = 0, start = 1, end = 2;
-
-        for (String[] currLine : weatherFile) {
-            if (currFrame >= Integer.parseInt(currLine[start]) &&
-                    currFrame <= Integer.parseInt(currLine[end])) {
-                if (currLine[state].equals("SUNNY")) {
-                    bgCurr1 = bgCurr2 = BG_SUN;
-                }
-                if (currLine[state].equals("RAINING")) {
-                    bgCurr1 = bgCurr2 = BG_RAIN;
-                }
-            }
+    private void preloadAssets() {
+        GameConfig config = getConfig();
+        AssetCache.preload(config.backgrounds().sunny(), config.backgrounds().raining(), config.taxi().image(),
+                config.driver().image(), config.passenger().image(), config.passenger().umbrellaImage(),
+                config.coin().image(), config.invinciblePower().image(), config.flag().image(),
+                config.enemyCar().image(), config.fireball().image(), config.fire().image(), config.smoke().image());
+        for (int type = 1; type <= config.otherCar().types(); type++) {
+            AssetCache.preload(config.otherCar().variant(type));
         }
     }
 
     /**
-     * Initialises game objects by parsing through gameObjects
+     * Changes the current background images when the weather changes
+     *
+     * @param state New weather, as a WeatherTimeline weather id
+     */
+    private void changeWeather(int state) {
+        bgCurr1 = bgCurr2 = state == WeatherTimeline.RAINING ? BG_RAIN : BG_SUN;
+    }
+
+    /**
+     * Initialises the taxi and driver, then loads the game objects around them
      */
     private void initObjects() {
-        int type = 0, initX = 1, initY = 2, priority = 3, endX = 4, endY = 5, umbrellaState = 6;
-        int passengerCount = 0;
-        for (String[] obj : GAME_OBJECTS) {
-            if (obj[type].equals("PASSENGER")) {
-                passengerCount++;
-            }
-        }
-        for (String[] obj : GAME_OBJECTS) {
-            switch (obj[type]) {
+        for (Level.Row obj : LEVEL.getPlayers()) {
+            switch (obj.type()) {
                 case "DRIVER":
-                    this.driver = new Driver(getGameProp(), Integer.parseInt(obj[initX]), Integer.parseInt(obj[initY]));
+                    this.driver = new Driver(getConfig(), obj.x(), obj.y());
                     getEntities().add(driver);
                     break;
-                case "COIN":
-                    this.COINS.add(new Coin(getGameProp(), Integer.parseInt(obj[initX]), Integer.parseInt(obj[initY])));
-                    getEntities().add(COINS.get(COINS.size() - 1));
-                    break;
-                case "PASSENGER":
-                    this.PASSENGERS.add(new Passenger(getGameProp(), Integer.parseInt(obj[initX]),
-                            Integer.parseInt(obj[initY]),
-                            Integer.parseInt(obj[priority]),
-                            Integer.parseInt(obj[endX]),
-                            Integer.parseInt(obj[endY]),
-                            Integer.parseInt(obj[umbrellaState])));
-                    getEntities().add(PASSENGERS.get(PASSENGERS.size() - 1));
-                    break;
-                case "INVINCIBLE_POWER":
-                    this.STARS.add(new Star(getGameProp(), Integer.parseInt(obj[initX]), Integer.parseInt(obj[initY])));
-                    getEntities().add(STARS.get(STARS.size() - 1));
-                    break;
                 case "TAXI":
-                    this.taxi = new Taxi(getGameProp(), Integer.parseInt(obj[initX]), Integer.parseInt(obj[initY]), passengerCount);
+                    this.taxi = new Taxi(getConfig(), obj.x(), obj.y(), LEDGER);
                     getEntities().add(taxi);
                     break;
             }
         }
+        updateActivation();
     }
 
     /**
-     * Randomly spawns passive and enemy type cars
+     * Creates a game object from a row of the level. Passengers, coins and stars start dormant and are woken
+     * by the activation window.
+     *
+     * @param obj Row of the level
+     */
+    private void addObject(Level.Row obj) {
+        switch (obj.type()) {
+            case "COIN":
+                ACTIVATION.add(new Coin(getConfig(), obj.x(), obj.y()));
+                break;
+            case "PASSENGER":
+                ACTIVATION.add(new Passenger(getConfig(), obj.x(), obj.y(), obj.priority(), obj.endX(), obj.endY(),
+                        obj.umbrella()));
+                break;
+            case "INVINCIBLE_POWER":
+                ACTIVATION.add(new Star(getConfig(), obj.x(), obj.y()));
+                break;
+        }
+    }
+
+    /**
+     * Points the entity count gauges at this game. Gauges read counts refreshed once per frame, so a JMX
+     * tool never walks the entity lists while the game changes them.
+     */
+    private void registerMetrics() {
+        for (int layer = 0; layer < CollisionLayer.COUNT; layer++) {
+            int index = layer;
+            Metrics.gauge("entities." + CollisionLayer.name(layer), () -> LAYER_COUNTS[index]);
+        }
+        Metrics.gauge("entities.total", () -> getEntities().size());
+        Metrics.gauge("entities.dormant", ACTIVATION::getDormantCount);
+        Metrics.gauge("level.chunksPending", LEVEL::getPendingCount);
+        Metrics.gauge("cars.active", CARS::size);
+        Metrics.gauge("fireballs.active", FIREBALL_POOL::getInUse);
+        Metrics.gauge("frame.current", () -> currFrame);
+    }
+
+    /**
+     * Counts the live entities on each collision layer
+     */
+    private void countEntities() {
+        Arrays.fill(LAYER_COUNTS, 0);
+        for (Entity entity : getEntities()) {
+            LAYER_COUNTS[entity.getLayer()]++;
+        }
+    }
+
+    /**
+     * Moves the activation window over the screen, the taxi, the driver and every car, loading the chunks of
+     * the level it nears and waking the level entities it reaches. Puts idle ones that have fallen out of it
+     * back to sleep when a pass is due, and drops those left far behind.
+     */
+    private void updateActivation() {
+        int top = Math.min(-cameraY, Math.min(taxi.getY(), driver.getY()));
+        int bottom = Math.max(getConfig().display().height() - cameraY, Math.max(taxi.getY(), driver.getY()));
+        for (Car car : CARS) {
+            top = Math.min(top, car.getY());
+            bottom = Math.max(bottom, car.getY());
+        }
+        int margin = getConfig().gamePlay().wakeMargin();
+        for (Level.Row obj : LEVEL.load(top - margin, bottom + margin)) {
+            addObject(obj);
+        }
+        ACTIVATION.moveTo(top, bottom);
+        ACTIVATION.dropBelow(getConfig().gamePlay().keepBelow());
+
+        if (ACTIVATION.isSleepDue(currFrame)) {
+            // every dormant kind is also held in the entity list, so only store them in the window once
+            ACTIVATION.compact(getEntities(), true);
+            ACTIVATION.compact(PASSENGERS, false);
+            ACTIVATION.compact(COINS, false);
+            ACTIVATION.compact(STARS, false);
+        }
+    }
+
+    /**
+     * Adds an entity woken by the activation window back to the game, in its place in the level
+     *
+     * @param entity Woken entity
+     */
+    private void wakeEntity(Entity entity) {
+        // nothing moves while dormant, so it has no movement to draw
+        entity.storePosition();
+        ActivationWindow.insert(getEntities(), entity);
+        if (entity instanceof Passenger passenger) {
+            ActivationWindow.insert(PASSENGERS, passenger);
+        } else if (entity instanceof Coin coin) {
+            ActivationWindow.insert(COINS, coin);
+        } else if (entity instanceof Star star) {
+            ActivationWindow.insert(STARS, star);
+        }
+    }
+
+    /**
+     * Randomly spawns passive and enemy type cars from their pools
      */
     private void spawnCars() {
-        if (MiscUtils.canSpawn(ENEMY_SPAWN_RATE)) {
-            int laneIdx = MiscUtils.getRandomInt(0, LANES.length);
-            int yIdx = MiscUtils.getRandomInt(0, Y_SPAWNS.length);
-            this.CARS.add(new Enemy(getGameProp(), LANES[laneIdx], Y_SPAWNS[yIdx]));
-            getEntities().add(CARS.get(CARS.size() - 1));
+        RandomStream spawns = RANDOM.spawns();
+        if (MiscUtils.canSpawn(spawns, ENEMY_SPAWN_RATE)) {
+            int laneIdx = MiscUtils.getRandomInt(spawns, 0, LANES.length);
+            int yIdx = MiscUtils.getRandomInt(spawns, 0, Y_SPAWNS.length);
+            spawnCar(ENEMY_POOL, "enemy", LANES[laneIdx], Y_SPAWNS[yIdx] - cameraY);
         }
-        if (MiscUtils.canSpawn(PASSIVE_SPAWN_RATE)) {
-            int laneIdx = MiscUtils.getRandomInt(0, LANES.length);
-            int yIdx = MiscUtils.getRandomInt(0, Y_SPAWNS.length);
-            this.CARS.add(new PassiveCar(getGameProp(), LANES[laneIdx], Y_SPAWNS[yIdx]));
-            getEntities().add(CARS.get(CARS.size() - 1));
+        if (MiscUtils.canSpawn(spawns, PASSIVE_SPAWN_RATE)) {
+            int laneIdx = MiscUtils.getRandomInt(spawns, 0, LANES.length);
+            int yIdx = MiscUtils.getRandomInt(spawns, 0, Y_SPAWNS.length);
+            spawnCar(PASSIVE_POOL, "passive", LANES[laneIdx], Y_SPAWNS[yIdx] - cameraY);
+        }
+    }
+
+    /**
+     * Takes a car from its pool and adds it to the game, emitting a SpawnEvent when it is being recorded
+     *
+     * @param pool Pool to take the car from
+     * @param kind Kind of car, for the event
+     * @param x    Initial X-coordinate
+     * @param y    Initial Y-coordinate in the world
+     */
+    private void spawnCar(EntityPool<? extends Car> pool, String kind, int x, int y) {
+        SpawnEvent event = new SpawnEvent();
+        int misses = pool.getMisses();
+        Car car = pool.acquire(x, y);
+        CARS.add(car);
+        getEntities().add(car);
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.x = x;
+            event.y = y;
+            event.poolMiss = pool.getMisses() != misses;
+            event.commit();
+        }
+    }
+
+    /**
+     * Moves the camera by the distance scrolled this tick. The taxi and driver stay on the same spot of the
+     * screen while scrolling, so they move through the world against the camera, and a wrecked taxi is
+     * left behind.
+     *
+     * @param taxiWasAlive true if the taxi was alive at the start of the tick, so stays on screen this tick
+     */
+    private void moveCamera(boolean taxiWasAlive) {
+        cameraY += scrolled;
+        driver.setY(driver.getY() - scrolled);
+        if (taxiWasAlive) {
+            taxi.setY(taxi.getY() - scrolled);
         }
     }
 
@@ -308,135 +517,318 @@ public class GameScreen extends Screen {
      * Change the background image and change priorities based on the weather condition
      * Handle collision between game objects
      * Spawn new taxi if the active taxi is destroyed
+     * Remove cars and fireballs that are finished with
+     * Take a snapshot every few frames, and put the game back to the latest one when rewind is pressed
      *
      * @param input The current mouse/keyboard input.
      * @return boolean value corresponding to win/loss state
      */
     @Override
-    public boolean update(Input input) {
+    public boolean update(GameInput input) {
+        PROFILER.beginFrame();
+        if (input.wasPressed(Keys.R) && rewind()) {
+            PROFILER.mark(FrameProfiler.SNAPSHOT);
+            return false;
+        }
         currFrame++;
-        changeWeather();
-        render();
+        LEDGER.setFrame(currFrame);
+        WEATHER.advance(currFrame);
+        PROFILER.mark(FrameProfiler.WEATHER);
 
+        if (input.wasPressed(Keys.P)) {
+            showProfile = !showProfile;
+        }
+
+        for (Entity entity : getEntities()) {
+            entity.storePosition();
+        }
+        prevCameraY = cameraY;
+        scrolled = 0;
         if (input.isDown(Keys.UP)) {
-            currY1 += SCROLL_SPEED;
-            currY2 += SCROLL_SPEED;
+            scrolled = getScrollSpeed();
+            currY1 += getScrollSpeed();
+            currY2 += getScrollSpeed();
 
-            if (currY1 >= 1.5 * Window.getHeight()) {
+            if (currY1 >= 3 * BG_INIT_Y) {
                 currY1 = BG_INIT_Y;
                 currY2 = -BG_INIT_Y;
             }
-            if (currY2 >= 1.5 * Window.getHeight()) {
+            if (currY2 >= 3 * BG_INIT_Y) {
                 currY2 = BG_INIT_Y;
                 currY1 = -BG_INIT_Y;
             }
         }
+        PROFILER.mark(FrameProfiler.SCROLL);
 
         spawnCars();
+        PROFILER.mark(FrameProfiler.SPAWN);
 
         // Entity update calls here
+        boolean taxiWasAlive = !taxi.isTaxiDead();
         driver.update(input);
         taxi.update(input);
-        totalEarnings = taxi.calculateTotalEarnings();
+        totalEarnings = LEDGER.getTotal();
+        updateActivation();
+        PROFILER.mark(FrameProfiler.ENTITIES);
 
         CollisionEvent.checkCollisions(getEntities());
 
         if (taxi.isTaxiDead()) {
             driver.eject();
         }
+        // the camera moves once collisions are resolved, where the entities it replaces used to scroll
+        moveCamera(taxiWasAlive);
+        PROFILER.mark(FrameProfiler.COLLISIONS);
 
         for (Passenger passenger : PASSENGERS) {
             passenger.updatePassenger(input, taxi);
         }
+        PROFILER.mark(FrameProfiler.PASSENGERS);
 
         for (Car car : CARS) {
             car.update(input);
         }
+        LIFECYCLE.update(currFrame, CARS, getEntities(), cameraY);
+        PROFILER.mark(FrameProfiler.CARS);
 
-        if (!STARS.isEmpty()) {
-            int minFramesActive = STARS.get(0).getMaxFrames();
-            for (Star starPower : STARS) {
-                starPower.update(input);
+        // only awake stars and coins are listed, and collected ones never sleep
+        int minStarFrames = getConfig().invinciblePower().maxFrames();
+        for (Star starPower : STARS) {
+            starPower.update(input);
 
-                if (starPower.getFramesActive() > starPower.getMaxFrames()) {
-                    taxi.setNotInvincible();
-                }
+            if (starPower.getFramesActive() > starPower.getMaxFrames()) {
+                taxi.setNotInvincible();
+            }
 
-                int framesActive = starPower.getFramesActive();
-                if (starPower.getIsActive() && minFramesActive > framesActive) {
-                    minFramesActive = framesActive;
-                }
+            int framesActive = starPower.getFramesActive();
+            if (starPower.getIsActive() && minStarFrames > framesActive) {
+                minStarFrames = framesActive;
             }
-            starFramesActive = minFramesActive;
         }
+        starFramesActive = minStarFrames;
 
-        if (!COINS.isEmpty()) {
-            int minFramesActive = COINS.get(0).getMaxFrames();
-            for (Coin coinPower : COINS) {
-                coinPower.update(input);
+        int minCoinFrames = getConfig().coin().maxFrames();
+        for (Coin coinPower : COINS) {
+            coinPower.update(input);
 
-                // check if there's active coin and finding the coin with maximum ttl
-                int framesActive = coinPower.getFramesActive();
-                if (coinPower.getIsActive() && minFramesActive > framesActive) {
-                    minFramesActive = framesActive;
-                }
+            // check if there's active coin and finding the coin with maximum ttl
+            int framesActive = coinPower.getFramesActive();
+            if (coinPower.getIsActive() && minCoinFrames > framesActive) {
+                minCoinFrames = framesActive;
             }
-            coinFramesActive = minFramesActive;
         }
+        coinFramesActive = minCoinFrames;
+        PROFILER.mark(FrameProfiler.POWER_UPS);
+        PROFILER.setCounts(getEntities().size(), CARS.size());
+        countEntities();
 
-        displayInfo();
-        return isGameOver() || isLevelCompleted();
+        if (isGameOver() || isLevelCompleted()) {
+            LEVEL.close();
+            dumpProfile();
+            IOUtils.writeLineToFile(getConfig().gamePlay().ledgerFile(), LEDGER.toRecord(PLAYER_NAME, currFrame));
+            return true;
+        }
+        if (REWIND.getCapacity() > 0 && currFrame % REWIND_INTERVAL == 0) {
+            saveSnapshot(REWIND.push());
+            LEVEL.forget(REWIND.oldest().getLevelMark());
+        }
+        PROFILER.mark(FrameProfiler.SNAPSHOT);
+        return false;
+    }
+
+    /**
+     * Writes the state of the game to a snapshot. Everything the next frame depends on is written, down to
+     * the next entity id and the random streams, so the game plays on from a restored snapshot exactly as it
+     * did from the frame the snapshot was taken on.
+     *
+     * @param snapshot Snapshot to write to
+     */
+    private void saveSnapshot(GameSnapshot snapshot) {
+        snapshot.begin(currFrame, LEVEL.mark());
+        snapshot.putInt(Entity.getNextId());
+        snapshot.putFloat(totalEarnings);
+        snapshot.putFloat(coinFramesActive);
+        snapshot.putFloat(starFramesActive);
+        snapshot.putDouble(currY1);
+        snapshot.putDouble(currY2);
+        snapshot.putInt(scrolled);
+        snapshot.putInt(cameraY);
+        snapshot.putInt(prevCameraY);
+        RANDOM.saveState(snapshot);
+        LEDGER.saveState(snapshot);
+        snapshot.putEntity(taxi);
+        snapshot.putEntity(driver);
+        snapshot.putList(ENTITIES);
+        snapshot.putList(PASSENGERS);
+        snapshot.putList(COINS);
+        snapshot.putList(STARS);
+        snapshot.putList(CARS);
+        ACTIVATION.saveState(snapshot);
+        PASSIVE_POOL.saveState(snapshot);
+        ENEMY_POOL.saveState(snapshot);
+        FIREBALL_POOL.saveState(snapshot);
+        LIFECYCLE.saveState(snapshot);
+        CollisionEvent.saveContacts(snapshot);
+        snapshot.end();
     }
 
     /**
-     * Handles rendering of background images
+     * Puts the game back to a snapshot, in the order saveSnapshot wrote it. Rows of the level loaded since
+     * the snapshot are taken back, to be loaded again as the game nears them.
+     *
+     * @param snapshot Snapshot to restore
+     */
+    private void restoreSnapshot(GameSnapshot snapshot) {
+        snapshot.beginRestore();
+        currFrame = snapshot.getFrame();
+        Entity.setNextId(snapshot.getInt());
+        totalEarnings = snapshot.getFloat();
+        coinFramesActive = snapshot.getFloat();
+        starFramesActive = snapshot.getFloat();
+        currY1 = snapshot.getDouble();
+        currY2 = snapshot.getDouble();
+        scrolled = snapshot.getInt();
+        cameraY = snapshot.getInt();
+        prevCameraY = snapshot.getInt();
+        RANDOM.restoreState(snapshot);
+        LEDGER.restoreState(snapshot);
+        taxi = snapshot.getEntity();
+        driver = snapshot.getEntity();
+        snapshot.getList(ENTITIES);
+        snapshot.getList(PASSENGERS);
+        snapshot.getList(COINS);
+        snapshot.getList(STARS);
+        snapshot.getList(CARS);
+        ACTIVATION.restoreState(snapshot);
+        PASSIVE_POOL.restoreState(snapshot);
+        ENEMY_POOL.restoreState(snapshot);
+        FIREBALL_POOL.restoreState(snapshot);
+        LIFECYCLE.restoreState(snapshot);
+        CollisionEvent.restoreContacts(snapshot);
+        LEVEL.rewind(snapshot.getLevelMark());
+        WEATHER.seek(currFrame);
+    }
+
+    /**
+     * Puts the game back to the latest snapshot taken before the current frame, so pressing rewind again
+     * goes further back
+     *
+     * @return true if the game was rewound, false if there was no snapshot to rewind to
+     */
+    private boolean rewind() {
+        GameSnapshot snapshot = REWIND.pop();
+        if (snapshot != null && snapshot.getFrame() == currFrame && REWIND.size() > 0) {
+            // the game has not moved on from the latest snapshot, so go back to the one before
+            snapshot = REWIND.pop();
+        }
+        if (snapshot == null) {
+            return false;
+        }
+        restoreSnapshot(snapshot);
+        // keep the restored snapshot on the ring, so rewinding again before the next one goes back to it
+        REWIND.push();
+        return true;
+    }
+
+    /**
+     * Works out where to draw the background and every entity, between the last two ticks
+     *
+     * @param alpha How far the display is between the last tick and the next, from 0 to 1
+     */
+    @Override
+    public void prepareRender(double alpha) {
+        double renderCameraY = prevCameraY + (cameraY - prevCameraY) * alpha;
+        for (Entity entity : getEntities()) {
+            entity.prepareRender(alpha, renderCameraY);
+        }
+        renderY1 = currY1 - (1 - alpha) * scrolled;
+        renderY2 = currY2 - (1 - alpha) * scrolled;
+    }
+
+    /**
+     * Draws the background, every entity and the game information for the current frame
      */
     @Override
     public void render() {
-        bgCurr1.draw(getWinCentreX(), currY1);
-        bgCurr2.draw(getWinCentreX(), currY2);
+        PROFILER.resume();
+        bgCurr1.get().draw(getWinCentreX(), renderY1);
+        bgCurr2.get().draw(getWinCentreX(), renderY2);
+
+        driver.render();
+        taxi.render();
+        for (Passenger passenger : PASSENGERS) {
+            passenger.render();
+        }
+        for (Car car : CARS) {
+            car.render();
+        }
+        for (Star starPower : STARS) {
+            starPower.render();
+        }
+        for (Coin coinPower : COINS) {
+            coinPower.render();
+        }
+        PROFILER.mark(FrameProfiler.RENDER);
+
+        displayInfo();
+        PROFILER.mark(FrameProfiler.DISPLAY_INFO);
+
+        if (showProfile) {
+            PROFILER.refreshReport();
+            String[] report = PROFILER.getReport();
+            for (int i = 0; i < report.length; i++) {
+                renderText(PROFILE_FONT, report[i], PROFILE_X, PROFILE_Y + i * PROFILE_LINE_HEIGHT);
+            }
+        }
+    }
+
+    /**
+     * Writes the frames recorded by the profiler to the configured CSV file
+     */
+    public void dumpProfile() {
+        PROFILER.dump(getConfig().gamePlay().profileFile());
     }
 
     /**
      * Display the game information on the screen.
      */
     private void displayInfo() {
-        renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.earnings") + getTotalEarnings(), EARNINGS_X, EARNINGS_Y);
-        renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.target") + String.format("%.02f", TARGET), TARGET_X, TARGET_Y);
-        renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.remFrames") + (MAX_FRAMES - currFrame), MAX_FRAMES_X, MAX_FRAMES_Y);
+        renderText(INFO_FONT, getConfig().messages().earnings() + getTotalEarnings(), EARNINGS_X, EARNINGS_Y);
+        renderText(INFO_FONT, getConfig().messages().target() + String.format("%.02f", TARGET), TARGET_X, TARGET_Y);
+        renderText(INFO_FONT, getConfig().messages().remFrames() + (MAX_FRAMES - currFrame), MAX_FRAMES_X, MAX_FRAMES_Y);
 
-        renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.taxiHealth") + String.format("%d.00", taxi.getHealth()), TAXI_HEALTH_X, TAXI_HEALTH_Y);
-        renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.driverHealth") + String.format("%d.00", driver.getHealth()), DRIVER_HEALTH_X, DRIVER_HEALTH_Y);
+        renderText(INFO_FONT, getConfig().messages().taxiHealth() + String.format("%d.00", taxi.getHealth()), TAXI_HEALTH_X, TAXI_HEALTH_Y);
+        renderText(INFO_FONT, getConfig().messages().driverHealth() + String.format("%d.00", driver.getHealth()), DRIVER_HEALTH_X, DRIVER_HEALTH_Y);
 
         if (taxi.getTrip() != null) {
             int pHealth = taxi.getTrip().getPassenger().getHealth();
-            renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.passengerHealth") + String.format("%d.00", pHealth), PASSENGER_HEALTH_X, PASSENGER_HEALTH_Y);
+            renderText(INFO_FONT, getConfig().messages().passengerHealth() + String.format("%d.00", pHealth), PASSENGER_HEALTH_X, PASSENGER_HEALTH_Y);
         }
 
-        if (!COINS.isEmpty() && COINS.get(0).getMaxFrames() != coinFramesActive) {
+        if (getConfig().coin().maxFrames() != coinFramesActive) {
             renderText(INFO_FONT, String.valueOf(Math.round(coinFramesActive)), COIN_X, COIN_Y);
         }
 
-        if (!STARS.isEmpty() && STARS.get(0).getMaxFrames() != starFramesActive) {
+        if (getConfig().invinciblePower().maxFrames() != starFramesActive) {
             renderText(INFO_FONT, String.valueOf(Math.round(starFramesActive)), COIN_X - 100, COIN_Y);
         }
 
         Trip lastTrip = taxi.getLastTrip();
         if (lastTrip != null) {
             if (lastTrip.isComplete()) {
-                renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.completedTrip.title"), TRIP_INFO_X, TRIP_INFO_Y);
+                renderText(INFO_FONT, getConfig().messages().completedTrip(), TRIP_INFO_X, TRIP_INFO_Y);
             } else {
-                renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.onGoingTrip.title"), TRIP_INFO_X, TRIP_INFO_Y);
+                renderText(INFO_FONT, getConfig().messages().onGoingTrip(), TRIP_INFO_X, TRIP_INFO_Y);
             }
-            renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.trip.expectedEarning")
+            renderText(INFO_FONT, getConfig().messages().expectedEarning()
                     + lastTrip.getPassenger().getTravelPlan().getExpectedFee(), TRIP_INFO_X, TRIP_INFO_Y
                     + TRIP_INFO_OFFSET_1);
-            renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.trip.priority")
+            renderText(INFO_FONT, getConfig().messages().priority()
                     + lastTrip.getPassenger().getTravelPlan().getPriority(), TRIP_INFO_X, TRIP_INFO_Y
                     + TRIP_INFO_OFFSET_2);
 
             if (lastTrip.isComplete()) {
-                renderText(INFO_FONT, getMsgProp().getProperty("gamePlay.trip.penalty") + String.format("%.02f",
+                renderText(INFO_FONT, getConfig().messages().penalty() + String.format("%.02f",
                         lastTrip.getPenalty()), TRIP_INFO_X, TRIP_INFO_Y + TRIP_INFO_OFFSET_3);
             }
         }
@@ -462,7 +854,7 @@ public class GameScreen extends Screen {
 
         if (currFrame >= MAX_FRAMES && !savedData) {
             savedData = true;
-            IOUtils.writeLineToFile(getGameProp().getProperty("gameEnd.scoresFile"), PLAYER_NAME + "," + totalEarnings);
+            SCORES.record(PLAYER_NAME, totalEarnings);
         }
         return isGameOver;
     }
@@ -477,11 +869,173 @@ public class GameScreen extends Screen {
         boolean isLevelCompleted = totalEarnings >= TARGET;
         if (isLevelCompleted && !savedData) {
             savedData = true;
-            IOUtils.writeLineToFile(getGameProp().getProperty("gameEnd.scoresFile"), PLAYER_NAME + "," + totalEarnings);
+            SCORES.record(PLAYER_NAME, totalEarnings);
         }
         return isLevelCompleted;
     }
 
+    /**
+     * Returns an entity removed by the lifecycle manager to the pool it was spawned from
+     *
+     * @param entity Retired entity
+     */
+    private void releaseEntity(Entity entity) {
+        if (entity instanceof Enemy enemy) {
+            ENEMY_POOL.release(enemy);
+        } else if (entity instanceof PassiveCar passiveCar) {
+            PASSIVE_POOL.release(passiveCar);
+        } else if (entity instanceof Fireball fireball) {
+            FIREBALL_POOL.release(fireball);
+        }
+    }
+
+    /**
+     * Gets name of the player of the game
+     *
+     * @return String player name
+     */
+    public String getPlayerName() {
+        return PLAYER_NAME;
+    }
+
+    /**
+     * Gets ledger of the trips taken this game
+     *
+     * @return TripLedger of the game
+     */
+    public TripLedger getLedger() {
+        return LEDGER;
+    }
+
+    /**
+     * Gets profiler that times each phase of update and render
+     *
+     * @return FrameProfiler of the game
+     */
+    public FrameProfiler getProfiler() {
+        return PROFILER;
+    }
+
+    /**
+     * Gets random number service of the game
+     *
+     * @return GameRandom that spawning and cars draw from
+     */
+    public GameRandom getRandom() {
+        return RANDOM;
+    }
+
+    /**
+     * Gets pool of passive cars, for tuning its prewarmed size
+     *
+     * @return EntityPool of passive cars
+     */
+    public EntityPool<PassiveCar> getPassivePool() {
+        return PASSIVE_POOL;
+    }
+
+    /**
+     * Gets pool of enemy cars, for tuning its prewarmed size
+     *
+     * @return EntityPool of enemy cars
+     */
+    public EntityPool<Enemy> getEnemyPool() {
+        return ENEMY_POOL;
+    }
+
+    /**
+     * Gets pool of fireballs, for tuning its prewarmed size
+     *
+     * @return EntityPool of fireballs
+     */
+    public EntityPool<Fireball> getFireballPool() {
+        return FIREBALL_POOL;
+    }
+
+    /**
+     * Gets number of frames played so far
+     *
+     * @return int value of current frame
+     */
+    public int getCurrFrame() {
+        return currFrame;
+    }
+
+    /**
+     * Gets offset of the camera, which turns world Y-coordinates into screen Y-coordinates
+     *
+     * @return int value of camera offset
+     */
+    public int getCameraY() {
+        return cameraY;
+    }
+
+    /**
+     * Gets the total earnings of completed trips
+     *
+     * @return float value of total earnings
+     */
+    public float getEarnings() {
+        return totalEarnings;
+    }
+
+    /**
+     * Gets the target earnings to complete the level
+     *
+     * @return float value of target earnings
+     */
+    public float getTarget() {
+        return TARGET;
+    }
+
+    /**
+     * Gets the active taxi
+     *
+     * @return Taxi object of game
+     */
+    public Taxi getTaxi() {
+        return taxi;
+    }
+
+    /**
+     * Gets the driver
+     *
+     * @return Driver object of game
+     */
+    public Driver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Gets number of passive and enemy cars currently in play
+     *
+     * @return int value of active car count
+     */
+    public int getCarCount() {
+        return CARS.size();
+    }
+
+    /**
+     * Hashes the state a replay is checked against: the frame, earnings, camera, and the position and health
+     * of the taxi, the driver and every car and passenger in play. Two runs that have not diverged give the
+     * same checksum on every frame.
+     *
+     * @return int value of state checksum
+     */
+    public int getChecksum() {
+        int hash = 31 * currFrame + Float.floatToIntBits(totalEarnings);
+        hash = 31 * hash + cameraY;
+        hash = 31 * (31 * (31 * hash + taxi.getX()) + taxi.getY()) + taxi.getHealth();
+        hash = 31 * (31 * (31 * hash + driver.getX()) + driver.getY()) + driver.getHealth();
+        for (Car car : CARS) {
+            hash = 31 * (31 * (31 * hash + car.getX()) + car.getY()) + car.getHealth();
+        }
+        for (Passenger passenger : PASSENGERS) {
+            hash = 31 * (31 * hash + passenger.getX()) + passenger.getY();
+        }
+        return hash;
+    }
+
     private ArrayList<Entity> getEntities() {
         return this.ENTITIES;
     }
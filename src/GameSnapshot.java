@@ -0,0 +1,381 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * This class holds the whole state of a game at one frame, so the game can be put back to that frame. Numbers
+ * are written to a byte buffer and entities are written as their slot in a table of every entity the
+ * snapshot refers to, so a snapshot holds no copies of game objects. The buffer and table are kept and reused
+ * by the next snapshot written to the same object, and only grow when a game holds more than ever before.
+ * <p>
+ * A snapshot has two sections. The game writes its own numbers and lists between begin and end, and end then
+ * writes the state of every entity those refer to. Restoring reads the entity states first, so each entity is
+ * back where it was before the lists and queues that order entities by position are rebuilt.
+ *
+ * @author Kevin Tran
+ */
+public class GameSnapshot {
+    /**
+     * Slot written for a null entity, and marker of an empty place in the id index
+     */
+    private static final int NONE = -1;
+    /**
+     * Number of bytes made room for before the buffer first grows
+     */
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+    /**
+     * Number of entities made room for before the table first grows
+     */
+    private static final int INITIAL_ENTITIES = 256;
+    /**
+     * Numbers of the snapshot
+     */
+    private ByteBuffer data;
+    /**
+     * Entity of each slot
+     */
+    private Entity[] entities;
+    /**
+     * Id of the entity in each slot, as it was when the entity was added
+     */
+    private int[] ids;
+    /**
+     * Number of slots used
+     */
+    private int entityCount;
+    /**
+     * Open addressing table of slots, looked up by entity id
+     */
+    private int[] index;
+    /**
+     * Number of bytes written
+     */
+    private int size;
+    /**
+     * Frame the snapshot was taken on
+     */
+    private int frame;
+    /**
+     * Place in the level's history of loaded rows when the snapshot was taken
+     */
+    private int levelMark;
+
+    /**
+     * Constructor for an empty snapshot
+     */
+    public GameSnapshot() {
+        this.data = ByteBuffer.allocate(INITIAL_CAPACITY);
+        this.entities = new Entity[INITIAL_ENTITIES];
+        this.ids = new int[INITIAL_ENTITIES];
+        this.index = new int[2 * INITIAL_ENTITIES];
+        Arrays.fill(index, NONE);
+    }
+
+    /**
+     * Starts writing a snapshot, dropping what it held before
+     *
+     * @param frame     Frame the game is on
+     * @param levelMark Place in the level's history of loaded rows
+     */
+    public void begin(int frame, int levelMark) {
+        this.frame = frame;
+        this.levelMark = levelMark;
+        Arrays.fill(entities, 0, entityCount, null);
+        Arrays.fill(index, NONE);
+        entityCount = 0;
+        data.clear();
+        // room for the place the entity states start, filled in by end
+        data.putInt(0);
+    }
+
+    /**
+     * Finishes writing a snapshot by writing the state of every entity it refers to. Entities can refer to
+     * more entities, which are written in turn.
+     */
+    public void end() {
+        data.putInt(0, data.position());
+        for (int slot = 0; slot < entityCount; slot++) {
+            entities[slot].saveState(this);
+        }
+        size = data.position();
+    }
+
+    /**
+     * Starts restoring a snapshot by putting every entity it refers to back in its state. The game then reads
+     * its own numbers and lists in the order they were written.
+     */
+    public void beginRestore() {
+        data.position(data.getInt(0));
+        for (int slot = 0; slot < entityCount; slot++) {
+            entities[slot].restoreState(this);
+        }
+        data.position(Integer.BYTES);
+    }
+
+    /**
+     * Makes room for a number of bytes, growing the buffer if needed
+     *
+     * @param bytes Number of bytes about to be written
+     */
+    private void ensure(int bytes) {
+        if (data.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(data.capacity() * 2, data.position() + bytes));
+            data.flip();
+            grown.put(data);
+            data = grown;
+        }
+    }
+
+    /**
+     * Gets the slot of an entity, adding it to the table if the snapshot does not refer to it yet
+     *
+     * @param entity Entity to look up
+     * @return int value of slot
+     */
+    private int slotOf(Entity entity) {
+        int mask = index.length - 1;
+        int slot = hash(entity.getId()) & mask;
+        while (index[slot] != NONE) {
+            if (entities[index[slot]] == entity) {
+                return index[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (entityCount == entities.length) {
+            entities = Arrays.copyOf(entities, entityCount * 2);
+            ids = Arrays.copyOf(ids, entityCount * 2);
+        }
+        int added = entityCount++;
+        entities[added] = entity;
+        ids[added] = entity.getId();
+        index[slot] = added;
+        if (2 * entityCount > index.length) {
+            index = new int[index.length * 2];
+            Arrays.fill(index, NONE);
+            for (int i = 0; i < entityCount; i++) {
+                int place = hash(ids[i]) & (index.length - 1);
+                while (index[place] != NONE) {
+                    place = (place + 1) & (index.length - 1);
+                }
+                index[place] = i;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Spreads the bits of an entity id over the index
+     *
+     * @param id Entity id
+     * @return int value of hash
+     */
+    private static int hash(int id) {
+        return id * 0x9E3779B9;
+    }
+
+    /**
+     * Writes an int
+     *
+     * @param value Value to write
+     */
+    public void putInt(int value) {
+        ensure(Integer.BYTES);
+        data.putInt(value);
+    }
+
+    /**
+     * Writes a long
+     *
+     * @param value Value to write
+     */
+    public void putLong(long value) {
+        ensure(Long.BYTES);
+        data.putLong(value);
+    }
+
+    /**
+     * Writes a float
+     *
+     * @param value Value to write
+     */
+    public void putFloat(float value) {
+        ensure(Float.BYTES);
+        data.putFloat(value);
+    }
+
+    /**
+     * Writes a double
+     *
+     * @param value Value to write
+     */
+    public void putDouble(double value) {
+        ensure(Double.BYTES);
+        data.putDouble(value);
+    }
+
+    /**
+     * Writes a boolean as a byte
+     *
+     * @param value Value to write
+     */
+    public void putBoolean(boolean value) {
+        ensure(1);
+        data.put(value ? (byte) 1 : 0);
+    }
+
+    /**
+     * Writes a reference to an entity
+     *
+     * @param entity Entity to refer to, or null
+     */
+    public void putEntity(Entity entity) {
+        putInt(entity == null ? NONE : slotOf(entity));
+    }
+
+    /**
+     * Writes the entities of a list, in order
+     *
+     * @param list List to write
+     */
+    public void putList(ArrayList<? extends Entity> list) {
+        putInt(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            putEntity(list.get(i));
+        }
+    }
+
+    /**
+     * Writes the entities of a collection, in the order it iterates them
+     *
+     * @param collection Collection to write
+     */
+    public void putAll(Collection<? extends Entity> collection) {
+        putInt(collection.size());
+        for (Entity entity : collection) {
+            putEntity(entity);
+        }
+    }
+
+    /**
+     * Reads an int
+     *
+     * @return int value read
+     */
+    public int getInt() {
+        return data.getInt();
+    }
+
+    /**
+     * Reads a long
+     *
+     * @return long value read
+     */
+    public long getLong() {
+        return data.getLong();
+    }
+
+    /**
+     * Reads a float
+     *
+     * @return float value read
+     */
+    public float getFloat() {
+        return data.getFloat();
+    }
+
+    /**
+     * Reads a double
+     *
+     * @return double value read
+     */
+    public double getDouble() {
+        return data.getDouble();
+    }
+
+    /**
+     * Reads a boolean
+     *
+     * @return boolean value read
+     */
+    public boolean getBoolean() {
+        return data.get() != 0;
+    }
+
+    /**
+     * Reads a reference to an entity. The caller names the type it expects, which the entity was written as.
+     *
+     * @param <T> Type of the entity
+     * @return Entity referred to, or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> T getEntity() {
+        int slot = data.getInt();
+        return slot == NONE ? null : (T) entities[slot];
+    }
+
+    /**
+     * Replaces the contents of a list with the entities written by putList
+     *
+     * @param list List to fill
+     * @param <T>  Type of the list's entities
+     */
+    public <T extends Entity> void getList(ArrayList<T> list) {
+        list.clear();
+        int size = data.getInt();
+        for (int i = 0; i < size; i++) {
+            list.add(getEntity());
+        }
+    }
+
+    /**
+     * Replaces the contents of a collection with the entities written by putAll, adding them in the order
+     * they were written
+     *
+     * @param collection Collection to fill
+     * @param <T>        Type of the collection's entities
+     */
+    public <T extends Entity> void getAll(Collection<T> collection) {
+        collection.clear();
+        int size = data.getInt();
+        for (int i = 0; i < size; i++) {
+            collection.add(getEntity());
+        }
+    }
+
+    /**
+     * Gets the frame the snapshot was taken on
+     *
+     * @return int value of frame
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Gets the place in the level's history of loaded rows when the snapshot was taken
+     *
+     * @return int value of level mark
+     */
+    public int getLevelMark() {
+        return levelMark;
+    }
+
+    /**
+     * Gets the number of entities the snapshot refers to
+     *
+     * @return int value of entity count
+     */
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    /**
+     * Gets the number of bytes the snapshot holds, not counting its entity table
+     *
+     * @return int value of size in bytes
+     */
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,42 @@
+import java.util.function.DoubleSupplier;
+
+/**
+ * Metric whose value is read from the game when asked for. The source can be replaced, so a new game can take
+ * over the gauges of the last one.
+ *
+ * @author Kevin Tran
+ */
+public class Gauge implements GaugeMBean {
+    /**
+     * Source of the gauge's value
+     */
+    private volatile DoubleSupplier source;
+
+    /**
+     * Constructor for a gauge
+     *
+     * @param source Source of the gauge's value
+     */
+    public Gauge(DoubleSupplier source) {
+        this.source = source;
+    }
+
+    /**
+     * Replaces the source of the gauge's value
+     *
+     * @param source New source of the gauge's value
+     */
+    public void setSource(DoubleSupplier source) {
+        this.source = source;
+    }
+
+    /**
+     * Gets current value of gauge
+     *
+     * @return double value of gauge
+     */
+    @Override
+    public double getValue() {
+        return source.getAsDouble();
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * Management interface of a Gauge, as seen by JMX tools
+ *
+ * @author Kevin Tran
+ */
+public interface GaugeMBean {
+    /**
+     * Gets current value of gauge
+     *
+     * @return double value of gauge
+     */
+    double getValue();
+}
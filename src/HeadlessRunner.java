@@ -0,0 +1,265 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Runs a GameScreen for a number of frames without a window, driven by scripted input, and prints a JSON
+ * summary of the run. No Image or Font is created, so it runs on machines without a display.
+ * <p>
+ * Usage: HeadlessRunner [--frames N] [--config app.properties] [--messages message_en.properties]
+ * [--level gameObjects.csv|level file] [--input script.csv] [--player name] [--scores scores.csv] [--seed N]
+ * [--profile profile.csv] [--ledger trips.csv] [--jfr recording.jfr] [--record run.replay]
+ * [--replay run.replay]
+ * <p>
+ * Runs with the same seed and input script play out identically. Without --seed a fresh seed is used, and
+ * it is printed in the summary so the run can be repeated. A level ending in .csv is read as CSV, any other
+ * level is read as a level compiled by LevelCompiler.
+ * <p>
+ * --record writes the run to a replay file. --replay plays a replay back in place of the input script, with
+ * the seed and player it was recorded with, and exits with status 1 if the game diverges from the recording.
+ *
+ * @author Kevin Tran
+ */
+public class HeadlessRunner {
+    /**
+     * Private constructor as this class only holds static methods
+     */
+    private HeadlessRunner() {
+    }
+
+    /**
+     * Runs a game screen until it ends or the frame limit is reached
+     *
+     * @param screen    Game screen to run
+     * @param input     Scripted input to drive the screen with, captured into a snapshot each frame as the
+     *                  window's input is
+     * @param maxFrames Maximum frames to run for
+     * @param recorder  Replay to write each frame to, or null to not record the run
+     * @return true if the game ended before the frame limit, false otherwise
+     * @throws IOException if the replay cannot be written
+     */
+    public static boolean run(GameScreen screen, ScriptedInput input, int maxFrames, ReplayWriter recorder)
+            throws IOException {
+        InputSnapshot snapshot = new InputSnapshot();
+        for (int frame = 0; frame < maxFrames; frame++) {
+            input.advance();
+            snapshot.capture(input);
+            boolean ended = screen.update(snapshot);
+            if (recorder != null) {
+                recorder.write(snapshot, screen.getChecksum());
+            }
+            if (ended) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plays a replay back on a game screen until the replay ends, the game ends, the frame limit is reached or
+     * the game diverges from the recording
+     *
+     * @param screen    Game screen to run, made with the seed of the replay
+     * @param replay    Replay to play back
+     * @param maxFrames Maximum frames to run for
+     * @return true if the game ended before the frame limit, false otherwise
+     * @throws IOException if the replay cannot be read
+     */
+    public static boolean replay(GameScreen screen, ReplayReader replay, int maxFrames) throws IOException {
+        InputSnapshot snapshot = new InputSnapshot();
+        for (int frame = 0; frame < maxFrames && replay.next(snapshot); frame++) {
+            boolean ended = screen.update(snapshot);
+            if (!replay.verify(screen.getChecksum())) {
+                return false;
+            }
+            if (ended) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the JSON summary of a run
+     *
+     * @param screen    Game screen that was run
+     * @param ended     Boolean value indicating if the game ended
+     * @param elapsedNs Wall time of the run in nanoseconds
+     * @return JSON object as a String
+     */
+    public static String summarise(GameScreen screen, boolean ended, long elapsedNs) {
+        String outcome = !ended ? "running" : screen.isLevelCompleted() ? "won" : "lost";
+        double elapsedMs = elapsedNs / 1e6;
+        FrameProfiler profiler = screen.getProfiler();
+        profiler.endFrame();
+        profiler.updateReport();
+        return String.format(Locale.ROOT, "{\"seed\":%d,\"frames\":%d,\"outcome\":\"%s\",\"earnings\":%.2f,\"target\":%.2f,"
+                        + "\"taxiHealth\":%d,\"driverHealth\":%d,\"trips\":%d,\"activeCars\":%d,"
+                        + "\"poolMisses\":{\"passive\":%d,\"enemy\":%d,\"fireball\":%d},"
+                        + "\"frameP50Us\":%.1f,\"frameP99Us\":%.1f,\"frameMaxUs\":%.1f,"
+                        + "\"elapsedMs\":%.3f,\"framesPerSecond\":%.1f}",
+                screen.getRandom().getSeed(), screen.getCurrFrame(), outcome, screen.getEarnings(), screen.getTarget(),
+                screen.getTaxi().getHealth(), screen.getDriver().getHealth(), screen.getTaxi().getTripCount(),
+                screen.getCarCount(), screen.getPassivePool().getMisses(), screen.getEnemyPool().getMisses(),
+                screen.getFireballPool().getMisses(), profiler.getStat(FrameProfiler.COUNT, 0) / 1e3,
+                profiler.getStat(FrameProfiler.COUNT, 1) / 1e3, profiler.getStat(FrameProfiler.COUNT, 2) / 1e3, elapsedMs,
+                elapsedMs > 0 ? screen.getCurrFrame() * 1000 / elapsedMs : 0);
+    }
+
+    /**
+     * Gets the value given after an option, exiting if the option is the last argument
+     *
+     * @param args   Command line options
+     * @param option Index of the option in args
+     * @return String value of the option
+     */
+    private static String optionValue(String[] args, int option) {
+        if (option + 1 == args.length) {
+            System.err.println("Missing value for " + args[option]);
+            System.exit(-1);
+        }
+        return args[option + 1];
+    }
+
+    /**
+     * Main function of the headless runner
+     *
+     * @param args Command line options, see class documentation
+     */
+    public static void main(String[] args) {
+        String configFile = "res/app.properties", messageFile = "res/message_en.properties";
+        String level = null, script = null, scores = null, profile = null, ledger = null, player = "headless";
+        String record = null, replayFile = null;
+        int frames = -1;
+        GameRandom random = null;
+        for (int i = 0; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--frames" -> frames = Integer.parseInt(optionValue(args, i));
+                case "--config" -> configFile = optionValue(args, i);
+                case "--messages" -> messageFile = optionValue(args, i);
+                case "--level" -> level = optionValue(args, i);
+                case "--input" -> script = optionValue(args, i);
+                case "--player" -> player = optionValue(args, i);
+                case "--scores" -> scores = optionValue(args, i);
+                case "--profile" -> profile = optionValue(args, i);
+                case "--ledger" -> ledger = optionValue(args, i);
+                case "--jfr" -> GameRecorder.start(optionValue(args, i));
+                case "--seed" -> random = new GameRandom(Long.parseLong(optionValue(args, i)));
+                case "--record" -> record = optionValue(args, i);
+                case "--replay" -> replayFile = optionValue(args, i);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(-1);
+                }
+            }
+        }
+
+        Properties gameProp = IOUtils.readPropertiesFile(configFile);
+        if (level != null && level.endsWith(".csv")) {
+            gameProp.setProperty("gamePlay.objectsFile", level);
+            gameProp.setProperty("gamePlay.levelFile", "");
+        } else if (level != null) {
+            gameProp.setProperty("gamePlay.levelFile", level);
+        }
+        // keep simulated runs out of the real score table, profile and ledger unless asked to write them
+        try {
+            if (scores == null) {
+                scores = tempFile("scores");
+                new File(ScoreStore.sidecarOf(scores)).deleteOnExit();
+            }
+            if (profile == null) {
+                profile = tempFile("profile");
+            }
+            if (ledger == null) {
+                ledger = tempFile("trips");
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+        gameProp.setProperty("gameEnd.scoresFile", scores);
+        gameProp.setProperty("gamePlay.profiler.file", profile);
+        gameProp.setProperty("gamePlay.ledger.file", ledger);
+
+        GameRecorder.startFromProperty();
+        GameConfig config;
+        try {
+            config = GameConfig.parse(gameProp, IOUtils.readPropertiesFile(messageFile));
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(-1);
+            return;
+        }
+        if (frames < 0) {
+            frames = config.gamePlay().maxFrames();
+        }
+
+        AssetCache.setHeadless(true);
+        ReplayReader replay = null;
+        ReplayWriter recorder = null;
+        try {
+            if (replayFile != null) {
+                replay = new ReplayReader(replayFile);
+                if (replay.getConfigHash() != Replay.configHash(config)) {
+                    System.err.println(replayFile + " was recorded with a different configuration or level");
+                    System.exit(-1);
+                }
+                random = new GameRandom(replay.getSeed());
+                player = replay.getPlayerName();
+            }
+            if (random == null) {
+                random = GameRandom.unseeded();
+            }
+            if (record != null) {
+                recorder = new ReplayWriter(record, random.getSeed(), Replay.configHash(config), player);
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+        GameScreen screen = new GameScreen(config, player, random);
+
+        long start = System.nanoTime();
+        boolean ended = false;
+        try {
+            if (replay != null) {
+                ended = replay(screen, replay, frames);
+            } else {
+                ScriptedInput input = script == null ? new ScriptedInput(new ArrayList<>())
+                        : ScriptedInput.fromFile(script);
+                ended = run(screen, input, frames, recorder);
+            }
+            if (recorder != null) {
+                recorder.close();
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+        System.out.println(summarise(screen, ended, System.nanoTime() - start));
+        screen.dumpProfile();
+        if (replay != null) {
+            replay.close();
+            if (replay.getDivergedFrame() != 0) {
+                System.err.println("Replay diverged at frame " + replay.getDivergedFrame());
+                System.exit(1);
+            }
+            System.err.println("Replay matched " + replay.getFrames() + " frames");
+        }
+    }
+
+    /**
+     * Creates an empty temporary CSV file that is deleted when the runner exits
+     *
+     * @param prefix Prefix of file name
+     * @return File path of temporary file
+     * @throws IOException if the file cannot be created
+     */
+    private static String tempFile(String prefix) throws IOException {
+        File temp = File.createTempFile(prefix, ".csv");
+        temp.deleteOnExit();
+        return temp.getPath();
+    }
+}
@@ -0,0 +1,190 @@
+import java.util.Arrays;
+
+/**
+ * Metric that keeps the distribution of non-negative values in log-linear buckets, in the style of an HDR
+ * histogram. Each power of two is split into 32 equal buckets, so any value is known to within about 3%,
+ * and recording is an array increment that never allocates. Only the game thread records; a reset asked for
+ * by another thread is carried out on the next record.
+ *
+ * @author Kevin Tran
+ */
+public class Histogram implements HistogramMBean {
+    /**
+     * Number of bits of a value kept below its highest set bit
+     */
+    private static final int SUB_BITS = 5;
+    /**
+     * Number of buckets each power of two is split into
+     */
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    /**
+     * Number of values recorded in each bucket
+     */
+    private final long[] COUNTS = new long[(64 - SUB_BITS) * SUB_COUNT];
+    /**
+     * Number of values recorded
+     */
+    private volatile long count;
+    /**
+     * Sum of values recorded
+     */
+    private long sum;
+    /**
+     * Largest value recorded
+     */
+    private long max;
+    /**
+     * Boolean value indicating if another thread asked for the histogram to be cleared
+     */
+    private volatile boolean resetRequested;
+
+    /**
+     * Finds the bucket of a value
+     *
+     * @param value Non-negative value
+     * @return Index of bucket
+     */
+    static int bucketOf(long value) {
+        if (value < 2 * SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) - SUB_COUNT;
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * Finds the largest value that falls in a bucket
+     *
+     * @param bucket Index of bucket
+     * @return Largest value of bucket
+     */
+    static long highestValueOf(int bucket) {
+        int block = bucket / SUB_COUNT, sub = bucket % SUB_COUNT;
+        if (block == 0) {
+            return sub;
+        }
+        long lowest = (long) (SUB_COUNT + sub) << (block - 1);
+        return lowest + (1L << (block - 1)) - 1;
+    }
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value Value to record
+     */
+    public void record(long value) {
+        if (resetRequested) {
+            clear();
+        }
+        long v = Math.max(0, value);
+        COUNTS[bucketOf(v)]++;
+        sum += v;
+        if (v > max) {
+            max = v;
+        }
+        count++;
+    }
+
+    /**
+     * Clears every bucket on the recording thread
+     */
+    private void clear() {
+        Arrays.fill(COUNTS, 0);
+        sum = 0;
+        max = 0;
+        count = 0;
+        resetRequested = false;
+    }
+
+    /**
+     * Gets the value at a percentile, as the highest value of the bucket it falls in
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return long value at percentile, 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = count;
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < COUNTS.length; bucket++) {
+            seen += COUNTS[bucket];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Gets number of values recorded
+     *
+     * @return long value of count
+     */
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets mean of values recorded
+     *
+     * @return double value of mean, 0 if nothing was recorded
+     */
+    @Override
+    public double getMean() {
+        long total = count;
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    /**
+     * Gets largest value recorded
+     *
+     * @return long value of maximum
+     */
+    @Override
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets median of values recorded
+     *
+     * @return long value of 50th percentile
+     */
+    @Override
+    public long getP50() {
+        return getValueAtPercentile(50);
+    }
+
+    /**
+     * Gets 99th percentile of values recorded
+     *
+     * @return long value of 99th percentile
+     */
+    @Override
+    public long getP99() {
+        return getValueAtPercentile(99);
+    }
+
+    /**
+     * Gets 99.9th percentile of values recorded
+     *
+     * @return long value of 99.9th percentile
+     */
+    @Override
+    public long getP999() {
+        return getValueAtPercentile(99.9);
+    }
+
+    /**
+     * Asks for every value recorded so far to be cleared before the next record
+     */
+    @Override
+    public void reset() {
+        resetRequested = true;
+    }
+}
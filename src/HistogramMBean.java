@@ -0,0 +1,53 @@
+/**
+ * Management interface of a Histogram, as seen by JMX tools
+ *
+ * @author Kevin Tran
+ */
+public interface HistogramMBean {
+    /**
+     * Gets number of values recorded
+     *
+     * @return long value of count
+     */
+    long getCount();
+
+    /**
+     * Gets mean of values recorded
+     *
+     * @return double value of mean, 0 if nothing was recorded
+     */
+    double getMean();
+
+    /**
+     * Gets largest value recorded
+     *
+     * @return long value of maximum
+     */
+    long getMax();
+
+    /**
+     * Gets median of values recorded
+     *
+     * @return long value of 50th percentile
+     */
+    long getP50();
+
+    /**
+     * Gets 99th percentile of values recorded
+     *
+     * @return long value of 99th percentile
+     */
+    long getP99();
+
+    /**
+     * Gets 99.9th percentile of values recorded
+     *
+     * @return long value of 99.9th percentile
+     */
+    long getP999();
+
+    /**
+     * Clears every value recorded so far
+     */
+    void reset();
+}
@@ -1,10 +1,7 @@
 import bagel.Font;
 import bagel.Image;
-import bagel.Input;
 import bagel.Keys;
 
-import java.util.Properties;
-
 /**
  * A class representing the home screen of the game.
  *
@@ -12,9 +9,9 @@ import java.util.Properties;
  */
 public class HomeScreen extends Screen {
     /**
-     * Image object that holds background image of home screen
+     * Shared handle to background image of home screen
      */
-    private final Image BG;
+    private final Asset<Image> BG;
     /**
      * String holding game title
      */
@@ -26,11 +23,11 @@ public class HomeScreen extends Screen {
     /**
      * Font information for title rendering
      */
-    private final Font TITLE_FONT;
+    private final Asset<Font> TITLE_FONT;
     /**
      * Font information for home screen instruction rendering
      */
-    private final Font PROMPT_FONT;
+    private final Asset<Font> PROMPT_FONT;
     /**
      * Y-coordinate of title text
      */
@@ -39,44 +36,78 @@ public class HomeScreen extends Screen {
      * Y-coordinate of instruction text
      */
     private final int PROMPT_Y;
+    /**
+     * String holding the prompt to resume an autosaved game
+     */
+    private final String RESUME;
+    /**
+     * Y-coordinate of resume prompt
+     */
+    private final int RESUME_Y;
+    /**
+     * Boolean value indicating if there is an autosaved game to resume
+     */
+    private boolean resumable;
 
     /**
      * Constructor for home screen that displays title at beginning of game loop
      *
-     * @param gameProp Properties object that holds game properties
+     * @param config Game configuration
      */
-    public HomeScreen(Properties gameProp) {
-        super(gameProp.getProperty("backgroundImage"));
-        BG = new Image(getGameProp().getProperty("backgroundImage.home"));
-        TITLE = getMsgProp().getProperty("home.title");
-        TITLE_FONT = new Font(getGameProp().getProperty("font"),
-                Integer.parseInt(getGameProp().getProperty("home.title.fontSize")));
-        TITLE_Y = Integer.parseInt(getGameProp().getProperty("home.title.y"));
+    public HomeScreen(GameConfig config) {
+        super(config, config.backgrounds().home());
+        BG = AssetCache.image(getIMG_PATH());
+        TITLE = config.messages().title();
+        TITLE_FONT = AssetCache.font(config.display().font(), config.home().titleFontSize());
+        TITLE_Y = config.home().titleY();
+
+        PROMPT = config.messages().instruction();
+        PROMPT_FONT = AssetCache.font(config.display().font(), config.home().instructionFontSize());
+        PROMPT_Y = config.home().instructionY();
 
-        PROMPT = getMsgProp().getProperty("home.instruction");
-        PROMPT_FONT = new Font(getGameProp().getProperty("font"),
-                Integer.parseInt(getGameProp().getProperty("home.instruction.fontSize")));
-        PROMPT_Y = Integer.parseInt(getGameProp().getProperty("home.instruction.y"));
+        RESUME = config.messages().resume();
+        RESUME_Y = config.home().resumeY();
     }
 
     /**
-     * Show the home screen with the title and the background.
+     * Sets whether there is an autosaved game to resume, which shows the resume prompt
+     *
+     * @param resumable true if there is a game to resume, false otherwise
+     */
+    public void setResumable(boolean resumable) {
+        this.resumable = resumable;
+    }
+
+    /**
+     * Waits on the home screen for the player to continue.
      *
      * @param input The current mouse/keyboard input.
      * @return true if ENTER key is pressed, false otherwise.
      */
-    public boolean update(Input input) {
-        render();
+    public boolean update(GameInput input) {
         return input.wasPressed(Keys.ENTER);
     }
 
+    /**
+     * Checks if the player chose to resume the autosaved game
+     *
+     * @param input The current mouse/keyboard input.
+     * @return true if there is a game to resume and R key is pressed, false otherwise.
+     */
+    public boolean isResumePressed(GameInput input) {
+        return resumable && input.wasPressed(Keys.R);
+    }
+
     /**
      * Text and image rendering of home screen
      */
     @Override
     public void render() {
-        BG.drawFromTopLeft(0, 0);
+        BG.get().drawFromTopLeft(0, 0);
         renderCentreText(TITLE_FONT, TITLE, getWinCentreX(), TITLE_Y, getTextWhite());
         renderCentreText(PROMPT_FONT, PROMPT, getWinCentreX(), PROMPT_Y, getTextWhite());
+        if (resumable) {
+            renderCentreText(PROMPT_FONT, RESUME, getWinCentreX(), RESUME_Y, getTextWhite());
+        }
     }
 }
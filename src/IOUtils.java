@@ -8,6 +8,11 @@ import java.util.Properties;
  * @author SWEN20003 Teaching Staff
  */
 public class IOUtils {
+    /**
+     * Time taken by each writeLineToFile call, in nanoseconds. Scores are written by ScoreStore, which has its
+     * own histogram, so the only lines timed here are trip ledger records.
+     */
+    private static final Histogram WRITE_LATENCY = Metrics.histogram("io.ledgerWriteNs");
 
     /***
      * Read a file and return a list of String arrays
@@ -16,8 +21,7 @@ public class IOUtils {
      */
     public static ArrayList<String[]> readCommaSeparatedFile(String file) {
         ArrayList<String[]> lines = new ArrayList<>();
-        try {
-            BufferedReader reader = new BufferedReader(new FileReader(file));
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String textRead;
             while ((textRead = reader.readLine()) != null) {
                 String[] splitText = textRead.split(",");
@@ -37,8 +41,8 @@ public class IOUtils {
      */
     public static Properties readPropertiesFile(String configFile) {
         Properties appProps = new Properties();
-        try {
-            appProps.load(new FileInputStream(configFile));
+        try (FileInputStream in = new FileInputStream(configFile)) {
+            appProps.load(in);
         } catch (IOException ex) {
             ex.printStackTrace();
             System.exit(-1);
@@ -51,13 +55,15 @@ public class IOUtils {
      * Write a line to a file
      *
      * @param filename The name of the file
-     * @param line     The line (player name & the score) to be written
+     * @param line     The line (a trip ledger record) to be written
      */
     public static void writeLineToFile(String filename, String line) {
+        long start = System.nanoTime();
         try (FileWriter fw = new FileWriter(filename, true); BufferedWriter bw = new BufferedWriter(fw); PrintWriter out = new PrintWriter(bw)) {
             out.println(line);
         } catch (IOException e) {
             e.printStackTrace();
         }
+        WRITE_LATENCY.record(System.nanoTime() - start);
     }
 }
\ No newline at end of file
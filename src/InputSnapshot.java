@@ -0,0 +1,203 @@
+import bagel.Keys;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Keyboard state of one frame, captured once from a GameInput and then read by every screen and entity with a
+ * bit test. Only the keys the game reacts to are watched, and each watched key has a bit in three long
+ * bitsets of held, pressed and released keys.
+ * <p>
+ * The same class holds the input of the simulation between ticks. Key presses and releases from every
+ * displayed frame are latched until a tick has seen them, so none are lost on frames that run no ticks and
+ * none are seen twice on frames that run several.
+ * <p>
+ * Bits are numbered by place in WATCHED rather than by key ordinal, so a snapshot written to a file reads back
+ * the same whatever version of bagel is used. New keys must only be added to the end of WATCHED.
+ *
+ * @author Kevin Tran
+ */
+public class InputSnapshot implements GameInput {
+    /**
+     * Keys the game reacts to, in bit order
+     */
+    private static final Keys[] WATCHED = {Keys.A, Keys.B, Keys.C, Keys.D, Keys.E, Keys.F, Keys.G, Keys.H,
+            Keys.I, Keys.J, Keys.K, Keys.L, Keys.M, Keys.N, Keys.O, Keys.P, Keys.Q, Keys.R, Keys.S, Keys.T, Keys.U,
+            Keys.V, Keys.W, Keys.X, Keys.Y, Keys.Z, Keys.UP, Keys.DOWN, Keys.LEFT, Keys.RIGHT, Keys.ENTER,
+            Keys.SPACE, Keys.BACKSPACE, Keys.DELETE, Keys.ESCAPE};
+    /**
+     * Bit of each key, indexed by ordinal, or -1 if the key is not watched
+     */
+    private static final int[] BITS = new int[Keys.values().length];
+
+    static {
+        Arrays.fill(BITS, -1);
+        for (int bit = 0; bit < WATCHED.length; bit++) {
+            BITS[WATCHED[bit].ordinal()] = bit;
+        }
+    }
+
+    /**
+     * Keys held down
+     */
+    private long down;
+    /**
+     * Keys pressed
+     */
+    private long pressed;
+    /**
+     * Keys released
+     */
+    private long released;
+
+    /**
+     * Gets the mask of a key's bit
+     *
+     * @param key Key to look up
+     * @return long value with the key's bit set, or 0 if the key is not watched
+     */
+    private static long mask(Keys key) {
+        int bit = BITS[key.ordinal()];
+        return bit < 0 ? 0 : 1L << bit;
+    }
+
+    /**
+     * Replaces this snapshot with the state of every watched key of another input. This is the only place the
+     * other input is asked about each key.
+     *
+     * @param source Input of the current frame
+     */
+    public void capture(GameInput source) {
+        long nextDown = 0, nextPressed = 0, nextReleased = 0;
+        for (int bit = 0; bit < WATCHED.length; bit++) {
+            Keys key = WATCHED[bit];
+            if (source.isDown(key)) {
+                nextDown |= 1L << bit;
+            }
+            if (source.wasPressed(key)) {
+                nextPressed |= 1L << bit;
+            }
+            if (source.wasReleased(key)) {
+                nextReleased |= 1L << bit;
+            }
+        }
+        set(nextDown, nextPressed, nextReleased);
+    }
+
+    /**
+     * Adds the key state of a displayed frame to the input held for the next tick
+     *
+     * @param frame Snapshot of the displayed frame
+     */
+    public void latch(InputSnapshot frame) {
+        down = frame.down;
+        pressed |= frame.pressed;
+        released |= frame.released;
+    }
+
+    /**
+     * Marks the latched presses and releases as seen by a tick. A key that was both pressed and released
+     * keeps its release for the next tick, so whatever reacted to the press also sees it let go.
+     */
+    public void consume() {
+        released &= pressed;
+        pressed = 0;
+    }
+
+    /**
+     * Sets every key of the snapshot at once, as a replay or bot does
+     *
+     * @param down     Bits of keys held down
+     * @param pressed  Bits of keys pressed
+     * @param released Bits of keys released
+     */
+    public void set(long down, long pressed, long released) {
+        this.down = down;
+        this.pressed = pressed;
+        this.released = released;
+    }
+
+    /**
+     * Writes the snapshot as three longs
+     *
+     * @param out Stream to write to
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(down);
+        out.writeLong(pressed);
+        out.writeLong(released);
+    }
+
+    /**
+     * Replaces the snapshot with one written by write
+     *
+     * @param in Stream to read from
+     * @throws IOException if the snapshot cannot be read
+     */
+    public void read(DataInput in) throws IOException {
+        set(in.readLong(), in.readLong(), in.readLong());
+    }
+
+    /**
+     * Gets the bits of keys held down
+     *
+     * @return long value of held key bits
+     */
+    public long getDown() {
+        return down;
+    }
+
+    /**
+     * Gets the bits of keys pressed
+     *
+     * @return long value of pressed key bits
+     */
+    public long getPressed() {
+        return pressed;
+    }
+
+    /**
+     * Gets the bits of keys released
+     *
+     * @return long value of released key bits
+     */
+    public long getReleased() {
+        return released;
+    }
+
+    /**
+     * Checks if a key is held down
+     *
+     * @param key Key to check
+     * @return true if the key is held down, false otherwise
+     */
+    @Override
+    public boolean isDown(Keys key) {
+        return (down & mask(key)) != 0;
+    }
+
+    /**
+     * Checks if a key was pressed
+     *
+     * @param key Key to check
+     * @return true if the key was pressed, false otherwise
+     */
+    @Override
+    public boolean wasPressed(Keys key) {
+        return (pressed & mask(key)) != 0;
+    }
+
+    /**
+     * Checks if a key was released
+     *
+     * @param key Key to check
+     * @return true if the key was released, false otherwise
+     */
+    @Override
+    public boolean wasReleased(Keys key) {
+        return (released & mask(key)) != 0;
+    }
+}
@@ -0,0 +1,148 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * Interface for the source of a level's game objects and weather. Rows are handed out a chunk of
+ * Y-coordinates at a time as the game nears them, nearest the bottom of the screen first and in file order
+ * within a chunk, so the same level plays out the same whichever format it is read from.
+ *
+ * @author Kevin Tran
+ */
+public interface Level {
+    /**
+     * Opens the level of the game. The compiled level file is used when it exists and is newer than the CSV
+     * files it was compiled from, otherwise the CSV files are read.
+     *
+     * @param gamePlay Gameplay settings holding the level file paths
+     * @return Level of the game
+     */
+    static Level open(GameConfig.GamePlay gamePlay) {
+        String compiled = gamePlay.levelFile();
+        if (!compiled.isBlank() && Files.exists(Path.of(compiled))) {
+            try {
+                if (isNewer(compiled, gamePlay.objectsFile()) && isNewer(compiled, gamePlay.weatherFile())) {
+                    return new BinaryLevel(compiled);
+                }
+                System.err.println(compiled + " is older than the CSV level, reading the CSV level instead");
+            } catch (IOException ex) {
+                System.err.println("Cannot read " + compiled + ", reading the CSV level instead: "
+                        + ex.getMessage());
+            }
+        }
+        return new CsvLevel(gamePlay.objectsFile(), gamePlay.weatherFile(), gamePlay.chunkSize());
+    }
+
+    /**
+     * Checks if a file was last modified no earlier than another
+     *
+     * @param file  File path to check
+     * @param other File path to compare against
+     * @return true if file is at least as new as other, false otherwise
+     * @throws IOException if either file cannot be read
+     */
+    private static boolean isNewer(String file, String other) throws IOException {
+        return Files.getLastModifiedTime(Path.of(file)).compareTo(Files.getLastModifiedTime(Path.of(other))) >= 0;
+    }
+
+    /**
+     * Abstract method that gets the taxi and driver rows of the level
+     *
+     * @return ArrayList of Row, in file order
+     */
+    ArrayList<Row> getPlayers();
+
+    /**
+     * Abstract method that gets the number of passenger rows in the level, including those not loaded yet
+     *
+     * @return int value of passenger count
+     */
+    int getPassengerCount();
+
+    /**
+     * Abstract method that gets the weather of the level
+     *
+     * @return ArrayList of Weather, in file order
+     */
+    ArrayList<Weather> getWeather();
+
+    /**
+     * Abstract method that loads every pending chunk that overlaps a span of Y-coordinates
+     *
+     * @param minY Smallest Y-coordinate of the span, in world coordinates
+     * @param maxY Largest Y-coordinate of the span, in world coordinates
+     * @return ArrayList of the rows loaded, empty if no chunk was due
+     */
+    ArrayList<Row> load(int minY, int maxY);
+
+    /**
+     * Abstract method that gets the height of each chunk rows are loaded in
+     *
+     * @return int value of chunk size in pixels
+     */
+    int getChunkSize();
+
+    /**
+     * Abstract method that gets the number of chunks not loaded yet
+     *
+     * @return int value of pending chunk count
+     */
+    int getPendingCount();
+
+    /**
+     * Abstract method that closes the level. Chunks not loaded yet are dropped.
+     */
+    void close();
+
+    /**
+     * Row of a level holding a game object
+     *
+     * @param type     Object type, such as TAXI or PASSENGER
+     * @param x        Initial X-coordinate
+     * @param y        Initial Y-coordinate
+     * @param priority Priority of a passenger, otherwise 0
+     * @param endX     X-coordinate of a passenger's destination, otherwise 0
+     * @param endY     Y distance of a passenger's trip, otherwise 0
+     * @param umbrella 1 if a passenger has an umbrella, otherwise 0
+     */
+    record Row(String type, int x, int y, int priority, int endX, int endY, int umbrella) {
+        /**
+         * Number of integer fields after the type
+         */
+        public static final int VALUES = 6;
+
+        /**
+         * Parses a row of a game objects CSV. Fields a type does not have are left as 0.
+         *
+         * @param fields Comma separated fields of the row
+         * @return Row holding the fields
+         */
+        public static Row parse(String[] fields) {
+            int[] values = new int[VALUES];
+            for (int i = 0; i < VALUES && i + 1 < fields.length; i++) {
+                values[i] = Integer.parseInt(fields[i + 1]);
+            }
+            return new Row(fields[0], values[0], values[1], values[2], values[3], values[4], values[5]);
+        }
+    }
+
+    /**
+     * Weather of a span of frames
+     *
+     * @param state Weather state, SUNNY or RAINING
+     * @param start First frame of the span
+     * @param end   Last frame of the span
+     */
+    record Weather(String state, int start, int end) {
+        /**
+         * Parses a row of a weather CSV
+         *
+         * @param fields Comma separated fields of the row
+         * @return Weather holding the fields
+         */
+        public static Weather parse(String[] fields) {
+            return new Weather(fields[0], Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+        }
+    }
+}
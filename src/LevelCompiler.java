@@ -0,0 +1,270 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compiles the game objects and weather CSV files of a level into the binary layout read by BinaryLevel, and
+ * checks that a compiled level hands out exactly the rows the CSV files do.
+ * <p>
+ * Usage: LevelCompiler [--config app.properties] [--messages message_en.properties] [--out level file] [--verify]
+ * <p>
+ * The CSV files, chunk size and output path are taken from the configuration, which is loaded and checked the
+ * same way the game loads it. With --verify the level is
+ * compiled, then read back and compared row by row against the CSV files in the order the game loads them.
+ *
+ * @author Kevin Tran
+ */
+public class LevelCompiler {
+    /**
+     * Object types of the taxi and driver
+     */
+    private static final Set<String> PLAYER_TYPES = Set.of("TAXI", "DRIVER");
+    /**
+     * Object types that are streamed in chunks
+     */
+    private static final Set<String> CHUNKED_TYPES = Set.of("PASSENGER", "COIN", "INVINCIBLE_POWER");
+
+    /**
+     * Private constructor as this class only holds static methods
+     */
+    private LevelCompiler() {
+    }
+
+    /**
+     * Row of the game objects CSV together with its row number
+     *
+     * @param line Row number in the CSV, counting from 0
+     * @param row  Parsed row
+     */
+    private record Numbered(int line, Level.Row row) {
+    }
+
+    /**
+     * Compiles a level and writes it in place of any earlier compiled level. The file is written beside the
+     * output and renamed over it, so the game never reads a half written level.
+     *
+     * @param objectsFile File path to game objects CSV
+     * @param weatherFile File path to weather CSV
+     * @param chunkSize   Height in pixels of each chunk
+     * @param out         File path to write the compiled level to
+     * @return int value of the number of object records written
+     * @throws IOException if a file cannot be read or written
+     */
+    public static int compile(String objectsFile, String weatherFile, int chunkSize, String out)
+            throws IOException {
+        ArrayList<Numbered> players = new ArrayList<>();
+        ArrayList<Numbered> objects = new ArrayList<>();
+        int passengerCount = 0;
+        ArrayList<String[]> lines = IOUtils.readCommaSeparatedFile(objectsFile);
+        for (int line = 0; line < lines.size(); line++) {
+            String type = lines.get(line)[0];
+            if (PLAYER_TYPES.contains(type)) {
+                players.add(new Numbered(line, Level.Row.parse(lines.get(line))));
+            } else if (CHUNKED_TYPES.contains(type)) {
+                objects.add(new Numbered(line, Level.Row.parse(lines.get(line))));
+                if (type.equals("PASSENGER")) {
+                    passengerCount++;
+                }
+            }
+        }
+        objects.sort(Comparator.comparingInt((Numbered numbered) -> numbered.row().y())
+                .thenComparingInt(Numbered::line));
+        ArrayList<Level.Weather> weather = new ArrayList<>();
+        for (String[] line : IOUtils.readCommaSeparatedFile(weatherFile)) {
+            weather.add(Level.Weather.parse(line));
+        }
+
+        // string table of every object type and weather state, in the order first seen
+        LinkedHashMap<String, Integer> strings = new LinkedHashMap<>();
+        for (Numbered numbered : players) {
+            strings.putIfAbsent(numbered.row().type(), strings.size());
+        }
+        for (Numbered numbered : objects) {
+            strings.putIfAbsent(numbered.row().type(), strings.size());
+        }
+        for (Level.Weather span : weather) {
+            strings.putIfAbsent(span.state(), strings.size());
+        }
+
+        Path target = Path.of(out).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream file = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(temp.toFile())))) {
+            file.writeInt(BinaryLevel.MAGIC);
+            file.writeInt(BinaryLevel.VERSION);
+            file.writeInt(chunkSize);
+            file.writeInt(passengerCount);
+
+            file.writeInt(strings.size());
+            for (String string : strings.keySet()) {
+                byte[] bytes = string.getBytes(StandardCharsets.US_ASCII);
+                file.writeShort(bytes.length);
+                file.write(bytes);
+            }
+
+            file.writeInt(players.size());
+            for (Numbered numbered : players) {
+                writeRecord(file, numbered, strings);
+            }
+
+            file.writeInt(weather.size());
+            for (Level.Weather span : weather) {
+                file.writeInt(strings.get(span.state()));
+                file.writeInt(span.start());
+                file.writeInt(span.end());
+            }
+
+            ArrayList<int[]> chunks = new ArrayList<>();
+            for (int i = 0; i < objects.size(); i++) {
+                int key = Math.floorDiv(objects.get(i).row().y(), chunkSize);
+                if (chunks.isEmpty() || chunks.get(chunks.size() - 1)[0] != key) {
+                    chunks.add(new int[]{key, i});
+                }
+            }
+            file.writeInt(chunks.size());
+            for (int[] chunk : chunks) {
+                file.writeInt(chunk[0]);
+                file.writeInt(chunk[1]);
+            }
+
+            file.writeInt(objects.size());
+            for (Numbered numbered : objects) {
+                writeRecord(file, numbered, strings);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return objects.size();
+    }
+
+    /**
+     * Writes an object record
+     *
+     * @param file     Stream to write to
+     * @param numbered Row to write and its row number
+     * @param strings  Place of each string in the string table
+     * @throws IOException if the record cannot be written
+     */
+    private static void writeRecord(DataOutputStream file, Numbered numbered, LinkedHashMap<String, Integer> strings)
+            throws IOException {
+        Level.Row row = numbered.row();
+        file.writeInt(numbered.line());
+        file.writeInt(strings.get(row.type()));
+        file.writeInt(row.x());
+        file.writeInt(row.y());
+        file.writeInt(row.priority());
+        file.writeInt(row.endX());
+        file.writeInt(row.endY());
+        file.writeInt(row.umbrella());
+    }
+
+    /**
+     * Reads a compiled level back and compares it against the CSV files it was compiled from
+     *
+     * @param objectsFile File path to game objects CSV
+     * @param weatherFile File path to weather CSV
+     * @param compiled    File path to compiled level
+     * @return String describing the first difference, or null if the levels match
+     * @throws IOException if the compiled level cannot be read
+     */
+    public static String verify(String objectsFile, String weatherFile, String compiled) throws IOException {
+        BinaryLevel binary = new BinaryLevel(compiled);
+        CsvLevel csv = new CsvLevel(objectsFile, weatherFile, binary.getChunkSize());
+        if (!binary.getPlayers().equals(csv.getPlayers())) {
+            return "taxi and driver rows differ";
+        }
+        if (binary.getPassengerCount() != csv.getPassengerCount()) {
+            return "passenger counts differ: " + binary.getPassengerCount() + " and " + csv.getPassengerCount();
+        }
+        if (!binary.getWeather().equals(csv.getWeather())) {
+            return "weather differs";
+        }
+        List<Level.Row> binaryRows = binary.load(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        List<Level.Row> csvRows = csv.load(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        for (int i = 0; i < Math.max(binaryRows.size(), csvRows.size()); i++) {
+            Level.Row binaryRow = i < binaryRows.size() ? binaryRows.get(i) : null;
+            Level.Row csvRow = i < csvRows.size() ? csvRows.get(i) : null;
+            if (!Objects.equals(binaryRow, csvRow)) {
+                return "row " + i + " differs: " + binaryRow + " and " + csvRow;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the value given after an option, exiting if the option is the last argument
+     *
+     * @param args   Command line options
+     * @param option Index of the option in args
+     * @return String value of the option
+     */
+    private static String optionValue(String[] args, int option) {
+        if (option + 1 == args.length) {
+            System.err.println("Missing value for " + args[option]);
+            System.exit(-1);
+        }
+        return args[option + 1];
+    }
+
+    /**
+     * Main function of the level compiler
+     *
+     * @param args Command line options, see class documentation
+     */
+    public static void main(String[] args) {
+        String configFile = "res/app.properties", messageFile = "res/message_en.properties", out = null;
+        boolean verify = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--config" -> configFile = optionValue(args, i++);
+                case "--messages" -> messageFile = optionValue(args, i++);
+                case "--out" -> out = optionValue(args, i++);
+                case "--verify" -> verify = true;
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(-1);
+                }
+            }
+        }
+
+        GameConfig.GamePlay gamePlay;
+        try {
+            gamePlay = GameConfig.load(configFile, messageFile).gamePlay();
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(-1);
+            return;
+        }
+        String objectsFile = gamePlay.objectsFile();
+        String weatherFile = gamePlay.weatherFile();
+        int chunkSize = gamePlay.chunkSize();
+        if (out == null) {
+            out = gamePlay.levelFile();
+        }
+        try {
+            int count = compile(objectsFile, weatherFile, chunkSize, out);
+            System.out.println("Compiled " + count + " objects into " + out);
+            if (verify) {
+                String difference = verify(objectsFile, weatherFile, out);
+                if (difference != null) {
+                    System.err.println("Compiled level does not match " + objectsFile + ": " + difference);
+                    System.exit(1);
+                }
+                System.out.println("Verified " + out + " against " + objectsFile + " and " + weatherFile);
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * In-process registry of the game's counters, gauges and histograms. Every metric is registered with the
+ * platform MBean server as shadowtaxi:type=&lt;Type&gt;,name=&lt;name&gt;, so JConsole, VisualVM or any other
+ * JMX tool can watch a running game. Metrics are looked up once, when their owner is created, and then held
+ * in fields, so updating one never touches the registry.
+ *
+ * @author Kevin Tran
+ */
+public final class Metrics {
+    /**
+     * Domain of the metrics' JMX object names
+     */
+    private static final String DOMAIN = "shadowtaxi";
+    /**
+     * Registered metrics, keyed by name
+     */
+    private static final HashMap<String, Object> METRICS = new HashMap<>();
+
+    /**
+     * Private constructor as this class only holds static methods
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Gets the counter of a name, registering it on first use
+     *
+     * @param name Name of metric
+     * @return Counter of the name
+     */
+    public static synchronized Counter counter(String name) {
+        Object metric = METRICS.get(name);
+        if (metric == null) {
+            metric = register(name, "Counter", new Counter(), CounterMBean.class);
+        }
+        return (Counter) metric;
+    }
+
+    /**
+     * Gets the histogram of a name, registering it on first use
+     *
+     * @param name Name of metric
+     * @return Histogram of the name
+     */
+    public static synchronized Histogram histogram(String name) {
+        Object metric = METRICS.get(name);
+        if (metric == null) {
+            metric = register(name, "Histogram", new Histogram(), HistogramMBean.class);
+        }
+        return (Histogram) metric;
+    }
+
+    /**
+     * Gets the gauge of a name reading from a source, registering it on first use and otherwise replacing its
+     * source
+     *
+     * @param name   Name of metric
+     * @param source Source of the gauge's value
+     * @return Gauge of the name
+     */
+    public static synchronized Gauge gauge(String name, DoubleSupplier source) {
+        Object metric = METRICS.get(name);
+        if (metric == null) {
+            return (Gauge) register(name, "Gauge", new Gauge(source), GaugeMBean.class);
+        }
+        ((Gauge) metric).setSource(source);
+        return (Gauge) metric;
+    }
+
+    /**
+     * Adds a metric to the registry and the platform MBean server. A metric that cannot be registered with
+     * JMX is still kept, so the game runs the same without a management agent.
+     *
+     * @param name      Name of metric
+     * @param type      Type of metric, used in its object name
+     * @param metric    Metric to register
+     * @param interfaze Management interface of metric
+     * @param <T>       Type of management interface
+     * @return The registered metric
+     */
+    private static <T> Object register(String name, String type, T metric, Class<T> interfaze) {
+        METRICS.put(name, metric);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + name);
+            server.registerMBean(new StandardMBean(metric, interfaze), objectName);
+        } catch (JMException ex) {
+            System.err.println("Could not register metric " + name + ": " + ex.getMessage());
+        }
+        return metric;
+    }
+}
@@ -1,5 +1,3 @@
-import bagel.Input;
-
 /**
  * Interface that groups methods relevant to Entities that can move
  *
@@ -11,7 +9,7 @@ public interface Movable extends Scrollable {
      *
      * @param input The current mouse/keyboard input.
      */
-    void adjustToInputMovement(Input input);
+    void adjustToInputMovement(GameInput input);
 
     /**
      * Abstract method that will implement relative movement logic
@@ -1,15 +1,12 @@
 import bagel.Font;
 import bagel.Image;
-import bagel.Input;
-
-import java.util.Properties;
 
 /**
  * This class contains methods and attributes of Passenger objects that are rendered in GameScreen
  *
  * @author SWEN20003 Teaching Staff, adapted by Kevin Tran
  */
-public class Passenger extends Entity implements Damageable, Bleedable {
+public class Passenger extends Entity implements Damageable, Bleedable, Sleepable {
     /**
      * Detection radius for a taxi
      */
@@ -59,13 +56,21 @@ public class Passenger extends Entity implements Damageable, Bleedable {
      */
     private boolean reachedFlag;
     /**
-     * Image object holding standard Passenger image
+     * Shared handle to standard Passenger image
+     */
+    private final Asset<Image> P_IMG;
+    /**
+     * Shared handle to umbrella passenger image
+     */
+    private final Asset<Image> P_IMG_U;
+    /**
+     * Shared handle to the blood image, only loaded the first time a Passenger bleeds
      */
-    private final Image P_IMG;
+    private final Asset<Image> BLOOD_IMG;
     /**
-     * Image object holding umbrella passenger image
+     * Shared handle to font used for drawing priority and expected fee
      */
-    private final Image P_IMG_U;
+    private final Asset<Font> PRIORITY_FONT;
     /**
      * Health attribute of `this` Passenger
      */
@@ -74,7 +79,7 @@ public class Passenger extends Entity implements Damageable, Bleedable {
     /**
      * Constructor method for Passenger objects
      *
-     * @param gameProp    Properties object that holds game properties
+     * @param config      Game configuration
      * @param x           Initial X-coordinate
      * @param y           Initial Y-coordinate
      * @param priority    Priority level of passenger
@@ -82,36 +87,49 @@ public class Passenger extends Entity implements Damageable, Bleedable {
      * @param distanceY   Y distance that passenger must travel
      * @param hasUmbrella Integer value indicating if passenger has umbrella (1) or doesn't (0)
      */
-    public Passenger(Properties gameProp, int x, int y, int priority, int endX, int distanceY, int hasUmbrella) {
-        super(x, y, gameProp.getProperty("gameObjects.passenger.image"), Float.parseFloat(gameProp.getProperty("gameObjects.passenger.radius")));
+    public Passenger(GameConfig config, int x, int y, int priority, int endX, int distanceY, int hasUmbrella) {
+        super(config, x, y, config.passenger().image(), config.passenger().radius());
 
         this.hasUmbrella = (hasUmbrella == 1);
 
-        P_IMG = getSprite();
-        P_IMG_U = new Image(getGameProp().getProperty("gameObjects.passenger.Umbrella.image"));
+        P_IMG = AssetCache.image(config.passenger().image());
+        P_IMG_U = AssetCache.image(config.passenger().umbrellaImage());
+        BLOOD_IMG = AssetCache.image(config.blood().image());
+        PRIORITY_FONT = AssetCache.font(config.display().font(), config.passenger().fontSize());
 
-        this.WALK_SPEED_X = Integer.parseInt(getGameProp().getProperty("gameObjects.passenger.walkSpeedX"));
-        this.WALK_SPEED_Y = Integer.parseInt(getGameProp().getProperty("gameObjects.passenger.walkSpeedY"));
+        this.WALK_SPEED_X = config.passenger().walkSpeedX();
+        this.WALK_SPEED_Y = config.passenger().walkSpeedY();
 
-        this.TRAVEL_PLAN = new TravelPlan(getGameProp(), endX, distanceY, priority);
-        this.TAXI_DETECT_RADIUS = Integer.parseInt(getGameProp().getProperty("gameObjects.passenger.taxiDetectRadius"));
+        this.TRAVEL_PLAN = new TravelPlan(config.rates(), endX, distanceY, priority);
+        this.TAXI_DETECT_RADIUS = config.passenger().taxiDetectRadius();
 
-        setMoveY(0);
         this.PRIORITY_OFFSET = 30;
         this.EXPECTED_FEE_OFFSET = 100;
 
-        this.health = (int) (100 * Double.parseDouble(getGameProp().getProperty("gameObjects.passenger.health")));
+        this.health = config.passenger().health();
     }
 
     /**
-     * Renders different passenger image based on umbrella state
+     * Renders different passenger image based on umbrella state while waiting, along with the priority and
+     * expected fee, and blood once the passenger has no health left
      */
     @Override
     public void render() {
-        if (hasUmbrella) {
-            P_IMG.draw(getX(), getY());
-        } else {
-            P_IMG_U.draw(getX(), getY());
+        if (!isGetInTaxi) {
+            if (hasUmbrella) {
+                P_IMG.get().draw(getRenderX(), getRenderY());
+            } else {
+                P_IMG_U.get().draw(getRenderX(), getRenderY());
+            }
+        }
+
+        // if the passenger is not in the taxi and there's no trip initiated, draw the priority number on the passenger.
+        if (!isGetInTaxi && trip == null) {
+            drawPriority();
+        }
+
+        if (health <= 0) {
+            bleed();
         }
     }
 
@@ -132,14 +150,9 @@ public class Passenger extends Entity implements Damageable, Bleedable {
      * @param input The current mouse/keyboard input.
      * @param taxi  The active taxi in the game play.
      */
-    public void updatePassenger(Input input, Taxi taxi) {
+    public void updatePassenger(GameInput input, Taxi taxi) {
         update(input);
 
-        // if the passenger is not in the taxi and there's no trip initiated, draw the priority number on the passenger.
-        if (!isGetInTaxi && trip == null) {
-            drawPriority();
-        }
-
         if (adjacentToObject(taxi) && !isGetInTaxi && trip == null) {
             // if the passenger has not started the trip yet,
             // Taxi must be stopped in passenger's vicinity and not having another trip.
@@ -150,7 +163,7 @@ public class Passenger extends Entity implements Damageable, Bleedable {
             if (trip == null) {
                 //Create new trip
                 getTravelPlan().setStartY(getY());
-                trip = new Trip(getGameProp(), this, taxi);
+                trip = new Trip(getConfig(), this, taxi);
                 taxi.setTrip(trip);
             }
             move(taxi);
@@ -163,10 +176,9 @@ public class Passenger extends Entity implements Damageable, Bleedable {
      * Draw the priority number on the passenger.
      */
     private void drawPriority() {
-        Font font = new Font(getGameProp().getProperty("font"),
-                Integer.parseInt(getGameProp().getProperty("gameObjects.passenger.fontSize")));
-        font.drawString(String.valueOf(TRAVEL_PLAN.getPriority()), getX() - PRIORITY_OFFSET, getY());
-        font.drawString(String.valueOf(TRAVEL_PLAN.getExpectedFee()), getX() - EXPECTED_FEE_OFFSET, getY());
+        Font font = PRIORITY_FONT.get();
+        font.drawString(String.valueOf(TRAVEL_PLAN.getPriority()), getRenderX() - PRIORITY_OFFSET, getRenderY());
+        font.drawString(String.valueOf(TRAVEL_PLAN.getExpectedFee()), getRenderX() - EXPECTED_FEE_OFFSET, getRenderY());
     }
 
     /**
@@ -267,27 +279,13 @@ public class Passenger extends Entity implements Damageable, Bleedable {
     }
 
     /**
-     * Unused update method of Passenger
+     * Unused update method of Passenger. A passenger outside the taxi stays put in the world while the camera
+     * scrolls past, and all other movement happens in updatePassenger.
      *
      * @param input The current mouse/keyboard input.
      */
     @Override
-    public void update(Input input) {
-        // if the passenger is not in the taxi or the trip is completed, update the passenger status based on keyboard
-        // input. This means the passenger is go down when taxi moves up.
-        if (!isGetInTaxi) {
-            render();
-        }
-        if (!isGetInTaxi || (trip != null && trip.isComplete())) {
-            if (input != null) {
-                adjustToInputMovement(input);
-            }
-            moveRelative();
-        }
-
-        if (health <= 0) {
-            bleed();
-        }
+    public void update(GameInput input) {
     }
 
     /**
@@ -306,12 +304,23 @@ public class Passenger extends Entity implements Damageable, Bleedable {
         }
     }
 
+    /**
+     * Checks if passenger can be put to sleep. A passenger waiting for a taxi, or one that has reached the
+     * flag of their trip, only acts once the taxi comes near.
+     *
+     * @return true if passenger is waiting or finished, false otherwise
+     */
+    @Override
+    public boolean isIdle() {
+        return !isGetInTaxi && (trip == null || reachedFlag);
+    }
+
     /**
      * Render logic for passenger bleeding
      */
     @Override
     public void bleed() {
-        blood.draw(getX(), getY());
+        BLOOD_IMG.get().draw(getRenderX(), getRenderY());
     }
 
     /**
@@ -319,7 +328,68 @@ public class Passenger extends Entity implements Damageable, Bleedable {
      *
      * @return current int value of passenger health
      */
+    @Override
     public int getHealth() {
         return health;
     }
+
+    /**
+     * Gets collision layer of Passenger objects
+     *
+     * @return Layer id of Passenger objects
+     */
+    @Override
+    public int getLayer() {
+        return CollisionLayer.PASSENGER;
+    }
+
+    /**
+     * Gets the trip of Passenger, which is kept once started
+     *
+     * @return Trip of Passenger, or null if none has started
+     */
+    public Trip getTrip() {
+        return trip;
+    }
+
+    /**
+     * Writes the state of Passenger that changes during a game, along with its travel plan and trip
+     *
+     * @param snapshot Snapshot to write to
+     */
+    @Override
+    public void saveState(GameSnapshot snapshot) {
+        super.saveState(snapshot);
+        snapshot.putInt(walkDirectionX);
+        snapshot.putInt(walkDirectionY);
+        snapshot.putInt(health);
+        snapshot.putBoolean(isGetInTaxi);
+        snapshot.putBoolean(reachedFlag);
+        TRAVEL_PLAN.saveState(snapshot);
+        snapshot.putBoolean(trip != null);
+        if (trip != null) {
+            trip.saveState(snapshot);
+        }
+    }
+
+    /**
+     * Puts Passenger back in the state written by saveState. A trip started since is dropped.
+     *
+     * @param snapshot Snapshot to read from
+     */
+    @Override
+    public void restoreState(GameSnapshot snapshot) {
+        super.restoreState(snapshot);
+        this.walkDirectionX = snapshot.getInt();
+        this.walkDirectionY = snapshot.getInt();
+        this.health = snapshot.getInt();
+        this.isGetInTaxi = snapshot.getBoolean();
+        this.reachedFlag = snapshot.getBoolean();
+        TRAVEL_PLAN.restoreState(snapshot);
+        if (snapshot.getBoolean()) {
+            trip.restoreState(snapshot);
+        } else {
+            trip = null;
+        }
+    }
 }
@@ -1,6 +1,6 @@
-import bagel.Input;
+import bagel.Image;
 
-import java.util.Properties;
+import java.util.ArrayList;
 
 /**
  * This class holds attributes and methods for passive car objects that appear in GameScreen
@@ -8,21 +8,46 @@ import java.util.Properties;
  * @author Kevin Tran
  */
 public class PassiveCar extends Car {
+    /**
+     * Shared handles to every passive car sprite, one of which is picked on each spawn
+     */
+    private final ArrayList<Asset<Image>> VARIANTS;
+    /**
+     * Stream that sprites are picked from
+     */
+    private final RandomStream SPRITE_RANDOM;
+
     /**
      * Passive Car constructor to instantiate passives
      *
-     * @param gameProp Properties file holding game properties
-     * @param x        Initial X-coordinate
-     * @param y        Initial Y-coordinate
+     * @param config Game configuration
+     * @param x      Initial X-coordinate
+     * @param y      Initial Y-coordinate
+     * @param random Random number service of the game
      */
-    public PassiveCar(Properties gameProp, int x, int y) {
-        super(gameProp, x, y,
-                String.format(gameProp.getProperty("gameObjects.otherCar.image"), MiscUtils.getRandomInt(1, 3)),
-                (int) (100 * Double.parseDouble(gameProp.getProperty("gameObjects.otherCar.health"))),
-                (int) (100 * Double.parseDouble(gameProp.getProperty("gameObjects.otherCar.damage"))),
-                Integer.parseInt(gameProp.getProperty("gameObjects.otherCar.minSpeedY")),
-                Integer.parseInt(gameProp.getProperty("gameObjects.otherCar.maxSpeedY")),
-                Float.parseFloat(gameProp.getProperty("gameObjects.otherCar.radius")));
+    public PassiveCar(GameConfig config, int x, int y, GameRandom random) {
+        super(config, config.otherCar(), x, y,
+                config.otherCar().variant(MiscUtils.getRandomInt(random.sprites(), 1, config.otherCar().types() + 1)),
+                random);
+        this.SPRITE_RANDOM = random.sprites();
+
+        int types = config.otherCar().types();
+        this.VARIANTS = new ArrayList<>(types);
+        for (int type = 1; type <= types; type++) {
+            VARIANTS.add(AssetCache.image(config.otherCar().variant(type)));
+        }
+    }
+
+    /**
+     * Returns passive car to the state of a freshly spawned car with a randomly picked sprite
+     *
+     * @param x New X-coordinate
+     * @param y New Y-coordinate
+     */
+    @Override
+    public void reset(int x, int y) {
+        super.reset(x, y);
+        setSprite(VARIANTS.get(MiscUtils.getRandomInt(SPRITE_RANDOM, 0, VARIANTS.size())));
     }
 
     /**
@@ -30,12 +55,8 @@ public class PassiveCar extends Car {
      *
      * @param input The current mouse/keyboard input.
      */
-    public void update(Input input) {
-        render();
-        if (input != null) {
-            adjustToInputMovement(input);
-        }
-
+    public void update(GameInput input) {
+        updateEffects();
         if (isDead()) {
             setSpeedY(0);
         }
@@ -46,4 +67,29 @@ public class PassiveCar extends Car {
 
         moveRelative();
     }
+
+    /**
+     * Writes the state of PassiveCar that changes during a game, including which sprite it was given
+     *
+     * @param snapshot Snapshot to write to
+     */
+    @Override
+    public void saveState(GameSnapshot snapshot) {
+        super.saveState(snapshot);
+        snapshot.putInt(VARIANTS.indexOf(getSpriteAsset()));
+    }
+
+    /**
+     * Puts PassiveCar back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    @Override
+    public void restoreState(GameSnapshot snapshot) {
+        super.restoreState(snapshot);
+        int variant = snapshot.getInt();
+        if (variant >= 0) {
+            setSprite(VARIANTS.get(variant));
+        }
+    }
 }
\ No newline at end of file
@@ -1,10 +1,7 @@
 import bagel.Font;
 import bagel.Image;
-import bagel.Input;
 import bagel.Keys;
 
-import java.util.Properties;
-
 /**
  * The screen class which allows the player to enter their name.
  *
@@ -12,9 +9,9 @@ import java.util.Properties;
  */
 public class PlayerInfoScreen extends Screen {
     /**
-     * Image object that holds background image of player info screen
+     * Shared handle to background image of player info screen
      */
-    private final Image BG;
+    private final Asset<Image> BG;
     /**
      * String holding Player Name header text
      */
@@ -26,7 +23,7 @@ public class PlayerInfoScreen extends Screen {
     /**
      * Font information for rendering text on player info screen
      */
-    private final Font PI_FONT;
+    private final Asset<Font> PI_FONT;
     /**
      * Y-coordinate of Player Name header
      */
@@ -47,32 +44,29 @@ public class PlayerInfoScreen extends Screen {
     /**
      * Constructor for player information screen as part of game loop. Reads user input for their name
      *
-     * @param gameProp Properties object that holds game properties
+     * @param config Game configuration
      */
-    public PlayerInfoScreen(Properties gameProp) {
-        super(gameProp.getProperty("backgroundImage.playerInfo"));
+    public PlayerInfoScreen(GameConfig config) {
+        super(config, config.backgrounds().playerInfo());
 
-        BG = new Image(getIMG_PATH());
-        PI_PLAYER_NAME = getMsgProp().getProperty("playerInfo.playerName");
-        PI_START_GAME = getMsgProp().getProperty("playerInfo.start");
-        PI_FONT = new Font(getGameProp().getProperty("font"),
-                Integer.parseInt(getGameProp().getProperty("playerInfo.fontSize")));
-        PLAYER_NAME_Y = Integer.parseInt(getGameProp().getProperty("playerInfo.playerName.y"));
-        PLAYER_NAME_INPUT_Y = Integer.parseInt(getGameProp().getProperty("playerInfo.playerNameInput.y"));
-        START_GAME_Y = Integer.parseInt(getGameProp().getProperty("playerInfo.start.y"));
+        BG = AssetCache.image(getIMG_PATH());
+        PI_PLAYER_NAME = config.messages().playerName();
+        PI_START_GAME = config.messages().start();
+        PI_FONT = AssetCache.font(config.display().font(), config.playerInfo().fontSize());
+        PLAYER_NAME_Y = config.playerInfo().playerNameY();
+        PLAYER_NAME_INPUT_Y = config.playerInfo().playerNameInputY();
+        START_GAME_Y = config.playerInfo().startY();
 
         playerName = "";
     }
 
     /**
-     * Show the player info screen with the input entered for the player name and the start game message.
+     * Reads the input entered for the player name.
      *
      * @param input The current mouse/keyboard input.
      * @return true if ENTER key is pressed, false otherwise.
      */
-    public boolean update(Input input) {
-        render();
-
+    public boolean update(GameInput input) {
         String letter = MiscUtils.getKeyPress(input);
         if (letter != null && !(input.wasPressed(Keys.BACKSPACE) || input.wasPressed(Keys.DELETE))) {
             playerName += letter;
@@ -88,7 +82,7 @@ public class PlayerInfoScreen extends Screen {
      */
     @Override
     public void render() {
-        BG.drawFromTopLeft(0, 0);
+        BG.get().drawFromTopLeft(0, 0);
         renderCentreText(PI_FONT, PI_PLAYER_NAME, getWinCentreX(), PLAYER_NAME_Y, getTextWhite());
         renderCentreText(PI_FONT, PI_START_GAME, getWinCentreX(), START_GAME_Y, getTextWhite());
         renderCentreText(PI_FONT, PI_PLAYER_NAME, getWinCentreX(), PLAYER_NAME_Y, getTextWhite());
@@ -0,0 +1,14 @@
+/**
+ * Interface for Entities that can be recycled through an EntityPool instead of being constructed for every spawn
+ *
+ * @author Kevin Tran
+ */
+public interface Poolable {
+    /**
+     * Abstract method that returns `this` entity to the state of a freshly spawned one
+     *
+     * @param x New X-coordinate
+     * @param y New Y-coordinate
+     */
+    void reset(int x, int y);
+}
@@ -0,0 +1,127 @@
+/**
+ * Stream of pseudo-random numbers using the xoshiro256** generator. It is not synchronised and keeps its state
+ * in four longs, so drawing a number never allocates. Two streams made from the same seed produce the same
+ * sequence, which makes a game run reproducible.
+ *
+ * @author Kevin Tran
+ */
+public class RandomStream {
+    /**
+     * Golden ratio increment used by SplitMix64 to spread a seed over the generator state
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    /**
+     * State words of the generator
+     */
+    private long s0, s1, s2, s3;
+
+    /**
+     * Constructor for a stream that starts from the given seed
+     *
+     * @param seed Seed of the stream
+     */
+    public RandomStream(long seed) {
+        // SplitMix64 turns any seed, including 0, into a state that is not all zero
+        long x = seed;
+        this.s0 = mix(x += GOLDEN_GAMMA);
+        this.s1 = mix(x += GOLDEN_GAMMA);
+        this.s2 = mix(x += GOLDEN_GAMMA);
+        this.s3 = mix(x + GOLDEN_GAMMA);
+    }
+
+    /**
+     * Scrambles the bits of a SplitMix64 counter value
+     *
+     * @param z Counter value
+     * @return Scrambled value
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Draws the next 64 random bits
+     *
+     * @return Random long value
+     */
+    public long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    /**
+     * Draws a random integer between 0 (inclusive) and bound (exclusive) without modulo bias
+     *
+     * @param bound Upper bound, must be positive
+     * @return Random int value
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        // Lemire's multiply-and-shift, rejecting the few values that would bias the result
+        long m = (nextLong() >>> 32) * bound;
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (1L << 32) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    /**
+     * Draws a random integer between min (inclusive) and max (exclusive)
+     *
+     * @param min The minimum value.
+     * @param max The maximum value.
+     * @return Random int value
+     */
+    public int nextInt(int min, int max) {
+        return nextInt(max - min) + min;
+    }
+
+    /**
+     * Draws a random boolean
+     *
+     * @return Random boolean value
+     */
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * Writes the state of the generator
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        snapshot.putLong(s0);
+        snapshot.putLong(s1);
+        snapshot.putLong(s2);
+        snapshot.putLong(s3);
+    }
+
+    /**
+     * Puts the generator back in the state written by saveState, so it draws the same numbers again
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        this.s0 = snapshot.getLong();
+        this.s1 = snapshot.getLong();
+        this.s2 = snapshot.getLong();
+        this.s3 = snapshot.getLong();
+    }
+}
@@ -0,0 +1,89 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * This class holds the layout shared by ReplayWriter and ReplayReader. A replay is a gzip stream holding a
+ * header, then one record for each simulation tick of a game:
+ * <pre>
+ * header: MAGIC VERSION seed (long) config hash (long) player name (UTF)
+ * tick:   flags (byte), the held, pressed and released key bits that changed (long each), checksum (int)
+ * end:    END (byte)
+ * </pre>
+ * Bits DOWN_CHANGED, PRESSED_CHANGED and RELEASED_CHANGED of the flags say which key bitsets differ from the
+ * tick before, so a tick with no change of input costs one byte and its checksum.
+ *
+ * @author Kevin Tran
+ */
+public final class Replay {
+    /**
+     * System property holding the file path to record the games of a session to
+     */
+    public static final String RECORD_PROPERTY = "shadowtaxi.record";
+    /**
+     * System property holding the file path of a replay to play back instead of taking keyboard input
+     */
+    public static final String PLAY_PROPERTY = "shadowtaxi.replay";
+    /**
+     * First bytes of a replay, "STRP"
+     */
+    public static final int MAGIC = 0x53545250;
+    /**
+     * Version of the layout
+     */
+    public static final int VERSION = 1;
+    /**
+     * Flag of a tick whose held keys changed
+     */
+    public static final int DOWN_CHANGED = 1;
+    /**
+     * Flag of a tick whose pressed keys changed
+     */
+    public static final int PRESSED_CHANGED = 2;
+    /**
+     * Flag of a tick whose released keys changed
+     */
+    public static final int RELEASED_CHANGED = 4;
+    /**
+     * Flags byte that ends a replay
+     */
+    public static final int END = 0x80;
+
+    /**
+     * Private constructor as this class only holds constants and static methods
+     */
+    private Replay() {
+    }
+
+    /**
+     * Hashes every setting that changes how a game plays out, along with the contents of the level files, so a
+     * replay is only played against the game it was recorded on. Text, layout, images loaded only for drawing
+     * and the paths of files the game writes are left out, as they do not change the simulation.
+     *
+     * @param config Game configuration
+     * @return long value of configuration hash
+     * @throws IOException if a level file cannot be read
+     */
+    public static long configHash(GameConfig config) throws IOException {
+        GameConfig.GamePlay gamePlay = config.gamePlay();
+        CRC32 crc = new CRC32();
+        String rules = String.join("|", String.valueOf(config.display().height()),
+                String.valueOf(gamePlay.target()), String.valueOf(gamePlay.maxFrames()),
+                String.valueOf(gamePlay.despawnMargin()), String.valueOf(gamePlay.despawnInterval()),
+                String.valueOf(gamePlay.wakeMargin()), String.valueOf(gamePlay.sleepInterval()),
+                String.valueOf(gamePlay.chunkSize()), String.valueOf(gamePlay.keepBelow()),
+                String.valueOf(gamePlay.carPool()), String.valueOf(gamePlay.fireballPool()),
+                String.valueOf(gamePlay.rewindInterval()), String.valueOf(gamePlay.rewindSlots()),
+                gamePlay.lanes().toString(), config.rates().toString(), config.taxi().toString(),
+                config.otherCar().toString(), config.enemyCar().toString(), config.fireball().toString(),
+                config.smoke().toString(), config.fire().toString(), config.blood().toString(),
+                config.passenger().toString(), config.driver().toString(), config.flag().toString(),
+                config.invinciblePower().toString(), config.coin().toString());
+        crc.update(rules.getBytes(StandardCharsets.UTF_8));
+        crc.update(Files.readAllBytes(Path.of(gamePlay.objectsFile())));
+        crc.update(Files.readAllBytes(Path.of(gamePlay.weatherFile())));
+        return crc.getValue();
+    }
+}
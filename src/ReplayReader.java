@@ -0,0 +1,191 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * This class plays back a replay written by ReplayWriter one tick at a time, and checks the game against the
+ * checksum recorded for each tick. Playback stops at the first tick whose checksum differs.
+ *
+ * @author Kevin Tran
+ */
+public class ReplayReader {
+    /**
+     * Compressed stream of the replay file
+     */
+    private final DataInputStream IN;
+    /**
+     * Seed of the recorded game
+     */
+    private final long SEED;
+    /**
+     * Configuration hash of the recorded game
+     */
+    private final long CONFIG_HASH;
+    /**
+     * Name of the player of the recorded game
+     */
+    private final String PLAYER_NAME;
+    /**
+     * Key bits of the last tick read
+     */
+    private long down, pressed, released;
+    /**
+     * Checksum recorded for the last tick read
+     */
+    private int checksum;
+    /**
+     * Number of ticks read
+     */
+    private int frames;
+    /**
+     * First tick whose checksum differed, or 0 if none has
+     */
+    private int divergedFrame;
+    /**
+     * Boolean value indicating if the end of the replay has been read
+     */
+    private boolean ended;
+
+    /**
+     * Constructor that opens a replay file and reads its header
+     *
+     * @param file File path of the replay
+     * @throws IOException if the file cannot be read or is not a replay of this version
+     */
+    public ReplayReader(String file) throws IOException {
+        this.IN = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        if (IN.readInt() != Replay.MAGIC) {
+            IN.close();
+            throw new IOException(file + " is not a replay");
+        }
+        int version = IN.readInt();
+        if (version != Replay.VERSION) {
+            IN.close();
+            throw new IOException(file + " is version " + version + ", expected " + Replay.VERSION);
+        }
+        this.SEED = IN.readLong();
+        this.CONFIG_HASH = IN.readLong();
+        this.PLAYER_NAME = IN.readUTF();
+    }
+
+    /**
+     * Reads the input of the next tick into a snapshot
+     *
+     * @param input Snapshot to fill
+     * @return true if a tick was read, false if the replay has ended or diverged
+     * @throws IOException if the file cannot be read
+     */
+    public boolean next(InputSnapshot input) throws IOException {
+        if (ended || divergedFrame != 0) {
+            return false;
+        }
+        int flags = IN.readUnsignedByte();
+        if (flags == Replay.END) {
+            ended = true;
+            IN.close();
+            return false;
+        }
+        if ((flags & Replay.DOWN_CHANGED) != 0) {
+            down = IN.readLong();
+        }
+        if ((flags & Replay.PRESSED_CHANGED) != 0) {
+            pressed = IN.readLong();
+        }
+        if ((flags & Replay.RELEASED_CHANGED) != 0) {
+            released = IN.readLong();
+        }
+        checksum = IN.readInt();
+        frames++;
+        input.set(down, pressed, released);
+        return true;
+    }
+
+    /**
+     * Checks the game state after the last tick read against the checksum recorded for it
+     *
+     * @param actual Checksum of the game state after the tick was played back
+     * @return true if the checksums match, false if the game has diverged from the recording
+     */
+    public boolean verify(int actual) {
+        if (actual != checksum && divergedFrame == 0) {
+            divergedFrame = frames;
+        }
+        return divergedFrame == 0;
+    }
+
+    /**
+     * Gets seed of the recorded game
+     *
+     * @return long value of seed
+     */
+    public long getSeed() {
+        return SEED;
+    }
+
+    /**
+     * Gets configuration hash of the recorded game
+     *
+     * @return long value of configuration hash
+     */
+    public long getConfigHash() {
+        return CONFIG_HASH;
+    }
+
+    /**
+     * Gets name of the player of the recorded game
+     *
+     * @return String player name
+     */
+    public String getPlayerName() {
+        return PLAYER_NAME;
+    }
+
+    /**
+     * Gets the number of ticks played back
+     *
+     * @return int value of tick count
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * Gets the checksum recorded for the last tick read
+     *
+     * @return int value of checksum
+     */
+    public int getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Gets the first tick whose checksum differed
+     *
+     * @return int value of the tick, counting from 1, or 0 if the playback has not diverged
+     */
+    public int getDivergedFrame() {
+        return divergedFrame;
+    }
+
+    /**
+     * Checks if the whole replay has been played back
+     *
+     * @return true if the end of the replay was read, false otherwise
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * Closes the replay file
+     */
+    public void close() {
+        try {
+            IN.close();
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class records a game as its seed, its configuration hash and the input of each tick, along with a
+ * checksum of the game state after the tick, so ReplayReader can play it back and spot where it diverges.
+ *
+ * @author Kevin Tran
+ */
+public class ReplayWriter {
+    /**
+     * Compressed stream of the replay file
+     */
+    private final DataOutputStream OUT;
+    /**
+     * Key bits of the last tick written
+     */
+    private long down, pressed, released;
+    /**
+     * Number of ticks written
+     */
+    private int frames;
+
+    /**
+     * Constructor that starts a replay file and writes its header
+     *
+     * @param file       File path to write the replay to
+     * @param seed       Seed of the game
+     * @param configHash Hash of the game configuration, from Replay.configHash
+     * @param playerName Name of the player
+     * @throws IOException if the file cannot be written
+     */
+    public ReplayWriter(String file, long seed, long configHash, String playerName) throws IOException {
+        this.OUT = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))));
+        OUT.writeInt(Replay.MAGIC);
+        OUT.writeInt(Replay.VERSION);
+        OUT.writeLong(seed);
+        OUT.writeLong(configHash);
+        OUT.writeUTF(playerName);
+    }
+
+    /**
+     * Writes a tick, storing only the key bitsets that changed since the tick before
+     *
+     * @param input    Input the tick was run with
+     * @param checksum Checksum of the game state after the tick
+     * @throws IOException if the tick cannot be written
+     */
+    public void write(InputSnapshot input, int checksum) throws IOException {
+        int flags = (input.getDown() != down ? Replay.DOWN_CHANGED : 0)
+                | (input.getPressed() != pressed ? Replay.PRESSED_CHANGED : 0)
+                | (input.getReleased() != released ? Replay.RELEASED_CHANGED : 0);
+        OUT.writeByte(flags);
+        if ((flags & Replay.DOWN_CHANGED) != 0) {
+            down = input.getDown();
+            OUT.writeLong(down);
+        }
+        if ((flags & Replay.PRESSED_CHANGED) != 0) {
+            pressed = input.getPressed();
+            OUT.writeLong(pressed);
+        }
+        if ((flags & Replay.RELEASED_CHANGED) != 0) {
+            released = input.getReleased();
+            OUT.writeLong(released);
+        }
+        OUT.writeInt(checksum);
+        frames++;
+    }
+
+    /**
+     * Gets the number of ticks written
+     *
+     * @return int value of tick count
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * Ends the replay and closes the file
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void close() throws IOException {
+        try (OUT) {
+            OUT.writeByte(Replay.END);
+        }
+    }
+}
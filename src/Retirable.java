@@ -0,0 +1,15 @@
+/**
+ * Interface for transient Entities that can be removed from the game once they are finished with
+ *
+ * @author Kevin Tran
+ */
+public interface Retirable {
+    /**
+     * Abstract method that checks if `this` entity is finished with and can be removed from the game
+     *
+     * @param minY Smallest Y-coordinate an entity can have and still be kept
+     * @param maxY Largest Y-coordinate an entity can have and still be kept
+     * @return true if the entity can be removed, false otherwise
+     */
+    boolean isRetired(int minY, int maxY);
+}
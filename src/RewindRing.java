@@ -0,0 +1,91 @@
+/**
+ * This class keeps the latest snapshots of a game in a fixed number of slots, overwriting the oldest when
+ * full. Every slot holds its GameSnapshot for the whole game, so taking a snapshot reuses the buffers of the
+ * one it replaces.
+ *
+ * @author Kevin Tran
+ */
+public class RewindRing {
+    /**
+     * Snapshot of each slot
+     */
+    private final GameSnapshot[] SLOTS;
+    /**
+     * Slot of the latest snapshot
+     */
+    private int head;
+    /**
+     * Number of slots holding a snapshot
+     */
+    private int count;
+
+    /**
+     * Constructor for an empty ring
+     *
+     * @param capacity Number of snapshots kept, 0 to keep none
+     */
+    public RewindRing(int capacity) {
+        this.SLOTS = new GameSnapshot[Math.max(0, capacity)];
+        for (int i = 0; i < SLOTS.length; i++) {
+            SLOTS[i] = new GameSnapshot();
+        }
+        this.head = -1;
+    }
+
+    /**
+     * Gets the slot to write the next snapshot into, which becomes the latest snapshot. When every slot is
+     * full this is the oldest snapshot.
+     *
+     * @return GameSnapshot to write into, or null if the ring keeps no snapshots
+     */
+    public GameSnapshot push() {
+        if (SLOTS.length == 0) {
+            return null;
+        }
+        head = (head + 1) % SLOTS.length;
+        count = Math.min(count + 1, SLOTS.length);
+        return SLOTS[head];
+    }
+
+    /**
+     * Takes the latest snapshot off the ring, so the one before it is the latest
+     *
+     * @return GameSnapshot taken, or null if the ring is empty. It is only valid until the next push.
+     */
+    public GameSnapshot pop() {
+        if (count == 0) {
+            return null;
+        }
+        GameSnapshot latest = SLOTS[head];
+        head = (head - 1 + SLOTS.length) % SLOTS.length;
+        count--;
+        return latest;
+    }
+
+    /**
+     * Gets the oldest snapshot on the ring
+     *
+     * @return GameSnapshot oldest, or null if the ring is empty
+     */
+    public GameSnapshot oldest() {
+        return count == 0 ? null : SLOTS[(head - count + 1 + SLOTS.length) % SLOTS.length];
+    }
+
+    /**
+     * Gets the number of snapshots on the ring
+     *
+     * @return int value of snapshot count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the number of snapshots the ring keeps
+     *
+     * @return int value of capacity
+     */
+    public int getCapacity() {
+        return SLOTS.length;
+    }
+}
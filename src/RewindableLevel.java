@@ -0,0 +1,197 @@
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * This class wraps the level of a game so it can be rewound along with the game. Once marked, every row handed
+ * out is kept in a history. Rewinding to a mark takes the rows handed out since then back, and they are handed
+ * out again, a chunk at a time in the same order as before, when the game nears them again. Rows from before
+ * the oldest mark still needed are forgotten, so the history only spans the snapshots kept.
+ *
+ * @author Kevin Tran
+ */
+public class RewindableLevel implements Level {
+    /**
+     * Level the rows are read from
+     */
+    private final Level LEVEL;
+    /**
+     * Height in pixels of each chunk of the level
+     */
+    private final int CHUNK_SIZE;
+    /**
+     * Rows handed out since the oldest mark still needed, in the order they were handed out
+     */
+    private final ArrayList<Row> HISTORY;
+    /**
+     * Rows taken back by a rewind and not handed out again yet, keyed by chunk number
+     */
+    private final TreeMap<Integer, ArrayList<Row>> REWOUND;
+    /**
+     * Number of rows handed out before the first row of the history
+     */
+    private int base;
+    /**
+     * Boolean value indicating if rows handed out are kept, which starts with the first mark
+     */
+    private boolean recording;
+
+    /**
+     * Constructor for a rewindable level
+     *
+     * @param level Level to read rows from
+     */
+    public RewindableLevel(Level level) {
+        this.LEVEL = level;
+        this.CHUNK_SIZE = level.getChunkSize();
+        this.HISTORY = new ArrayList<>();
+        this.REWOUND = new TreeMap<>();
+    }
+
+    /**
+     * Gets the taxi and driver rows of the level
+     *
+     * @return ArrayList of Row, in file order
+     */
+    @Override
+    public ArrayList<Row> getPlayers() {
+        return LEVEL.getPlayers();
+    }
+
+    /**
+     * Gets the number of passenger rows in the level, including those not loaded yet
+     *
+     * @return int value of passenger count
+     */
+    @Override
+    public int getPassengerCount() {
+        return LEVEL.getPassengerCount();
+    }
+
+    /**
+     * Gets the weather of the level
+     *
+     * @return ArrayList of Weather, in file order
+     */
+    @Override
+    public ArrayList<Weather> getWeather() {
+        return LEVEL.getWeather();
+    }
+
+    /**
+     * Loads every chunk that overlaps a span of Y-coordinates and has not been handed out since the last
+     * rewind, whether it is read from the level or was taken back by a rewind
+     *
+     * @param minY Smallest Y-coordinate of the span, in world coordinates
+     * @param maxY Largest Y-coordinate of the span, in world coordinates
+     * @return ArrayList of the rows loaded, empty if no chunk was due
+     */
+    @Override
+    public ArrayList<Row> load(int minY, int maxY) {
+        ArrayList<Row> rows = LEVEL.load(minY, maxY);
+        if (!REWOUND.isEmpty()) {
+            NavigableMap<Integer, ArrayList<Row>> due = REWOUND.subMap(Math.floorDiv(minY, CHUNK_SIZE), true,
+                    Math.floorDiv(maxY, CHUNK_SIZE), true).descendingMap();
+            if (!due.isEmpty()) {
+                // both sources hand out chunks nearest the bottom first, so merge them by chunk number
+                ArrayList<Row> read = rows;
+                rows = new ArrayList<>();
+                int next = 0;
+                while (!due.isEmpty()) {
+                    Map.Entry<Integer, ArrayList<Row>> entry = due.pollFirstEntry();
+                    while (next < read.size() && chunkOf(read.get(next)) > entry.getKey()) {
+                        rows.add(read.get(next++));
+                    }
+                    rows.addAll(entry.getValue());
+                }
+                rows.addAll(read.subList(next, read.size()));
+            }
+        }
+        if (recording) {
+            HISTORY.addAll(rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Gets the chunk number of a row
+     *
+     * @param row Row of the level
+     * @return int value of chunk number
+     */
+    private int chunkOf(Row row) {
+        return Math.floorDiv(row.y(), CHUNK_SIZE);
+    }
+
+    /**
+     * Marks the current place in the history, which the level can later be rewound to
+     *
+     * @return int value of mark
+     */
+    public int mark() {
+        recording = true;
+        return base + HISTORY.size();
+    }
+
+    /**
+     * Takes back every row handed out since a mark, to be handed out again when the game nears them
+     *
+     * @param mark Mark to rewind to, from mark
+     */
+    public void rewind(int mark) {
+        int from = Math.max(0, mark - base);
+        ArrayList<Row> chunk = null;
+        for (int i = from; i < HISTORY.size(); i++) {
+            Row row = HISTORY.get(i);
+            if (chunk == null || chunkOf(chunk.get(0)) != chunkOf(row)) {
+                chunk = new ArrayList<>();
+                REWOUND.put(chunkOf(row), chunk);
+            }
+            chunk.add(row);
+        }
+        HISTORY.subList(from, HISTORY.size()).clear();
+    }
+
+    /**
+     * Forgets the rows handed out before a mark, which the level will not be rewound past
+     *
+     * @param mark Oldest mark still needed
+     */
+    public void forget(int mark) {
+        int count = Math.min(mark - base, HISTORY.size());
+        if (count > 0) {
+            HISTORY.subList(0, count).clear();
+            base += count;
+        }
+    }
+
+    /**
+     * Gets the height of each chunk of the level
+     *
+     * @return int value of chunk size
+     */
+    @Override
+    public int getChunkSize() {
+        return CHUNK_SIZE;
+    }
+
+    /**
+     * Gets the number of chunks not loaded yet, counting those taken back by a rewind
+     *
+     * @return int value of pending chunk count
+     */
+    @Override
+    public int getPendingCount() {
+        return LEVEL.getPendingCount() + REWOUND.size();
+    }
+
+    /**
+     * Closes the level
+     */
+    @Override
+    public void close() {
+        LEVEL.close();
+        REWOUND.clear();
+    }
+}
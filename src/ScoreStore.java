@@ -0,0 +1,364 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * This class keeps the scores of every game in an append-only log, and the top scores in a min-heap that is
+ * updated as each score is added, so the top scores never need the whole log read and sorted. The log is the
+ * scores file, one "name,score" line per game as before.
+ * <p>
+ * After a score is added, a background thread checkpoints the heap to a sidecar file next to the log, along
+ * with the length of log it covers, by writing a temporary file and renaming it over the old one. Opening a
+ * store reads the sidecar and then only the lines of the log after it, which are lines added by a game that
+ * crashed before its checkpoint. The whole log is only read when the sidecar is missing or fails its CRC-32.
+ *
+ * @author Kevin Tran
+ */
+public class ScoreStore {
+    /**
+     * Number of top scores kept
+     */
+    public static final int TOP_COUNT = 5;
+    /**
+     * Single background thread shared by every store for writing checkpoints
+     */
+    private static final ExecutorService CHECKPOINTS = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "score-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Store of each log file opened, so every screen shares the top scores held in memory
+     */
+    private static final HashMap<String, ScoreStore> STORES = new HashMap<>();
+    /**
+     * Time taken to append each score to the log, in nanoseconds
+     */
+    private static final Histogram WRITE_LATENCY = Metrics.histogram("io.scoreWriteNs");
+    /**
+     * First bytes of a sidecar, "STSC"
+     */
+    private static final int MAGIC = 0x53545343;
+    /**
+     * Version of the sidecar layout
+     */
+    private static final int VERSION = 1;
+    /**
+     * Suffix added to the log's file path to name its sidecar
+     */
+    private static final String SIDECAR_SUFFIX = ".top";
+    /**
+     * Index of the player name and score in a line of the log
+     */
+    private static final int NAME_FIELD = 0, SCORE_FIELD = 1;
+    /**
+     * Order scores are evicted from the heap in: lowest score first and, of equal scores, the latest added
+     */
+    private static final Comparator<Entry> EVICTION = Comparator.comparingDouble(Entry::score)
+            .thenComparing(Comparator.comparingLong(Entry::order).reversed());
+    /**
+     * File path of the log
+     */
+    private final Path LOG;
+    /**
+     * File path of the sidecar
+     */
+    private final Path SIDECAR;
+    /**
+     * Top scores, with the score to evict next at the head
+     */
+    private final PriorityQueue<Entry> TOP;
+    /**
+     * Number of bytes of the log the top scores cover, which ends after the last whole line read or added
+     */
+    private long covered;
+    /**
+     * Number of scores read or added, used to order equal scores by when they were added
+     */
+    private long count;
+    /**
+     * Open log to append scores to, or null until the first score is added
+     */
+    private FileChannel appender;
+    /**
+     * Boolean value indicating if the log ends part way through a line
+     */
+    private boolean unterminated;
+
+    /**
+     * A score in the top scores
+     *
+     * @param playerName Name of the player
+     * @param score      Score of the game
+     * @param order      Number of scores added before this one
+     */
+    private record Entry(String playerName, double score, long order) {
+    }
+
+    /**
+     * Constructor that loads the top scores of a log from its sidecar and the lines added after it
+     *
+     * @param file File path of the log
+     */
+    private ScoreStore(String file) {
+        this.LOG = Path.of(file);
+        this.SIDECAR = Path.of(sidecarOf(file));
+        this.TOP = new PriorityQueue<>(TOP_COUNT + 1, EVICTION);
+        try {
+            long logSize = Files.isRegularFile(LOG) ? Files.size(LOG) : 0;
+            if (!readSidecar() || covered > logSize) {
+                // the sidecar is missing, corrupt or belongs to a log that has been replaced
+                TOP.clear();
+                covered = 0;
+                count = 0;
+            }
+            if (covered < logSize) {
+                scan();
+                checkpoint();
+            }
+            unterminated = isUnterminated(logSize);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Gets the store of a log, opening it the first time it is asked for
+     *
+     * @param file File path of the log
+     * @return ScoreStore of the log
+     */
+    public static synchronized ScoreStore open(String file) {
+        return STORES.computeIfAbsent(file, ScoreStore::new);
+    }
+
+    /**
+     * Gets the file path of the sidecar of a log
+     *
+     * @param file File path of the log
+     * @return String file path of the sidecar
+     */
+    public static String sidecarOf(String file) {
+        return file + SIDECAR_SUFFIX;
+    }
+
+    /**
+     * Reads the top scores and the length of log they cover from the sidecar
+     *
+     * @return true if the sidecar was read whole, false if it is missing or fails its checks
+     */
+    private boolean readSidecar() {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(SIDECAR);
+        } catch (NoSuchFileException ex) {
+            return false;
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            return false;
+        }
+        if (bytes.length < Integer.BYTES) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Integer.BYTES);
+        if ((int) crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - Integer.BYTES, Integer.BYTES).getInt()) {
+            System.err.println("Rebuilding top scores, " + SIDECAR + " is corrupt");
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != TOP_COUNT) {
+                return false;
+            }
+            covered = in.readLong();
+            count = in.readLong();
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                TOP.add(new Entry(in.readUTF(), in.readDouble(), in.readLong()));
+            }
+        } catch (IOException ex) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the lines of the log after the part the top scores cover. A last line with no line break is read
+     * as a whole line, as the scores file may have been edited by hand.
+     *
+     * @throws IOException if the log cannot be read
+     */
+    private void scan() throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(LOG), 1 << 16)) {
+            in.skipNBytes(covered);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = covered;
+            int read;
+            while ((read = in.read()) != -1) {
+                position++;
+                if (read == '\n') {
+                    add(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    covered = position;
+                } else {
+                    line.write(read);
+                }
+            }
+            if (line.size() > 0) {
+                add(line.toString(StandardCharsets.UTF_8));
+                covered = position;
+            }
+        }
+    }
+
+    /**
+     * Checks if the log ends part way through a line, so the next score needs a line break before it
+     *
+     * @param logSize Number of bytes in the log
+     * @return true if the last byte of the log is not a line break, false otherwise
+     * @throws IOException if the log cannot be read
+     */
+    private boolean isUnterminated(long logSize) throws IOException {
+        if (logSize == 0) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(LOG, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, logSize - 1);
+            return last.get(0) != '\n';
+        }
+    }
+
+    /**
+     * Adds a line of the log to the top scores if it is one of them. Lines that are not "name,score" are
+     * skipped.
+     *
+     * @param line Line of the log, without its line break
+     */
+    private void add(String line) {
+        String[] fields = line.trim().split(",");
+        if (fields.length <= SCORE_FIELD) {
+            return;
+        }
+        double score;
+        try {
+            score = Double.parseDouble(fields[SCORE_FIELD]);
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        Entry entry = new Entry(fields[NAME_FIELD], score, count++);
+        if (TOP.size() < TOP_COUNT) {
+            TOP.add(entry);
+        } else if (EVICTION.compare(entry, TOP.peek()) > 0) {
+            TOP.poll();
+            TOP.add(entry);
+        }
+    }
+
+    /**
+     * Appends the score of a game to the log and the top scores, then checkpoints the top scores in the
+     * background. The log is kept open between games.
+     *
+     * @param playerName Name of the player
+     * @param score      Score of the game
+     */
+    public void record(String playerName, float score) {
+        long start = System.nanoTime();
+        String line = playerName + "," + score;
+        try {
+            if (appender == null) {
+                appender = FileChannel.open(LOG, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            String text = (unterminated ? System.lineSeparator() : "") + line + System.lineSeparator();
+            ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                appender.write(bytes);
+            }
+            unterminated = false;
+            add(line);
+            covered = appender.size();
+            checkpoint();
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+        WRITE_LATENCY.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Hands a copy of the top scores to the background thread, which writes them to the sidecar
+     */
+    private void checkpoint() {
+        Entry[] entries = TOP.toArray(new Entry[0]);
+        long coveredBytes = covered, scoreCount = count;
+        CHECKPOINTS.submit(() -> writeSidecar(entries, coveredBytes, scoreCount));
+    }
+
+    /**
+     * Writes the top scores to a temporary file and renames it over the sidecar. Runs on the background thread.
+     *
+     * @param entries      Top scores
+     * @param coveredBytes Number of bytes of the log the top scores cover
+     * @param scoreCount   Number of scores in the covered part of the log
+     */
+    private void writeSidecar(Entry[] entries, long coveredBytes, long scoreCount) {
+        Path temp = Path.of(SIDECAR + ".tmp");
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(TOP_COUNT);
+            out.writeLong(coveredBytes);
+            out.writeLong(scoreCount);
+            out.writeInt(entries.length);
+            for (Entry entry : entries) {
+                out.writeUTF(entry.playerName());
+                out.writeDouble(entry.score());
+                out.writeLong(entry.order());
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, SIDECAR, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets the top scores, highest first. Equal scores are in the order they were added.
+     *
+     * @return array of Score objects, holding up to TOP_COUNT scores
+     */
+    public Score[] getTopScores() {
+        ArrayList<Entry> entries = new ArrayList<>(TOP);
+        entries.sort(EVICTION.reversed());
+        Score[] scores = new Score[entries.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = new Score(entries.get(i).playerName(), entries.get(i).score());
+        }
+        return scores;
+    }
+}
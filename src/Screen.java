@@ -1,11 +1,7 @@
 import bagel.DrawOptions;
 import bagel.Font;
-import bagel.Input;
-import bagel.Window;
 import bagel.util.Colour;
 
-import java.util.Properties;
-
 /**
  * Code for abstract Screen class. Contains common properties
  * and methods of all screens in Shadow Taxi.
@@ -14,13 +10,9 @@ import java.util.Properties;
  */
 public abstract class Screen implements Scrollable {
     /**
-     * Properties attribute that holds game properties from file
-     */
-    private final Properties GAME_PROP = IOUtils.readPropertiesFile("res/app.properties");
-    /**
-     * Properties attribute that holds message properties from file
+     * Game configuration shared by all screens
      */
-    private final Properties MSG_PROP = IOUtils.readPropertiesFile("res/message_en.properties");
+    private final GameConfig CONFIG;
     /**
      * DrawOptions attribute for rendering white text
      */
@@ -32,7 +24,7 @@ public abstract class Screen implements Scrollable {
     /**
      * Centre X-coordinates of the game window for text rendering
      */
-    private static final double WIN_CENTRE_X = Window.getWidth() / 2.0;
+    private final double WIN_CENTRE_X;
     /**
      * X-coordinate of screen
      */
@@ -54,37 +46,40 @@ public abstract class Screen implements Scrollable {
      * Screen constructor that takes in properties to be passed onto
      * subclasses and initialises common attributes.
      *
+     * @param config   Game configuration
      * @param IMG_PATH Relative path of background image file
      */
-    public Screen(String IMG_PATH) {
-        this.X = Integer.parseInt(GAME_PROP.getProperty("window.width"));
-        this.Y = Integer.parseInt(GAME_PROP.getProperty("window.height"));
+    public Screen(GameConfig config, String IMG_PATH) {
+        this.CONFIG = config;
+        this.X = config.display().width();
+        this.Y = config.display().height();
         this.IMG_PATH = IMG_PATH;
-        this.FONT_PATH = GAME_PROP.getProperty("font");
+        this.FONT_PATH = config.display().font();
+        this.WIN_CENTRE_X = config.display().width() / 2.0;
     }
 
     /**
      * Renders text onto screen. Positions the text based on the centre of the X-coordinate.
      *
-     * @param font    Font object that contains text font path and text font size
+     * @param font    Shared handle to Font that contains text font path and text font size
      * @param text    String content to be rendered
      * @param y       Y-coordinate of text position
      * @param options DrawOptions that alter shown text, such as text colour
      */
-    protected void renderCentreText(Font font, String text, double x, double y, DrawOptions options) {
-        font.drawString(text, getWinCentreX() - font.getWidth(text) / 2.0, y, options);
+    protected void renderCentreText(Asset<Font> font, String text, double x, double y, DrawOptions options) {
+        font.get().drawString(text, getWinCentreX() - font.get().getWidth(text) / 2.0, y, options);
     }
 
     /**
      * Renders text onto screen. Positions the text based on the left-most X-coordinate.
      *
-     * @param font Font object that contains text font path and text font size
+     * @param font Shared handle to Font that contains text font path and text font size
      * @param text String content to be rendered
      * @param x    X-coordinate of text position
      * @param y    Y-coordinate of text position
      */
-    protected void renderText(Font font, String text, double x, double y) {
-        font.drawString(text, x, y);
+    protected void renderText(Asset<Font> font, String text, double x, double y) {
+        font.get().drawString(text, x, y);
     }
 
     /**
@@ -124,42 +119,53 @@ public abstract class Screen implements Scrollable {
     }
 
     /**
-     * Gets game properties file
+     * Gets game configuration
      *
-     * @return Properties attribute containing all game properties
+     * @return GameConfig that holds game settings and messages
      */
-    public Properties getGameProp() {
-        return GAME_PROP;
+    public GameConfig getConfig() {
+        return CONFIG;
     }
 
     /**
-     * Gets message properties file
+     * Gets number of pixels to scroll the screen when corresponding input is entered
      *
-     * @return Properties attribute containing all message properties
+     * @return int value of scroll speed
      */
-    public Properties getMsgProp() {
-        return MSG_PROP;
+    @Override
+    public int getScrollSpeed() {
+        return CONFIG.taxi().speedY();
     }
 
     /**
      * Gets centre X-coordinate of the game window
      *
-     * @return Static double value of game window centre X-coordinate
+     * @return double value of game window centre X-coordinate
      */
-    public static double getWinCentreX() {
+    public double getWinCentreX() {
         return WIN_CENTRE_X;
     }
 
     /**
-     * Abstract method for screen updating logic
+     * Abstract method for screen updating logic. Only advances the screen's state and never draws,
+     * so it can run without a window.
      *
      * @param input The current mouse/keyboard input.
      * @return boolean value indicating if input is being read on the current screen
      */
-    public abstract boolean update(Input input);
+    public abstract boolean update(GameInput input);
+
+    /**
+     * Prepares the screen for rendering part way between two simulation ticks. Screens without moving
+     * entities have nothing to prepare.
+     *
+     * @param alpha How far the display is between the last tick and the next, from 0 to 1
+     */
+    public void prepareRender(double alpha) {
+    }
 
     /**
-     * Abstract method for screen rendering logic
+     * Abstract method for screen rendering logic, called after update each frame
      */
     public abstract void render();
 }
@@ -0,0 +1,124 @@
+import bagel.Keys;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+
+/**
+ * GameInput that replays a script of key holds instead of reading a keyboard. Each script line is
+ * KEY,startFrame,endFrame and holds the key from the start frame to the end frame inclusive.
+ * Presses and releases are derived from the change in held keys between frames.
+ *
+ * @author Kevin Tran
+ */
+public class ScriptedInput implements GameInput {
+    /**
+     * Key of each script line
+     */
+    private final Keys[] KEYS;
+    /**
+     * First frame each script line holds its key
+     */
+    private final int[] STARTS;
+    /**
+     * Last frame each script line holds its key
+     */
+    private final int[] ENDS;
+    /**
+     * Keys held in the current frame
+     */
+    private final EnumSet<Keys> held = EnumSet.noneOf(Keys.class);
+    /**
+     * Keys held in the previous frame
+     */
+    private final EnumSet<Keys> prevHeld = EnumSet.noneOf(Keys.class);
+    /**
+     * Current frame of the script, starting at 1 after the first advance
+     */
+    private int frame;
+
+    /**
+     * Constructor for scripted input
+     *
+     * @param script Script lines of KEY,startFrame,endFrame
+     */
+    public ScriptedInput(ArrayList<String[]> script) {
+        int key = 0, start = 1, end = 2;
+        this.KEYS = new Keys[script.size()];
+        this.STARTS = new int[script.size()];
+        this.ENDS = new int[script.size()];
+        for (int i = 0; i < script.size(); i++) {
+            String[] line = script.get(i);
+            KEYS[i] = Keys.valueOf(line[key].trim());
+            STARTS[i] = Integer.parseInt(line[start].trim());
+            ENDS[i] = Integer.parseInt(line[end].trim());
+        }
+        this.frame = 0;
+    }
+
+    /**
+     * Reads a script from a CSV file
+     *
+     * @param file File path to script
+     * @return Scripted input for the file
+     */
+    public static ScriptedInput fromFile(String file) {
+        return new ScriptedInput(IOUtils.readCommaSeparatedFile(file));
+    }
+
+    /**
+     * Moves the script on to the next frame. Call once before each update.
+     */
+    public void advance() {
+        frame++;
+        prevHeld.clear();
+        prevHeld.addAll(held);
+        held.clear();
+        for (int i = 0; i < KEYS.length; i++) {
+            if (frame >= STARTS[i] && frame <= ENDS[i]) {
+                held.add(KEYS[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the current frame of the script
+     *
+     * @return int value of current frame
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Checks if a key is held down this frame
+     *
+     * @param key Key to check
+     * @return true if the key is held down, false otherwise
+     */
+    @Override
+    public boolean isDown(Keys key) {
+        return held.contains(key);
+    }
+
+    /**
+     * Checks if a key went down this frame
+     *
+     * @param key Key to check
+     * @return true if the key was pressed this frame, false otherwise
+     */
+    @Override
+    public boolean wasPressed(Keys key) {
+        return held.contains(key) && !prevHeld.contains(key);
+    }
+
+    /**
+     * Checks if a key went up this frame
+     *
+     * @param key Key to check
+     * @return true if the key was released this frame, false otherwise
+     */
+    @Override
+    public boolean wasReleased(Keys key) {
+        return !held.contains(key) && prevHeld.contains(key);
+    }
+}
@@ -1,5 +1,3 @@
-import java.util.Properties;
-
 /**
  * Interface for implementing the vertical movement effect on the GameScreen
  *
@@ -7,11 +5,9 @@ import java.util.Properties;
  */
 public interface Scrollable {
     /**
-     * Properties file that contains game information
+     * Gets number of pixels to move game objects when corresponding input is entered
+     *
+     * @return int value of scroll speed
      */
-    Properties GAME_PROP = IOUtils.readPropertiesFile("res/app.properties");
-    /**
-     * Number of pixels to move game objects when corresponding input is entered
-     */
-    int SCROLL_SPEED = Integer.parseInt(GAME_PROP.getProperty("gameObjects.taxi.speedY"));
+    int getScrollSpeed();
 }
@@ -3,22 +3,70 @@ import bagel.Input;
 import bagel.Keys;
 import bagel.Window;
 
-import java.util.Properties;
+import java.io.IOException;
 
 /**
  * ShadowTaxi class that holds game logic
+ * <p>
+ * Run with -Dshadowtaxi.record=file to record each game to a replay, which the next game overwrites. Run with
+ * -Dshadowtaxi.replay=file to watch a recorded game from its first tick. Playback stops with a message at the
+ * first tick whose state differs from the recording, and the keyboard takes over if the replay ends before the
+ * game does.
+ * <p>
+ * Each game is autosaved every gamePlay.autosave.interval frames, and the home screen offers to resume the
+ * latest save of a game that did not finish, playing its saved ticks back to reach the frame it was saved on.
  *
  * @author SWEN20003 Teaching Staff, adapted by Kevin Tran
  */
 public class ShadowTaxi extends AbstractGame {
     /**
-     * Properties object that holds game properties
+     * Game configuration shared by every screen and entity
      */
-    private final Properties GAME_PROP;
+    private final GameConfig CONFIG;
     /**
-     * Properties object that holds message properties
+     * Adapter that passes the window's keyboard input to the screens
      */
-    private final Properties MSG_PROP;
+    private final BagelInput INPUT = new BagelInput();
+    /**
+     * Keyboard state of the current displayed frame, captured once from the window
+     */
+    private final InputSnapshot FRAME_INPUT = new InputSnapshot();
+    /**
+     * Input held for the simulation between ticks
+     */
+    private final InputSnapshot TICK_INPUT = new InputSnapshot();
+    /**
+     * Input of the tick being played back from a replay
+     */
+    private final InputSnapshot REPLAY_INPUT = new InputSnapshot();
+    /**
+     * File path each game is recorded to, or null to not record games
+     */
+    private final String RECORD_FILE;
+    /**
+     * Hash of the game configuration, from Replay.configHash, which replays and autosaves are checked against
+     */
+    private final long CONFIG_HASH;
+    /**
+     * Replay of the game being recorded, or null if none is
+     */
+    private ReplayWriter recorder;
+    /**
+     * Replay being played back, or null if none is
+     */
+    private ReplayReader playback;
+    /**
+     * Autosave of the game in progress, or null if it is not being autosaved
+     */
+    private Autosave autosave;
+    /**
+     * File path of the autosave the home screen offers to resume, or null if there is none
+     */
+    private String savedGame;
+    /**
+     * Accumulator that decides how many simulation ticks each displayed frame runs
+     */
+    private final FixedTimestep TIMESTEP;
     /**
      * Home screen object of Shadow Taxi game
      */
@@ -35,59 +83,133 @@ public class ShadowTaxi extends AbstractGame {
      * End screen object of Shadow Taxi game
      */
     private GameEndScreen gameEndScreen;
+    /**
+     * Screen updated by the latest tick, which is the one drawn
+     */
+    private Screen active;
 
     /**
      * Constructor for Shadow Taxi game
      *
-     * @param gameProps    Properties object that holds game properties
-     * @param messageProps Properties object that holds message properties
+     * @param config Game configuration
      */
-    public ShadowTaxi(Properties gameProps, Properties messageProps) {
-        super(Integer.parseInt(gameProps.getProperty("window.width")),
-                Integer.parseInt(gameProps.getProperty("window.height")),
-                messageProps.getProperty("home.title"));
+    public ShadowTaxi(GameConfig config) {
+        super(config.display().width(), config.display().height(), config.messages().title());
 
-        this.GAME_PROP = gameProps;
-        this.MSG_PROP = messageProps;
+        this.CONFIG = config;
+        this.TIMESTEP = new FixedTimestep(config.loop().tickRate(), config.loop().maxTicksPerFrame());
 
-        homeScreen = new HomeScreen(GAME_PROP);
+        homeScreen = new HomeScreen(CONFIG);
+        active = homeScreen;
+
+        this.RECORD_FILE = System.getProperty(Replay.RECORD_PROPERTY);
+        long configHash = 0;
+        try {
+            configHash = Replay.configHash(CONFIG);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+        this.CONFIG_HASH = configHash;
+        String replayFile = System.getProperty(Replay.PLAY_PROPERTY);
+        if (replayFile != null) {
+            try {
+                playback = new ReplayReader(replayFile);
+                if (playback.getConfigHash() != CONFIG_HASH) {
+                    System.err.println(replayFile + " was recorded with a different configuration or level");
+                    System.exit(-1);
+                }
+            } catch (IOException ex) {
+                ex.printStackTrace();
+                System.exit(-1);
+            }
+            gamePlayScreen = new GameScreen(CONFIG, playback.getPlayerName(), new GameRandom(playback.getSeed()));
+            active = gamePlayScreen;
+        } else if (CONFIG.gamePlay().autosaveInterval() > 0) {
+            savedGame = Autosave.findLatest(CONFIG.gamePlay().autosaveFile(), CONFIG_HASH);
+            homeScreen.setResumable(savedGame != null);
+        }
     }
 
     /**
-     * Render the relevant screen based on the keyboard input given by the user and the status of the game play.
+     * Runs as many fixed-length simulation ticks as the time since the last displayed frame pays for, then
+     * renders the screen part way to the next tick. In uncapped mode every displayed frame runs exactly one
+     * tick and renders it as is, so the simulation runs as fast as the display allows.
      *
      * @param input The current mouse/keyboard input.
      */
     @Override
     protected void update(Input input) {
-        if (input.wasPressed(Keys.ESCAPE)) {
+        FRAME_INPUT.capture(INPUT.setInput(input));
+        if (FRAME_INPUT.wasPressed(Keys.ESCAPE)) {
+            if (gamePlayScreen != null) {
+                gamePlayScreen.dumpProfile();
+            }
+            stopRecording();
+            if (autosave != null) {
+                autosave.close();
+            }
             Window.close();
         }
 
-        // render the home screen
+        TICK_INPUT.latch(FRAME_INPUT);
+        boolean uncapped = CONFIG.loop().uncapped();
+        int ticks = uncapped ? 1 : TIMESTEP.advance(System.nanoTime());
+        for (int i = 0; i < ticks; i++) {
+            tick(TICK_INPUT);
+            TICK_INPUT.consume();
+        }
+
+        active.prepareRender(uncapped ? 1 : TIMESTEP.getAlpha());
+        active.render();
+    }
+
+    /**
+     * Update the relevant screen based on the keyboard input given by the user and the status of the game play,
+     * switching screens when one is finished.
+     *
+     * @param gameInput The keyboard input latched since the last tick.
+     */
+    private void tick(InputSnapshot gameInput) {
+        active = homeScreen;
+        // update the home screen
         if (gamePlayScreen == null && playerInfoScreen == null && gameEndScreen == null) {
             // if the user click ENTER button when in the Home Screen, generate the player info screen
-            if (homeScreen.update(input)) {
-                playerInfoScreen = new PlayerInfoScreen(GAME_PROP);
+            if (homeScreen.isResumePressed(gameInput)) {
+                resumeGame();
+            } else if (homeScreen.update(gameInput)) {
+                playerInfoScreen = new PlayerInfoScreen(CONFIG);
             }
         } else if (playerInfoScreen != null && gamePlayScreen == null && gameEndScreen == null) {
             // if the user selects to start the game, generate a new game play screen
-            if (playerInfoScreen.update(input)) {
-                gamePlayScreen = new GameScreen(GAME_PROP, playerInfoScreen.getPlayerName());
+            active = playerInfoScreen;
+            if (playerInfoScreen.update(gameInput)) {
+                gamePlayScreen = new GameScreen(CONFIG, playerInfoScreen.getPlayerName(),
+                        GameRandom.unseeded());
+                startRecording();
+                startAutosave(null);
                 playerInfoScreen = null;
             }
         } else if (playerInfoScreen == null && gamePlayScreen != null && gameEndScreen == null) {
             // if the game is over or the level is completed, generate new game end screen
-            if (gamePlayScreen.update(input)) {
+            active = gamePlayScreen;
+            if (playTick(gameInput)) {
                 boolean isWon = gamePlayScreen.isLevelCompleted();
+                stopRecording();
+                if (autosave != null) {
+                    autosave.finish();
+                    autosave = null;
+                }
 
-                gameEndScreen = new GameEndScreen(GAME_PROP);
+                gameEndScreen = new GameEndScreen(CONFIG);
                 gameEndScreen.setIsWon(isWon);
+                gameEndScreen.setLedger(gamePlayScreen.getLedger());
 
                 gamePlayScreen = null;
             }
         } else if (playerInfoScreen == null && gamePlayScreen == null && gameEndScreen != null) {
-            if (gameEndScreen.update(input)) {
+            active = gameEndScreen;
+            if (gameEndScreen.update(gameInput)) {
                 gamePlayScreen = null;
                 playerInfoScreen = null;
                 gameEndScreen = null;
@@ -95,15 +217,140 @@ public class ShadowTaxi extends AbstractGame {
         }
     }
 
+    /**
+     * Runs a tick of the game screen, on the input of the replay being played back if there is one, and
+     * records the tick if the game is being recorded
+     *
+     * @param gameInput The keyboard input latched since the last tick.
+     * @return true if the game has ended, false otherwise
+     */
+    private boolean playTick(InputSnapshot gameInput) {
+        InputSnapshot tickInput = gameInput;
+        if (playback != null) {
+            try {
+                if (playback.next(REPLAY_INPUT)) {
+                    tickInput = REPLAY_INPUT;
+                } else {
+                    System.err.println("Replay ended after " + playback.getFrames() + " frames");
+                    playback = null;
+                }
+            } catch (IOException ex) {
+                ex.printStackTrace();
+                playback = null;
+            }
+        }
+
+        boolean isEnded = gamePlayScreen.update(tickInput);
+        if (playback != null && !playback.verify(gamePlayScreen.getChecksum())) {
+            System.err.println("Replay diverged at frame " + playback.getDivergedFrame());
+            playback.close();
+            playback = null;
+            Window.close();
+        }
+        if (recorder != null) {
+            try {
+                recorder.write(tickInput, gamePlayScreen.getChecksum());
+            } catch (IOException ex) {
+                ex.printStackTrace();
+                recorder = null;
+            }
+        }
+        if (autosave != null) {
+            autosave.record(tickInput, gamePlayScreen.getChecksum());
+        }
+        return isEnded;
+    }
+
+    /**
+     * Starts autosaving the game that has just been made, if autosaving is turned on
+     *
+     * @param resumed File path of the autosave the game was resumed from, or null for a new game
+     */
+    private void startAutosave(String resumed) {
+        GameConfig.GamePlay gamePlay = CONFIG.gamePlay();
+        if (gamePlay.autosaveInterval() > 0 && playback == null) {
+            autosave = new Autosave(gamePlay.autosaveFile(), gamePlay.autosaveInterval(),
+                    gamePlayScreen.getRandom().getSeed(), CONFIG_HASH, gamePlayScreen.getPlayerName(), resumed);
+        }
+    }
+
+    /**
+     * Resumes the autosaved game by making a game with its seed and playing its saved ticks back, which takes
+     * the game to the frame it was saved on. A save that does not play back to the same state is dropped and
+     * the home screen stays up.
+     */
+    private void resumeGame() {
+        ReplayReader save = null;
+        try {
+            save = new ReplayReader(savedGame);
+            GameScreen screen = new GameScreen(CONFIG, save.getPlayerName(), new GameRandom(save.getSeed()));
+            while (save.next(REPLAY_INPUT)) {
+                screen.update(REPLAY_INPUT);
+                save.verify(screen.getChecksum());
+            }
+            if (save.getDivergedFrame() != 0) {
+                System.err.println("Autosave " + savedGame + " diverged at frame " + save.getDivergedFrame());
+            } else {
+                gamePlayScreen = screen;
+                startAutosave(savedGame);
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        } finally {
+            if (save != null) {
+                save.close();
+            }
+        }
+        savedGame = null;
+        homeScreen.setResumable(false);
+    }
+
+    /**
+     * Starts recording the game that has just been made, if recording was asked for
+     */
+    private void startRecording() {
+        if (RECORD_FILE == null) {
+            return;
+        }
+        try {
+            recorder = new ReplayWriter(RECORD_FILE, gamePlayScreen.getRandom().getSeed(), CONFIG_HASH,
+                    gamePlayScreen.getPlayerName());
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Ends the replay of the game being recorded, if there is one
+     */
+    private void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+        recorder = null;
+    }
+
     /**
      * Main function of Shadow Taxi game
      *
      * @param args Arguments passed to main
      */
     public static void main(String[] args) {
-        Properties game_props = IOUtils.readPropertiesFile("res/app.properties");
-        Properties message_props = IOUtils.readPropertiesFile("res/message_en.properties");
-        ShadowTaxi game = new ShadowTaxi(game_props, message_props);
+        GameRecorder.startFromProperty();
+        GameConfig config;
+        try {
+            config = GameConfig.load("res/app.properties", "res/message_en.properties");
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(-1);
+            return;
+        }
+        ShadowTaxi game = new ShadowTaxi(config);
         game.run();
     }
 }
@@ -0,0 +1,14 @@
+/**
+ * Interface for level Entities that can be put to sleep while they are far from the action
+ *
+ * @author Kevin Tran
+ */
+public interface Sleepable {
+    /**
+     * Abstract method that checks if `this` entity has nothing to do unless something comes near it, so it can
+     * be put to sleep while it is outside the activation window
+     *
+     * @return true if the entity can sleep, false otherwise
+     */
+    boolean isIdle();
+}
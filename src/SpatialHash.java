@@ -0,0 +1,207 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Uniform-grid spatial hash used as the broad phase for collision detection.
+ * Entities are binned into every cell their bounding box overlaps, and only entities
+ * sharing a cell are reported as candidate pairs. All storage is held in primitive arrays
+ * that are reused between frames, so a rebuild does not allocate once the arrays have grown.
+ *
+ * @author Kevin Tran
+ */
+public class SpatialHash {
+    /**
+     * Marker for an empty bucket or the end of a bucket chain
+     */
+    private static final int NONE = -1;
+    /**
+     * Width and height of a grid cell in pixels
+     */
+    private final int CELL_SIZE;
+    /**
+     * Head entry index of each hash bucket
+     */
+    private int[] bucketHeads;
+    /**
+     * Cell X-coordinate of each entry
+     */
+    private int[] entryCellX;
+    /**
+     * Cell Y-coordinate of each entry
+     */
+    private int[] entryCellY;
+    /**
+     * Index of the entity (within the list passed to rebuild) that each entry refers to
+     */
+    private int[] entryEntity;
+    /**
+     * Next entry in the same bucket chain
+     */
+    private int[] entryNext;
+    /**
+     * Number of entries currently in the grid
+     */
+    private int entryCount;
+    /**
+     * Minimum cell X-coordinate covered by each entity
+     */
+    private int[] minCellX;
+    /**
+     * Minimum cell Y-coordinate covered by each entity
+     */
+    private int[] minCellY;
+    /**
+     * Candidate pairs found by the last query, stored as consecutive (a, b) entity indices
+     */
+    private int[] pairs;
+    /**
+     * Number of candidate pairs found by the last query
+     */
+    private int pairCount;
+
+    /**
+     * Constructor for a spatial hash with the given cell size
+     *
+     * @param cellSize Width and height of a grid cell in pixels
+     */
+    public SpatialHash(int cellSize) {
+        this.CELL_SIZE = cellSize;
+        this.bucketHeads = new int[64];
+        this.entryCellX = new int[64];
+        this.entryCellY = new int[64];
+        this.entryEntity = new int[64];
+        this.entryNext = new int[64];
+        this.minCellX = new int[64];
+        this.minCellY = new int[64];
+        this.pairs = new int[128];
+    }
+
+    /**
+     * Clears the grid and bins every entity into the cells covered by its bounding circle
+     *
+     * @param entities Entities to insert, indexed by their position in the list
+     */
+    public void rebuild(ArrayList<? extends Entity> entities) {
+        int count = entities.size();
+        if (minCellX.length < count) {
+            minCellX = new int[Integer.highestOneBit(count) << 1];
+            minCellY = new int[minCellX.length];
+        }
+
+        // keep the bucket table at two to four times the entity count to keep chains short
+        int buckets = Math.max(64, Integer.highestOneBit(Math.max(1, count)) << 2);
+        if (bucketHeads.length != buckets) {
+            bucketHeads = new int[buckets];
+        }
+        Arrays.fill(bucketHeads, NONE);
+        entryCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            Entity e = entities.get(i);
+            float rad = e.getRad();
+            int x0 = cellOf(e.getX() - rad), x1 = cellOf(e.getX() + rad);
+            int y0 = cellOf(e.getY() - rad), y1 = cellOf(e.getY() + rad);
+            minCellX[i] = x0;
+            minCellY[i] = y0;
+            for (int cx = x0; cx <= x1; cx++) {
+                for (int cy = y0; cy <= y1; cy++) {
+                    insert(cx, cy, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds every unordered pair of entities that share at least one cell.
+     * Each pair is reported exactly once, in the cell where their covered ranges first overlap.
+     *
+     * @return Number of candidate pairs found
+     */
+    public int findPairs() {
+        pairCount = 0;
+        for (int a = 0; a < entryCount; a++) {
+            int cx = entryCellX[a], cy = entryCellY[a];
+            int i = entryEntity[a];
+            for (int b = entryNext[a]; b != NONE; b = entryNext[b]) {
+                int j = entryEntity[b];
+                if (i == j || entryCellX[b] != cx || entryCellY[b] != cy) {
+                    continue;
+                }
+                // only report the pair from the top-left cell of their shared range
+                if (Math.max(minCellX[i], minCellX[j]) == cx && Math.max(minCellY[i], minCellY[j]) == cy) {
+                    addPair(Math.min(i, j), Math.max(i, j));
+                }
+            }
+        }
+        return pairCount;
+    }
+
+    /**
+     * Gets the first entity index of a candidate pair
+     *
+     * @param pair Index of the pair found by the last query
+     * @return Index of the first entity in the pair
+     */
+    public int getPairA(int pair) {
+        return pairs[2 * pair];
+    }
+
+    /**
+     * Gets the second entity index of a candidate pair
+     *
+     * @param pair Index of the pair found by the last query
+     * @return Index of the second entity in the pair
+     */
+    public int getPairB(int pair) {
+        return pairs[2 * pair + 1];
+    }
+
+    /**
+     * Converts a world coordinate to a cell coordinate
+     *
+     * @param coordinate World coordinate in pixels
+     * @return Cell coordinate containing the world coordinate
+     */
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    /**
+     * Adds an entry for an entity to the bucket of the given cell
+     *
+     * @param cx     Cell X-coordinate
+     * @param cy     Cell Y-coordinate
+     * @param entity Index of entity
+     */
+    private void insert(int cx, int cy, int entity) {
+        if (entryCount == entryEntity.length) {
+            int size = entryCount << 1;
+            entryCellX = Arrays.copyOf(entryCellX, size);
+            entryCellY = Arrays.copyOf(entryCellY, size);
+            entryEntity = Arrays.copyOf(entryEntity, size);
+            entryNext = Arrays.copyOf(entryNext, size);
+        }
+        int bucket = (cx * 73856093 ^ cy * 19349663) & (bucketHeads.length - 1);
+        entryCellX[entryCount] = cx;
+        entryCellY[entryCount] = cy;
+        entryEntity[entryCount] = entity;
+        entryNext[entryCount] = bucketHeads[bucket];
+        bucketHeads[bucket] = entryCount;
+        entryCount++;
+    }
+
+    /**
+     * Records a candidate pair
+     *
+     * @param i Index of first entity
+     * @param j Index of second entity
+     */
+    private void addPair(int i, int j) {
+        if (2 * pairCount + 1 >= pairs.length) {
+            pairs = Arrays.copyOf(pairs, pairs.length << 1);
+        }
+        pairs[2 * pairCount] = i;
+        pairs[2 * pairCount + 1] = j;
+        pairCount++;
+    }
+}
@@ -0,0 +1,40 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a car or fireball taken from its pool
+ *
+ * @author Kevin Tran
+ */
+@Name("shadowtaxi.Spawn")
+@Label("Spawn")
+@Category("Shadow Taxi")
+@Description("A passive car, enemy car or fireball entering the game")
+@Enabled(false)
+@StackTrace(false)
+public class SpawnEvent extends jdk.jfr.Event {
+    /**
+     * Kind of entity spawned: passive, enemy or fireball
+     */
+    @Label("Kind")
+    public String kind;
+    /**
+     * Initial X-coordinate
+     */
+    @Label("X")
+    public int x;
+    /**
+     * Initial Y-coordinate
+     */
+    @Label("Y")
+    public int y;
+    /**
+     * Boolean value indicating if the pool was empty and a new entity had to be constructed
+     */
+    @Label("Pool Miss")
+    public boolean poolMiss;
+}
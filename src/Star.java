@@ -1,5 +1,3 @@
-import java.util.Properties;
-
 /**
  * This class holds methods and attributes for Star objects that are rendered on GameScreen
  *
@@ -8,14 +6,13 @@ import java.util.Properties;
 public class Star extends Collectable {
     /**
      * Constructor for Star objects
-     * @param gameProp    Properties object that holds game properties
-     * @param x           Initial X-coordinate
-     * @param y           Initial Y-coordinate
+     * @param config Game configuration
+     * @param x      Initial X-coordinate
+     * @param y      Initial Y-coordinate
      */
-    public Star(Properties gameProp, int x, int y) {
-        super(x, y, gameProp.getProperty("gameObjects.invinciblePower.image"),
-                Float.parseFloat(gameProp.getProperty("gameObjects.invinciblePower.radius")),
-                Integer.parseInt(gameProp.getProperty("gameObjects.invinciblePower.maxFrames")));
+    public Star(GameConfig config, int x, int y) {
+        super(config, x, y, config.invinciblePower().image(), config.invinciblePower().radius(),
+                config.invinciblePower().maxFrames());
     }
 
     /**
@@ -29,4 +26,14 @@ public class Star extends Collectable {
             setCollectableCollided(true);
         }
     }
+
+    /**
+     * Gets collision layer of Star objects
+     *
+     * @return Layer id of Star objects
+     */
+    @Override
+    public int getLayer() {
+        return CollisionLayer.STAR;
+    }
 }
@@ -1,9 +1,6 @@
 import bagel.Image;
-import bagel.Input;
 import bagel.Keys;
 
-import java.util.Properties;
-
 /**
  * The class representing the taxis in the game play
  *
@@ -11,25 +8,25 @@ import java.util.Properties;
  */
 public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
     /**
-     * Image of living Taxi object
+     * Shared handle to the Image of living Taxi object
      */
-    private final Image LIVING_IMG;
+    private final Asset<Image> LIVING_IMG;
     /**
-     * Image of dead Taxi object
+     * Shared handle to the Image of dead Taxi object, only loaded once the Taxi is destroyed
      */
-    private final Image DEAD_IMG;
+    private final Asset<Image> DEAD_IMG;
     /**
      * Horizontal speed of taxi
      */
     private final int SPEED_X;
     /**
-     * Trips that are conducted by a Taxi
+     * Ledger that the trips of Taxi are recorded in when they end
      */
-    private final Trip[] TRIPS;
+    private final TripLedger LEDGER;
     /**
-     * Buddy variable that tracks how many trips are completed
+     * Most recent trip of Taxi, whether or not it has ended
      */
-    private int tripCount;
+    private Trip lastTrip;
     /**
      * Current frame count for rendering smoke
      */
@@ -66,6 +63,10 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
      * Boolean value representing if Taxi is dead or not
      */
     private boolean dead;
+    /**
+     * Boolean value representing if the flag of the last trip is still shown
+     */
+    private boolean showFlag;
     /**
      * Current coin collected by Taxi
      */
@@ -86,25 +87,36 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
      * Damage that Taxi can deal
      */
     private final int DMG;
+    /**
+     * Shared handles to the fire and smoke images to be rendered
+     */
+    private final Asset<Image> FIRE_IMG, SMOKE_IMG;
+    /**
+     * Number of frames fire and smoke are rendered for
+     */
+    private final int FIRE_LT, SMOKE_LT;
 
     /**
      * Constructor for Taxi objects
      *
-     * @param gameProp     Properties object that holds game properties
+     * @param config       Game configuration
      * @param x            Initial X-coordinate of Taxi
      * @param y            Initial Y-coordinate of Taxi
-     * @param maxTripCount Maximum possible trips a Taxi can have
-     */
-    public Taxi(Properties gameProp, int x, int y, int maxTripCount) {
-        super(x, y, gameProp.getProperty("gameObjects.taxi.image"),
-                Float.parseFloat(gameProp.getProperty("gameObjects.taxi.radius")));
-        TRIPS = new Trip[maxTripCount];
-
-        this.SPEED_X = Integer.parseInt(getGameProp().getProperty("gameObjects.taxi.speedX"));
-        this.LIVING_IMG = new Image(getGameProp().getProperty("gameObjects.taxi.image"));
-        this.DEAD_IMG = new Image(getGameProp().getProperty("gameObjects.taxi.damagedImage"));
-        this.health = (int) (100 * Double.parseDouble(getGameProp().getProperty("gameObjects.taxi.health")));
-        this.DMG = (int) (100 * Double.parseDouble(getGameProp().getProperty("gameObjects.taxi.damage")));
+     * @param ledger       Ledger to record trips in
+     */
+    public Taxi(GameConfig config, int x, int y, TripLedger ledger) {
+        super(config, x, y, config.taxi().image(), config.taxi().radius());
+        this.LEDGER = ledger;
+
+        this.SPEED_X = config.taxi().speedX();
+        this.LIVING_IMG = AssetCache.image(config.taxi().image());
+        this.DEAD_IMG = AssetCache.image(config.taxi().damagedImage());
+        this.FIRE_IMG = AssetCache.image(config.fire().image());
+        this.SMOKE_IMG = AssetCache.image(config.smoke().image());
+        this.FIRE_LT = config.fire().ttl();
+        this.SMOKE_LT = config.smoke().ttl();
+        this.health = config.taxi().health();
+        this.DMG = config.taxi().damage();
         this.currSmokeFrame = 0;
         this.currFireFrame = 0;
         this.isInvincible = false;
@@ -113,15 +125,40 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
         this.dead = false;
     }
 
+    /**
+     * Remembers the position of taxi and its trip's flag at the start of a tick
+     */
+    @Override
+    public void storePosition() {
+        super.storePosition();
+        if (getLastTrip() != null) {
+            getLastTrip().getFlag().storePosition();
+        }
+    }
+
+    /**
+     * Works out where to draw taxi and its trip's flag between ticks
+     *
+     * @param alpha   How far the display is between the last tick and the next, from 0 to 1
+     * @param cameraY Offset of the camera at the same point between ticks
+     */
+    @Override
+    public void prepareRender(double alpha, double cameraY) {
+        super.prepareRender(alpha, cameraY);
+        if (getLastTrip() != null) {
+            getLastTrip().getFlag().prepareRender(alpha, cameraY);
+        }
+    }
+
     /**
      * Rendering logic for living or dead Taxi, as well as smoke and fire emitting
      */
     @Override
     public void render() {
         if (health > 0) {
-            LIVING_IMG.draw(getX(), getY());
+            LIVING_IMG.get().draw(getRenderX(), getRenderY());
         } else {
-            DEAD_IMG.draw(getX(), getY());
+            DEAD_IMG.get().draw(getRenderX(), getRenderY());
         }
 
         if (smoking) {
@@ -131,6 +168,10 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
         if (burning && !dead) {
             burn();
         }
+
+        if (showFlag) {
+            getLastTrip().getFlag().render();
+        }
     }
 
     /**
@@ -152,15 +193,14 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
     }
 
     /**
-     * If it's a new trip, it will add to the list of trips.
+     * If it's a new trip, it becomes the last trip.
      *
      * @param trip trip object
      */
     public void setTrip(Trip trip) {
         this.trip = trip;
         if (trip != null) {
-            this.TRIPS[tripCount] = trip;
-            tripCount++;
+            this.lastTrip = trip;
         }
     }
 
@@ -174,24 +214,29 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
     }
 
     /**
-     * Get the last trip from the list of trips.
+     * Get the last trip of the taxi.
      *
-     * @return Trip object
+     * @return Trip object, or null if no trip has started
      */
     public Trip getLastTrip() {
-        if (tripCount == 0) {
-            return null;
-        }
-        return TRIPS[tripCount - 1];
+        return lastTrip;
+    }
+
+    /**
+     * Gets the ledger the trips of Taxi are recorded in
+     *
+     * @return TripLedger of the game
+     */
+    public TripLedger getLedger() {
+        return LEDGER;
     }
 
     /**
      * Update the GameObject object's movement states based on the input.
-     * Render the game object into the screen.
      *
      * @param input The current mouse/keyboard input.
      */
-    public void update(Input input) {
+    public void update(GameInput input) {
 
         if (smoking) {
             if (currSmokeFrame < SMOKE_LT) {
@@ -231,22 +276,14 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
             adjustToInputMovement(input);
         }
 
-        if (isTaxiDead()) {
-            moveRelative();
-        }
-
         if (trip != null && trip.hasReachedEnd()) {
             getTrip().end();
         }
 
-        render();
-
-        // the flag of the current trip renders to the screen
-        if (tripCount > 0) {
-            Trip lastTrip = TRIPS[tripCount - 1];
-            if (!lastTrip.getPassenger().hasReachedFlag()) {
-                lastTrip.getFlag().update(input);
-            }
+        // the flag of the current trip is shown until its passenger reaches it
+        showFlag = false;
+        if (lastTrip != null && !lastTrip.getPassenger().hasReachedFlag()) {
+            showFlag = true;
         }
     }
 
@@ -258,12 +295,10 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
      * @param input The current mouse/keyboard input.
      */
     @Override
-    public void adjustToInputMovement(Input input) {
+    public void adjustToInputMovement(GameInput input) {
         if (input.wasPressed(Keys.UP)) {
-            setMoveY(1);
             isMovingY = true;
         } else if (input.wasReleased(Keys.UP)) {
-            setMoveY(0);
             isMovingY = false;
         } else if (input.isDown(Keys.LEFT)) {
             if (health > 0) {
@@ -323,18 +358,12 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
     }
 
     /**
-     * Calculate total earnings. (See how fee is calculated for each trip in Trip class.)
+     * Gets number of trips the Taxi has started
      *
-     * @return int, total earnings
+     * @return int value of trip count
      */
-    public float calculateTotalEarnings() {
-        float totalEarnings = 0;
-        for (Trip trip : TRIPS) {
-            if (trip != null) {
-                totalEarnings += trip.getFee();
-            }
-        }
-        return totalEarnings;
+    public int getTripCount() {
+        return LEDGER.getStartedCount();
     }
 
     /**
@@ -342,6 +371,7 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
      *
      * @return Integer value of current taxi health
      */
+    @Override
     public int getHealth() {
         return health;
     }
@@ -365,7 +395,7 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
      */
     @Override
     public void burn() {
-        fire.draw(getX(), getY());
+        FIRE_IMG.get().draw(getRenderX(), getRenderY());
     }
 
     /**
@@ -373,7 +403,7 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
      */
     @Override
     public void emitSmoke() {
-        smoke.draw(getX(), getY());
+        SMOKE_IMG.get().draw(getRenderX(), getRenderY());
     }
 
     /**
@@ -402,4 +432,67 @@ public class Taxi extends Entity implements Damageable, Empowerable, Flammable {
     public void setHasDriver(boolean hasDriver) {
         this.hasDriver = hasDriver;
     }
+
+    /**
+     * Gets collision layer of Taxi objects
+     *
+     * @return Layer id of Taxi objects
+     */
+    @Override
+    public int getLayer() {
+        return CollisionLayer.TAXI;
+    }
+
+    /**
+     * Writes the state of Taxi that changes during a game. Trips are written as their passenger, who holds
+     * the trip for the rest of the game.
+     *
+     * @param snapshot Snapshot to write to
+     */
+    @Override
+    public void saveState(GameSnapshot snapshot) {
+        super.saveState(snapshot);
+        snapshot.putEntity(trip == null ? null : trip.getPassenger());
+        snapshot.putEntity(lastTrip == null ? null : lastTrip.getPassenger());
+        snapshot.putEntity(coinPower);
+        snapshot.putEntity(starPower);
+        snapshot.putInt(health);
+        snapshot.putInt(currSmokeFrame);
+        snapshot.putInt(currFireFrame);
+        snapshot.putBoolean(isMovingY);
+        snapshot.putBoolean(isMovingX);
+        snapshot.putBoolean(hasDriver);
+        snapshot.putBoolean(isInvincible);
+        snapshot.putBoolean(smoking);
+        snapshot.putBoolean(burning);
+        snapshot.putBoolean(dead);
+        snapshot.putBoolean(showFlag);
+    }
+
+    /**
+     * Puts Taxi back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    @Override
+    public void restoreState(GameSnapshot snapshot) {
+        super.restoreState(snapshot);
+        Passenger tripPassenger = snapshot.getEntity();
+        Passenger lastTripPassenger = snapshot.getEntity();
+        this.trip = tripPassenger == null ? null : tripPassenger.getTrip();
+        this.lastTrip = lastTripPassenger == null ? null : lastTripPassenger.getTrip();
+        this.coinPower = snapshot.getEntity();
+        this.starPower = snapshot.getEntity();
+        this.health = snapshot.getInt();
+        this.currSmokeFrame = snapshot.getInt();
+        this.currFireFrame = snapshot.getInt();
+        this.isMovingY = snapshot.getBoolean();
+        this.isMovingX = snapshot.getBoolean();
+        this.hasDriver = snapshot.getBoolean();
+        this.isInvincible = snapshot.getBoolean();
+        this.smoking = snapshot.getBoolean();
+        this.burning = snapshot.getBoolean();
+        this.dead = snapshot.getBoolean();
+        this.showFlag = snapshot.getBoolean();
+    }
 }
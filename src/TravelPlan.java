@@ -1,5 +1,3 @@
-import java.util.Properties;
-
 /**
  * This class contains information relevant to a trip that is initiated between a Passenger and the Taxi
  *
@@ -15,9 +13,13 @@ public class TravelPlan {
      */
     private final int DISTANCE_Y;
     /**
-     * Properties object that holds game properties
+     * Fee rates of trips
+     */
+    private final GameConfig.TripRates RATES;
+    /**
+     * Distance component of the fee, fixed for the whole trip
      */
-    private final Properties GAME_PROP;
+    private final float DISTANCE_FEE;
     /**
      * Y-coordinate of Passengerdestination
      */
@@ -38,15 +40,16 @@ public class TravelPlan {
     /**
      * Constructor for TravelPlan objects
      *
-     * @param gameProp  Properties object that holds game properties
+     * @param rates     Fee rates of trips
      * @param endX      Final X-coordinate of trip
      * @param distanceY Y distance that passenger must travel
      * @param priority  Initial priority of passenger
      */
-    public TravelPlan(Properties gameProp, int endX, int distanceY, int priority) {
-        this.GAME_PROP = gameProp;
+    public TravelPlan(GameConfig.TripRates rates, int endX, int distanceY, int priority) {
+        this.RATES = rates;
         this.END_X = endX;
         this.DISTANCE_Y = distanceY;
+        this.DISTANCE_FEE = rates.perY() * distanceY;
         this.currentPriority = priority;
         this.initPriority = priority;
     }
@@ -118,11 +121,30 @@ public class TravelPlan {
      * @return The expected fee of the trip.
      */
     public float getExpectedFee() {
-        float ratePerY = Float.parseFloat(GAME_PROP.getProperty("trip.rate.perY"));
-        float travelPlanDistanceFee = ratePerY * DISTANCE_Y;
-        float travelPlanPriorityFee = currentPriority * Float.parseFloat(
-                GAME_PROP.getProperty(String.format("trip.rate.priority%d", currentPriority)));
+        float travelPlanPriorityFee = currentPriority * RATES.priorityRate(currentPriority);
 
-        return travelPlanDistanceFee + travelPlanPriorityFee;
+        return DISTANCE_FEE + travelPlanPriorityFee;
+    }
+
+    /**
+     * Writes the state of the travel plan that changes during a game
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        snapshot.putInt(endY);
+        snapshot.putInt(currentPriority);
+        snapshot.putBoolean(coinPowerApplied);
+    }
+
+    /**
+     * Puts the travel plan back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        this.endY = snapshot.getInt();
+        this.currentPriority = snapshot.getInt();
+        this.coinPowerApplied = snapshot.getBoolean();
     }
 }
@@ -1,5 +1,3 @@
-import java.util.Properties;
-
 /**
  * A class representing the trip in the game play.
  * It contains the passenger, driver, taxi, trip end flag and other relevant details.
@@ -13,9 +11,9 @@ public class Trip {
      */
     private final Passenger PASSENGER;
     /**
-     * Properties object that holds game properties
+     * Penalty per pixel that the passenger is taken past the drop-off point
      */
-    private final Properties GAME_PROP;
+    private final float PENALTY_PER_Y;
     /**
      * Flag object of trip
      */
@@ -36,19 +34,30 @@ public class Trip {
      * Penalty rate that decrements Driver pay
      */
     private float penalty;
+    /**
+     * Flight recorder event spanning the trip, committed when it ends
+     */
+    private final TripEvent EVENT;
+    /**
+     * Frame the trip started on
+     */
+    private final int START_FRAME;
 
     /**
      * Constructor for Trip objects
      *
-     * @param gameProp  Properties object that holds game properties
+     * @param config    Game configuration
      * @param passenger Current Passenger object for trip
      * @param taxi      Current Taxi object that is completing trip
      */
-    public Trip(Properties gameProp, Passenger passenger, Taxi taxi) {
+    public Trip(GameConfig config, Passenger passenger, Taxi taxi) {
         this.PASSENGER = passenger;
         this.TAXI = taxi;
-        this.FLAG = new Flag(gameProp, passenger.getTravelPlan().getEndX(), passenger.getTravelPlan().getEndY());
-        this.GAME_PROP = gameProp;
+        this.FLAG = new Flag(config, passenger.getTravelPlan().getEndX(), passenger.getTravelPlan().getEndY());
+        this.PENALTY_PER_Y = config.rates().penaltyPerY();
+        this.START_FRAME = taxi.getLedger().open();
+        this.EVENT = new TripEvent();
+        EVENT.begin();
     }
 
     /**
@@ -142,13 +151,43 @@ public class Trip {
     }
 
     /**
-     * End the trip (update relevant status) and calculate the fee.
+     * End the trip (update relevant status), calculate the fee and record it in the ledger.
      */
     public void end() {
         isComplete = true;
         PASSENGER.setIsGetInTaxi(null);
         TAXI.setTrip(null);
         calculateFee();
+        TAXI.getLedger().record(PASSENGER.getTravelPlan().getPriority(), fee, penalty, START_FRAME);
+
+        if (EVENT.shouldCommit()) {
+            EVENT.priority = PASSENGER.getTravelPlan().getPriority();
+            EVENT.fee = fee;
+            EVENT.penalty = penalty;
+            EVENT.commit();
+        }
+    }
+
+    /**
+     * Writes the state of the trip that changes during a game
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        snapshot.putBoolean(isComplete);
+        snapshot.putFloat(fee);
+        snapshot.putFloat(penalty);
+    }
+
+    /**
+     * Puts the trip back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        this.isComplete = snapshot.getBoolean();
+        this.fee = snapshot.getFloat();
+        this.penalty = snapshot.getFloat();
     }
 
     /**
@@ -159,7 +198,7 @@ public class Trip {
 
         // If the passenger has passed the drop-off point, a penalty will be applied to the fee.
         if (hasPassedDropOff()) {
-            float penalty = Float.parseFloat(GAME_PROP.getProperty("trip.penalty.perY")) *
+            float penalty = PENALTY_PER_Y *
                     (FLAG.getY() - PASSENGER.getY());
             initialFee -= penalty;
             this.penalty = penalty;
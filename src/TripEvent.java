@@ -0,0 +1,35 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning a trip, from pick-up to drop-off
+ *
+ * @author Kevin Tran
+ */
+@Name("shadowtaxi.Trip")
+@Label("Trip")
+@Category("Shadow Taxi")
+@Description("A passenger trip from pick-up to drop-off, with its fee and penalty")
+@Enabled(false)
+@StackTrace(false)
+public class TripEvent extends jdk.jfr.Event {
+    /**
+     * Priority of the trip when it ended
+     */
+    @Label("Priority")
+    public int priority;
+    /**
+     * Fee paid for the trip
+     */
+    @Label("Fee")
+    public float fee;
+    /**
+     * Penalty taken off the fee
+     */
+    @Label("Penalty")
+    public float penalty;
+}
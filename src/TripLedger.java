@@ -0,0 +1,275 @@
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * This class keeps an append-only record of the trips of a game. Each trip is added once when it ends, and the
+ * running totals are updated then, so the earnings are read in O(1) however many trips have been taken.
+ *
+ * @author Kevin Tran
+ */
+public class TripLedger {
+    /**
+     * Number of trips room is made for before the ledger first grows
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Number of priorities with a rate in the game configuration
+     */
+    private static final int PRIORITIES = 3;
+    /**
+     * Priority of each ended trip when it ended
+     */
+    private int[] priorities;
+    /**
+     * Fee paid for each ended trip
+     */
+    private float[] fees;
+    /**
+     * Penalty taken off the fee of each ended trip
+     */
+    private float[] penalties;
+    /**
+     * Number of frames each ended trip took, from pick-up to drop-off
+     */
+    private int[] durations;
+    /**
+     * Number of trips that have ended
+     */
+    private int size;
+    /**
+     * Number of trips that have started, including one still going
+     */
+    private int startedCount;
+    /**
+     * Sum of the fees of every ended trip
+     */
+    private float total;
+    /**
+     * Sum of the penalties of every ended trip
+     */
+    private float totalPenalty;
+    /**
+     * Sum of the durations of every ended trip
+     */
+    private long totalDuration;
+    /**
+     * Sum of the fees of ended trips, indexed by priority
+     */
+    private float[] priorityTotals;
+    /**
+     * Frame the game is on
+     */
+    private int frame;
+
+    /**
+     * Constructor for an empty ledger
+     */
+    public TripLedger() {
+        this.priorities = new int[INITIAL_CAPACITY];
+        this.fees = new float[INITIAL_CAPACITY];
+        this.penalties = new float[INITIAL_CAPACITY];
+        this.durations = new int[INITIAL_CAPACITY];
+        this.priorityTotals = new float[PRIORITIES + 1];
+    }
+
+    /**
+     * Sets the frame the game is on, which trips are timed by
+     *
+     * @param frame Current frame
+     */
+    public void setFrame(int frame) {
+        this.frame = frame;
+    }
+
+    /**
+     * Counts a trip that has just started
+     *
+     * @return int value of the frame the trip started on
+     */
+    public int open() {
+        startedCount++;
+        return frame;
+    }
+
+    /**
+     * Adds a trip that has just ended
+     *
+     * @param priority   Priority of the trip when it ended
+     * @param fee        Fee paid for the trip
+     * @param penalty    Penalty taken off the fee
+     * @param startFrame Frame the trip started on
+     */
+    public void record(int priority, float fee, float penalty, int startFrame) {
+        if (size == fees.length) {
+            priorities = Arrays.copyOf(priorities, size * 2);
+            fees = Arrays.copyOf(fees, size * 2);
+            penalties = Arrays.copyOf(penalties, size * 2);
+            durations = Arrays.copyOf(durations, size * 2);
+        }
+        int bucket = Math.max(0, priority);
+        if (bucket >= priorityTotals.length) {
+            priorityTotals = Arrays.copyOf(priorityTotals, bucket + 1);
+        }
+
+        priorities[size] = priority;
+        fees[size] = fee;
+        penalties[size] = penalty;
+        durations[size] = frame - startFrame;
+        size++;
+
+        total += fee;
+        totalPenalty += penalty;
+        totalDuration += frame - startFrame;
+        priorityTotals[bucket] += fee;
+    }
+
+    /**
+     * Gets the sum of the fees of every ended trip
+     *
+     * @return float value of total earnings
+     */
+    public float getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the sum of the fees of ended trips of one priority
+     *
+     * @param priority Priority of trips
+     * @return float value of the earnings from trips of that priority
+     */
+    public float getPriorityTotal(int priority) {
+        return priority >= 0 && priority < priorityTotals.length ? priorityTotals[priority] : 0;
+    }
+
+    /**
+     * Gets the sum of the penalties of every ended trip
+     *
+     * @return float value of total penalty
+     */
+    public float getTotalPenalty() {
+        return totalPenalty;
+    }
+
+    /**
+     * Gets the number of trips that have ended
+     *
+     * @return int value of ended trip count
+     */
+    public int getTripCount() {
+        return size;
+    }
+
+    /**
+     * Gets the number of trips that have started, including one still going
+     *
+     * @return int value of started trip count
+     */
+    public int getStartedCount() {
+        return startedCount;
+    }
+
+    /**
+     * Gets the priority of an ended trip
+     *
+     * @param trip Place of the trip in the ledger, from 0
+     * @return int value of priority
+     */
+    public int getPriority(int trip) {
+        return priorities[trip];
+    }
+
+    /**
+     * Gets the fee of an ended trip
+     *
+     * @param trip Place of the trip in the ledger, from 0
+     * @return float value of fee
+     */
+    public float getFee(int trip) {
+        return fees[trip];
+    }
+
+    /**
+     * Gets the penalty of an ended trip
+     *
+     * @param trip Place of the trip in the ledger, from 0
+     * @return float value of penalty
+     */
+    public float getPenalty(int trip) {
+        return penalties[trip];
+    }
+
+    /**
+     * Gets the number of frames an ended trip took
+     *
+     * @param trip Place of the trip in the ledger, from 0
+     * @return int value of duration in frames
+     */
+    public int getDuration(int trip) {
+        return durations[trip];
+    }
+
+    /**
+     * Gets the mean number of frames the ended trips took
+     *
+     * @return double value of mean duration in frames, 0 if no trip has ended
+     */
+    public double getMeanDuration() {
+        return size == 0 ? 0 : (double) totalDuration / size;
+    }
+
+    /**
+     * Writes the counts and totals of the ledger. The trips themselves are not written, as ended trips are
+     * never changed, so going back to an earlier count is enough to take back the trips added since.
+     *
+     * @param snapshot Snapshot to write to
+     */
+    public void saveState(GameSnapshot snapshot) {
+        snapshot.putInt(size);
+        snapshot.putInt(startedCount);
+        snapshot.putInt(frame);
+        snapshot.putFloat(total);
+        snapshot.putFloat(totalPenalty);
+        snapshot.putLong(totalDuration);
+        snapshot.putInt(priorityTotals.length);
+        for (float priorityTotal : priorityTotals) {
+            snapshot.putFloat(priorityTotal);
+        }
+    }
+
+    /**
+     * Puts the ledger back in the state written by saveState
+     *
+     * @param snapshot Snapshot to read from
+     */
+    public void restoreState(GameSnapshot snapshot) {
+        this.size = snapshot.getInt();
+        this.startedCount = snapshot.getInt();
+        this.frame = snapshot.getInt();
+        this.total = snapshot.getFloat();
+        this.totalPenalty = snapshot.getFloat();
+        this.totalDuration = snapshot.getLong();
+        int buckets = snapshot.getInt();
+        Arrays.fill(priorityTotals, 0);
+        for (int priority = 0; priority < buckets; priority++) {
+            priorityTotals[priority] = snapshot.getFloat();
+        }
+    }
+
+    /**
+     * Builds a one line CSV record of the session for analytics: player name, frames played, trips started,
+     * trips ended, earnings, penalties and mean trip duration, then the earnings of priorities 1 to 3
+     *
+     * @param playerName Name of the player
+     * @param frames     Number of frames the game ran for
+     * @return String CSV record
+     */
+    public String toRecord(String playerName, int frames) {
+        StringBuilder record = new StringBuilder(String.format(Locale.ROOT, "%s,%d,%d,%d,%.2f,%.2f,%.1f",
+                playerName, frames, startedCount, size, total, totalPenalty, getMeanDuration()));
+        for (int priority = 1; priority <= PRIORITIES; priority++) {
+            record.append(String.format(Locale.ROOT, ",%.2f", getPriorityTotal(priority)));
+        }
+        return record.toString();
+    }
+}
@@ -0,0 +1,186 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * This class holds the weather of a level as sorted, non-overlapping spans of frames, built once from the
+ * weather rows of the level. Where rows overlap, the row later in the file wins, and a frame no row covers
+ * keeps the weather before it, as the game has always done.
+ * <p>
+ * A cursor follows the current frame, so stepping forward a frame at a time costs O(1) and makes no garbage.
+ * Jumping to any other frame, as a replay or rewind does, finds its span with a binary search. A callback is
+ * told of every change of weather, so nothing has to check the weather each frame.
+ *
+ * @author Kevin Tran
+ */
+public class WeatherTimeline {
+    /**
+     * Weather of frames before the first weather row
+     */
+    public static final int NONE = -1;
+    /**
+     * Sunny weather
+     */
+    public static final int SUNNY = 0;
+    /**
+     * Raining weather
+     */
+    public static final int RAINING = 1;
+    /**
+     * First frame of each span, in increasing order. The last span runs forever.
+     */
+    private final int[] STARTS;
+    /**
+     * Weather of each span
+     */
+    private final int[] STATES;
+    /**
+     * Called with the new weather whenever the weather changes
+     */
+    private final IntConsumer ON_CHANGE;
+    /**
+     * Span holding the last frame looked up
+     */
+    private int cursor;
+    /**
+     * Current weather
+     */
+    private int state;
+
+    /**
+     * Constructor that builds the spans of a level's weather
+     *
+     * @param weather  Weather rows of the level, in file order
+     * @param onChange Called with the new weather whenever it changes
+     */
+    public WeatherTimeline(List<Level.Weather> weather, IntConsumer onChange) {
+        this.ON_CHANGE = onChange;
+        this.state = NONE;
+
+        // rows of a state the game does not know are ignored
+        ArrayList<Level.Weather> known = new ArrayList<>();
+        for (Level.Weather row : weather) {
+            if (parseState(row.state()) != NONE && row.start() <= row.end()) {
+                known.add(row);
+            }
+        }
+
+        // every frame a row starts on or stops before is where a span may begin
+        int[] bounds = new int[known.size() * 2];
+        for (int i = 0; i < known.size(); i++) {
+            bounds[2 * i] = known.get(i).start();
+            bounds[2 * i + 1] = known.get(i).end() == Integer.MAX_VALUE ? known.get(i).end() : known.get(i).end() + 1;
+        }
+        Arrays.sort(bounds);
+
+        int[] starts = new int[bounds.length + 1];
+        int[] states = new int[bounds.length + 1];
+        starts[0] = Integer.MIN_VALUE;
+        states[0] = NONE;
+        int count = 1;
+        for (int bound : bounds) {
+            int boundState = states[count - 1];
+            for (Level.Weather row : known) {
+                if (row.start() <= bound && bound <= row.end()) {
+                    boundState = parseState(row.state());
+                }
+            }
+            if (boundState != states[count - 1]) {
+                starts[count] = bound;
+                states[count] = boundState;
+                count++;
+            }
+        }
+        this.STARTS = Arrays.copyOf(starts, count);
+        this.STATES = Arrays.copyOf(states, count);
+    }
+
+    /**
+     * Converts the name of a weather state to its id
+     *
+     * @param name Weather state name, SUNNY or RAINING
+     * @return int value of weather id, or NONE if the name is not known
+     */
+    public static int parseState(String name) {
+        return switch (name) {
+            case "SUNNY" -> SUNNY;
+            case "RAINING" -> RAINING;
+            default -> NONE;
+        };
+    }
+
+    /**
+     * Finds the span holding a frame, moving the cursor to it
+     *
+     * @param frame Frame to look up
+     * @return int value of the span's place in the timeline
+     */
+    private int find(int frame) {
+        if (frame >= STARTS[cursor] && (cursor + 1 == STARTS.length || frame < STARTS[cursor + 1])) {
+            return cursor;
+        }
+        if (cursor + 1 < STARTS.length && frame >= STARTS[cursor + 1]
+                && (cursor + 2 == STARTS.length || frame < STARTS[cursor + 2])) {
+            return ++cursor;
+        }
+        int index = Arrays.binarySearch(STARTS, frame);
+        cursor = index >= 0 ? index : -index - 2;
+        return cursor;
+    }
+
+    /**
+     * Gets the weather of a frame
+     *
+     * @param frame Frame to look up
+     * @return int value of weather id, NONE before the first weather row
+     */
+    public int stateAt(int frame) {
+        return STATES[find(frame)];
+    }
+
+    /**
+     * Moves the timeline to a frame, calling back if the weather there differs from the current weather.
+     * Frames may move backwards, as when a replay seeks.
+     *
+     * @param frame Frame the game is on
+     */
+    public void advance(int frame) {
+        int next = stateAt(frame);
+        if (next != state && next != NONE) {
+            state = next;
+            ON_CHANGE.accept(state);
+        }
+    }
+
+    /**
+     * Jumps the timeline to a frame, calling back with the weather there even if it has not changed, as after
+     * a rewind the background may show later weather
+     *
+     * @param frame Frame the game is on
+     */
+    public void seek(int frame) {
+        state = stateAt(frame);
+        if (state != NONE) {
+            ON_CHANGE.accept(state);
+        }
+    }
+
+    /**
+     * Gets the current weather
+     *
+     * @return int value of weather id, NONE if the game has not reached a weather row yet
+     */
+    public int getState() {
+        return state;
+    }
+
+    /**
+     * Checks if it is currently raining
+     *
+     * @return true if raining, false otherwise
+     */
+    public boolean isRaining() {
+        return state == RAINING;
+    }
+}